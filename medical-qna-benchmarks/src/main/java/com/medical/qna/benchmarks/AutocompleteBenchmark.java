@@ -0,0 +1,70 @@
+package com.medical.qna.benchmarks;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import com.medical.qna.medical_qna_system.knowledge.AutocompleteIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 名称联想，每次按键都会请求一次
+ * 单字查询（如"炎"）命中的区间最大，是最慢的情况
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AutocompleteBenchmark {
+
+    private static final String CHARS = "炎症痛热咳嗽血压糖尿病肝胃肠肺心肾脑性慢急综合征感染结石囊肿瘤高低头腹胸";
+
+    @Param({"炎", "高血", "gxy", "不存在的词"})
+    private String query;
+
+    private AutocompleteIndex index;
+
+    @Setup
+    public void setUp() {
+        // 与线上规模相当：约一万个疾病名和五千个症状名
+        Random random = new Random(42);
+        Map<String, List<String>> initials = new HashMap<>();
+        List<AutocompleteIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 15_000; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = 2 + random.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                name.append(CHARS.charAt(random.nextInt(CHARS.length())));
+            }
+            String text = name.toString();
+            if (initials.containsKey(text)) {
+                continue;
+            }
+            initials.put(text, AutocompleteIndex.pinyinInitials(text, 4));
+            MedicalEntityType type = i < 10_000 ? MedicalEntityType.DISEASE : MedicalEntityType.SYMPTOM;
+            entries.add(new AutocompleteIndex.Entry(text, type, random.nextInt(100), List.of()));
+        }
+        index = AutocompleteIndex.build(entries, initials::get);
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Entry> suggestTop10() {
+        return index.suggest(query, null, 10);
+    }
+}
@@ -0,0 +1,46 @@
+package com.medical.qna.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 基准入口，支持全部JMH命令行参数。
+ * 未指定 -rf/-rff 时结果以JSON写入 results/jmh-yyyyMMdd-HHmmss.json，便于不同版本之间对比：
+ *   java -jar target/benchmarks.jar                 # 全部基准
+ *   java -jar target/benchmarks.jar Jwt -f 1 -wi 3  # 只运行名称匹配Jwt的基准
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams()
+                || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue()) {
+            Path resultsDir = Path.of("results");
+            Files.createDirectories(resultsDir);
+            options.result(resultsDir.resolve("jmh-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".json").toString());
+        }
+        new Runner(options.build()).run();
+    }
+}
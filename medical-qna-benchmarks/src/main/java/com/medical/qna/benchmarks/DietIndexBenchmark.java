@@ -0,0 +1,74 @@
+package com.medical.qna.benchmarks;
+
+import com.medical.qna.medical_qna_system.knowledge.DietIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多种疾病 × 多种食物的饮食宜忌检查，替代逐个疾病查询宜吃/忌吃食物
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DietIndexBenchmark {
+
+    // 与线上图谱规模相近：约八千多种疾病、五千种食物，每种疾病宜吃、忌吃各十种左右
+    private static final int DISEASES = 9000;
+    private static final int FOODS = 5000;
+
+    private DietIndex index;
+    private List<List<String>> diseaseQueries;
+    private List<List<String>> foodQueries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        DietIndex.Builder builder = new DietIndex.Builder();
+        for (int d = 0; d < DISEASES; d++) {
+            builder.add("疾病" + d, foods(random, 10), foods(random, 10));
+        }
+        index = builder.build();
+        System.out.printf("%n饮食宜忌索引: 疾病=%d, 食物=%d, 位图=%dKB%n",
+                index.diseaseCount(), index.foodCount(), index.estimateBitsetBytes() / 1024);
+
+        // 合并三种慢性病，询问二十种食物
+        diseaseQueries = new ArrayList<>();
+        foodQueries = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            diseaseQueries.add(List.of("疾病" + random.nextInt(DISEASES), "疾病" + random.nextInt(DISEASES),
+                    "疾病" + random.nextInt(DISEASES)));
+            foodQueries.add(foods(random, 20));
+        }
+    }
+
+    private static List<String> foods(Random random, int count) {
+        List<String> foods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            foods.add("食物" + Fixtures.skewed(random, FOODS));
+        }
+        return foods;
+    }
+
+    @Benchmark
+    public DietIndex.Result check3Diseases20Foods() {
+        int i = next++ & 255;
+        return index.check(diseaseQueries.get(i), foodQueries.get(i), 20);
+    }
+}
@@ -0,0 +1,111 @@
+package com.medical.qna.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medical.qna.medical_qna_system.common.enums.DiseaseView;
+import com.medical.qna.medical_qna_system.dto.response.ApiResponse;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseDetailDto;
+import com.medical.qna.medical_qna_system.repository.neo4j.DiseaseProfileRepository;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 各读取深度下单个疾病结果行到DTO的映射和响应序列化。
+ * 结果行与各深度查询返回的列一致，启动时打印每种深度返回的值个数和响应字节数；
+ * 数据库一侧的耗时见 neo4j.query 指标，各深度对应不同的 method 标签
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiseaseReadBenchmark {
+
+    @Param({"SUMMARY", "SYMPTOMS", "FULL"})
+    private DiseaseView view;
+
+    private ObjectMapper objectMapper;
+    private Record record;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        record = record(view);
+        int values = 0;
+        for (Value value : record.values()) {
+            values += value.asObject() instanceof List<?> list ? list.size() : 1;
+        }
+        System.out.printf("%n%s: 列=%d, 值=%d, 响应=%d字节%n", view, record.size(), values,
+                objectMapper.writeValueAsBytes(ApiResponse.success(DiseaseProfileRepository.toDetail(record))).length);
+    }
+
+    @Benchmark
+    public DiseaseDetailDto map() {
+        return DiseaseProfileRepository.toDetail(record);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(DiseaseProfileRepository.toDetail(record)));
+    }
+
+    /**
+     * 一个关联较多的常见慢性病
+     */
+    private static Record record(DiseaseView view) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("name", "高血压");
+        columns.put("desc", Fixtures.ANSWER.substring(0, 200));
+        columns.put("diagnosis", "非同日三次测量诊室血压，收缩压≥140mmHg和（或）舒张压≥90mmHg");
+        columns.put("insuranceCovered", true);
+        columns.put("prevalenceRate", "约27.5%");
+        columns.put("susceptiblePopulation", "中老年人，有家族史、肥胖、高盐饮食者");
+        columns.put("transmissionMode", "无传染性");
+        columns.put("nursing", Fixtures.ANSWER.substring(0, 120));
+        columns.put("treatmentDuration", "长期");
+        columns.put("cureRate", "不能根治，可控制");
+        columns.put("treatmentCost", "根据不同医院，收费标准不一致，市三甲医院约（1000——5000元）");
+        if (view != DiseaseView.SUMMARY) {
+            columns.put("symptoms", names("症状", 15));
+        }
+        if (view == DiseaseView.FULL) {
+            columns.put("treatments", names("治疗", 4));
+            columns.put("complications", names("并发症", 6));
+            columns.put("goodFoods", names("宜吃", 10));
+            columns.put("badFoods", names("忌吃", 10));
+            columns.put("departments", List.of("心内科"));
+            columns.put("departmentCategories", List.of("内科"));
+        }
+        Value[] values = columns.values().stream().map(Values::value).toArray(Value[]::new);
+        return new InternalRecord(new ArrayList<>(columns.keySet()), values);
+    }
+
+    private static List<String> names(String prefix, int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(prefix + i);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,70 @@
+package com.medical.qna.benchmarks;
+
+import com.medical.qna.medical_qna_system.common.util.HistoryCursor;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto;
+import com.medical.qna.medical_qna_system.dto.response.UserDto;
+import com.medical.qna.medical_qna_system.entity.mysql.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 查询结果到DTO的构造。历史记录已改为JPQL构造器投影，这里测量的就是投影对每行调用的构造器，
+ * 以及分页游标的编解码
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private User user;
+    private LocalDateTime createAt;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user();
+        createAt = LocalDateTime.of(2025, 6, 1, 12, 0, 30);
+        cursor = new HistoryCursor(createAt, 123_456L).encode();
+    }
+
+    @Benchmark
+    public QuestionAnswerDto questionAnswerDto() {
+        return new QuestionAnswerDto(123_456L, Fixtures.QUESTION, Fixtures.ANSWER, createAt);
+    }
+
+    @Benchmark
+    public QuestionAnswerSummaryDto summaryDto() {
+        return new QuestionAnswerSummaryDto(123_456L, Fixtures.QUESTION,
+                Fixtures.ANSWER.substring(0, Fixtures.PREVIEW_LENGTH), Fixtures.ANSWER.length(), createAt);
+    }
+
+    @Benchmark
+    public UserDto userDto() {
+        return UserDto.fromEntity(user);
+    }
+
+    @Benchmark
+    public String cursorEncode() {
+        return new HistoryCursor(createAt, 123_456L).encode();
+    }
+
+    @Benchmark
+    public HistoryCursor cursorDecode() {
+        return HistoryCursor.decode(cursor);
+    }
+}
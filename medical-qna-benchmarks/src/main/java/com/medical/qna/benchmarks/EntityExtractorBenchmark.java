@@ -0,0 +1,64 @@
+package com.medical.qna.benchmarks;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import com.medical.qna.medical_qna_system.knowledge.EntityExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 问题中的医学实体识别，每个提问在路由时都会执行一次
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityExtractorBenchmark {
+
+    private static final String CHARS = "炎症痛热咳嗽血压糖尿病肝胃肠肺心肾脑性慢急综合征感染结石囊肿瘤高低头腹胸";
+
+    private EntityExtractor extractor;
+
+    @Setup
+    public void setUp() {
+        // 约三万个实体名称，与线上词表规模相当
+        Random random = new Random(42);
+        List<EntityExtractor.Term> terms = new ArrayList<>();
+        MedicalEntityType[] types = MedicalEntityType.values();
+        for (int i = 0; i < 30_000; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = 2 + random.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                name.append(CHARS.charAt(random.nextInt(CHARS.length())));
+            }
+            terms.add(new EntityExtractor.Term(name.toString(), types[i % types.length]));
+        }
+        terms.add(new EntityExtractor.Term("糖尿病", MedicalEntityType.DISEASE));
+        terms.add(new EntityExtractor.Term("高血压", MedicalEntityType.DISEASE));
+        extractor = EntityExtractor.build(terms);
+    }
+
+    @Benchmark
+    public List<EntityExtractor.Mention> shortQuestion() {
+        return extractor.extract(Fixtures.QUESTION);
+    }
+
+    @Benchmark
+    public List<EntityExtractor.Mention> longAnswer() {
+        return extractor.extract(Fixtures.ANSWER);
+    }
+}
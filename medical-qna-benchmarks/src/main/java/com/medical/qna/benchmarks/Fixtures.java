@@ -0,0 +1,85 @@
+package com.medical.qna.benchmarks;
+
+import com.medical.qna.medical_qna_system.common.enums.UserRole;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto;
+import com.medical.qna.medical_qna_system.entity.mysql.User;
+import com.medical.qna.medical_qna_system.knowledge.SymptomGraph;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 接近线上数据形态的测试数据
+ */
+final class Fixtures {
+
+    // 与 application.properties 中的 jwt.secret 相同
+    static final String JWT_SECRET = "mySecretKey123456789mySecretKey123456789";
+    static final int PREVIEW_LENGTH = 100;
+
+    static final String QUESTION = "高血压患者平时饮食需要注意什么？可以吃哪些水果？";
+    static final String ANSWER = ("高血压患者的饮食应以低盐、低脂、高纤维为原则。每日食盐摄入量建议控制在5克以内，"
+            + "少吃腌制食品和加工肉类。可以适量食用富含钾的水果，如香蕉、橙子、猕猴桃，有助于钠的排出。"
+            + "同时应戒烟限酒，保持规律作息，并在医生指导下按时服药、定期监测血压。").repeat(3);
+
+    private Fixtures() {
+    }
+
+    static User user() {
+        return User.builder()
+                .id(1L)
+                .username("bench_user")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .email("bench_user@example.com")
+                .role(UserRole.USER)
+                .createAt(LocalDateTime.of(2025, 1, 1, 8, 0))
+                .enabled(true)
+                .build();
+    }
+
+    static List<QuestionAnswerDto> history(int size) {
+        List<QuestionAnswerDto> items = new ArrayList<>(size);
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            items.add(new QuestionAnswerDto((long) (size - i), QUESTION, ANSWER, base.minusMinutes(i)));
+        }
+        return items;
+    }
+
+    static List<QuestionAnswerSummaryDto> summaries(int size) {
+        List<QuestionAnswerSummaryDto> items = new ArrayList<>(size);
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 12, 0);
+        String preview = ANSWER.substring(0, PREVIEW_LENGTH);
+        for (int i = 0; i < size; i++) {
+            items.add(new QuestionAnswerSummaryDto((long) (size - i), QUESTION, preview, ANSWER.length(), base.minusMinutes(i)));
+        }
+        return items;
+    }
+
+    /**
+     * 合成的疾病-症状图谱：症状按幂律分布被引用，少数常见症状（如发热、乏力）关联大量疾病
+     */
+    static SymptomGraph symptomGraph(int diseaseCount, int symptomCount, int symptomsPerDisease) {
+        Random random = new Random(42);
+        SymptomGraph.Builder builder = new SymptomGraph.Builder();
+        for (int d = 0; d < diseaseCount; d++) {
+            List<String> symptoms = new ArrayList<>(symptomsPerDisease);
+            for (int i = 0; i < symptomsPerDisease; i++) {
+                symptoms.add(symptomName(skewed(random, symptomCount)));
+            }
+            builder.add("疾病" + d, symptoms);
+        }
+        return builder.build();
+    }
+
+    static String symptomName(int id) {
+        return "症状" + id;
+    }
+
+    static int skewed(Random random, int bound) {
+        return (int) Math.min(bound - 1, Math.floor(Math.pow(random.nextDouble(), 3) * bound));
+    }
+}
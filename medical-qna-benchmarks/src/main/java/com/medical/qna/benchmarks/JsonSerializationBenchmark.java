@@ -0,0 +1,70 @@
+package com.medical.qna.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
+import com.medical.qna.medical_qna_system.dto.response.ApiResponse;
+import com.medical.qna.medical_qna_system.dto.response.CursorPageDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口响应的JSON序列化，ObjectMapper与Spring MVC默认配置一致
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+    private List<QuestionAnswerDto> history;
+    private List<QuestionAnswerSummaryDto> summaries;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        history = Fixtures.history(items);
+        summaries = Fixtures.summaries(items);
+    }
+
+    @Benchmark
+    public byte[] historyList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(history));
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws JsonProcessingException {
+        CursorPageDto<QuestionAnswerSummaryDto> page = CursorPageDto.<QuestionAnswerSummaryDto>builder()
+                .items(summaries)
+                .nextCursor("MjAyNS0wNi0wMVQxMjowMHwxMjM")
+                .hasMore(true)
+                .build();
+        return objectMapper.writeValueAsBytes(ApiResponse.success(page));
+    }
+
+    @Benchmark
+    public byte[] errorResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.error(ErrorCode.USER_NOT_FOUND));
+    }
+}
@@ -0,0 +1,86 @@
+package com.medical.qna.benchmarks;
+
+import com.medical.qna.medical_qna_system.security.JwtTokenUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT生成与验证。legacyFilterAuth 复现单次解析改造前过滤器的做法
+ * （每次新建解析器，用户名、验证、角色各解析一次），与 filterAuth 对比单请求认证开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenUtilBenchmark {
+
+    private JwtTokenUtil jwtTokenUtil;
+    private SecretKey key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil(Fixtures.JWT_SECRET, TimeUnit.HOURS.toMillis(1), 10_000L, new SimpleMeterRegistry());
+        token = jwtTokenUtil.generateToken("bench_user", "USER", 1L);
+
+        // 与JwtTokenUtil相同的密钥填充方式
+        byte[] keyBytes = Decoders.BASE64.decode(Fixtures.JWT_SECRET);
+        key = Keys.hmacShaKeyFor(keyBytes.length < 64 ? Arrays.copyOf(keyBytes, 64) : keyBytes);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtTokenUtil.generateToken("bench_user", "USER", 1L);
+    }
+
+    /**
+     * 复用解析器，完整验证签名（不经过声明缓存）
+     */
+    @Benchmark
+    public String parse() {
+        return jwtTokenUtil.getUsernameFromToken(token);
+    }
+
+    /**
+     * 经过声明缓存的验证，稳态下即为缓存命中
+     */
+    @Benchmark
+    public boolean validate() {
+        return jwtTokenUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public void filterAuth(Blackhole bh) {
+        Claims claims = jwtTokenUtil.verifyToken(token);
+        bh.consume(claims.getSubject());
+        bh.consume(claims.get(JwtTokenUtil.CLAIM_ROLE, String.class));
+    }
+
+    @Benchmark
+    public void legacyFilterAuth(Blackhole bh) {
+        bh.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject());
+        bh.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token));
+        bh.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody()
+                .get(JwtTokenUtil.CLAIM_ROLE, String.class));
+    }
+}
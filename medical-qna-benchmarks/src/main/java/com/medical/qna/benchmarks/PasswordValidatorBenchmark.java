@@ -0,0 +1,44 @@
+package com.medical.qna.benchmarks;
+
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+import com.medical.qna.medical_qna_system.security.PasswordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 密码强度校验，rejected 包含抛出 BusinessException 的开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordValidatorBenchmark {
+
+    private final PasswordValidator passwordValidator = new PasswordValidator();
+
+    @Benchmark
+    public void accepted() {
+        passwordValidator.validate("medical2025qna");
+    }
+
+    @Benchmark
+    public boolean rejected() {
+        try {
+            passwordValidator.validate("onlyletters");
+            return true;
+        } catch (BusinessException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.medical.qna.benchmarks;
+
+import com.medical.qna.medical_qna_system.filter.JwtAuthenticationFilter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter.shouldNotFilter 中排除路径的通配符匹配，每个请求都会执行
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathExclusionBenchmark {
+
+    // 需要认证的接口会匹配完全部排除规则，是最慢的情况
+    @Param({"/api/question/ask", "/api/admin/users/1/history", "/api/auth/login", "/assets/index-4f2a.js"})
+    private String path;
+
+    private ExposedFilter filter;
+    private HttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        filter = new ExposedFilter();
+        request = new MockHttpServletRequest("GET", path);
+    }
+
+    @Benchmark
+    public boolean shouldNotFilter() throws ServletException {
+        return filter.check(request);
+    }
+
+    private static final class ExposedFilter extends JwtAuthenticationFilter {
+
+        ExposedFilter() {
+            // 路径匹配不使用这些依赖
+            super(null, null, null);
+        }
+
+        boolean check(HttpServletRequest request) throws ServletException {
+            return shouldNotFilter(request);
+        }
+    }
+}
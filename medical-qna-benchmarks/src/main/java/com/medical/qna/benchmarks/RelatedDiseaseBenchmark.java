@@ -0,0 +1,78 @@
+package com.medical.qna.benchmarks;
+
+import com.medical.qna.medical_qna_system.knowledge.RelatedDiseaseIndex;
+import com.medical.qna.medical_qna_system.knowledge.SymptomGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 相似疾病预计算：全量构建与只有一种疾病的症状变化时的增量构建
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RelatedDiseaseBenchmark {
+
+    @Param({"1000", "10000"})
+    private int diseaseCount;
+
+    private final RelatedDiseaseIndex.Settings settings = new RelatedDiseaseIndex.Settings(32, 4, 10, 0.2f, 1000);
+    private ForkJoinPool pool;
+    private SymptomGraph graph;
+    private SymptomGraph changedGraph;
+    private RelatedDiseaseIndex index;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        graph = Fixtures.symptomGraph(diseaseCount, diseaseCount / 2, 8);
+        index = RelatedDiseaseIndex.build(graph, SymptomGraph.EMPTY, RelatedDiseaseIndex.EMPTY, settings, pool).index();
+
+        // 第一种疾病换掉一个症状，其余不变
+        SymptomGraph.Builder builder = new SymptomGraph.Builder();
+        for (int d = 0; d < graph.diseaseCount(); d++) {
+            List<String> symptoms = new ArrayList<>();
+            for (int s : graph.symptomsOf(d)) {
+                symptoms.add(graph.symptomName(s));
+            }
+            if (d == 0) {
+                symptoms.set(0, Fixtures.symptomName(graph.symptomCount() - 1));
+            }
+            builder.add(graph.diseaseName(d), symptoms);
+        }
+        changedGraph = builder.build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public RelatedDiseaseIndex.BuildResult fullBuild() {
+        return RelatedDiseaseIndex.build(graph, SymptomGraph.EMPTY, RelatedDiseaseIndex.EMPTY, settings, pool);
+    }
+
+    @Benchmark
+    public RelatedDiseaseIndex.BuildResult incrementalOneChanged() {
+        return RelatedDiseaseIndex.build(changedGraph, graph, index, settings, pool);
+    }
+}
@@ -0,0 +1,60 @@
+package com.medical.qna.benchmarks;
+
+import com.medical.qna.medical_qna_system.knowledge.SymptomGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存图谱上按症状给疾病排序，替代每次请求在Neo4j中执行的 MATCH/COUNT 聚合
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SymptomGraphBenchmark {
+
+    // 线上图谱约八千多种疾病
+    @Param({"1000", "10000"})
+    private int diseaseCount;
+
+    private SymptomGraph graph;
+    private List<List<String>> queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graph = Fixtures.symptomGraph(diseaseCount, diseaseCount / 2, 8);
+        System.out.printf("%n图谱: 疾病=%d, 症状=%d, 关系=%d, 估算内存=%dKB%n",
+                graph.diseaseCount(), graph.symptomCount(), graph.edgeCount(), graph.estimateFootprintBytes() / 1024);
+
+        // 用户输入的症状同样偏向常见症状，包含常见症状的查询需要累加的疾病最多
+        Random random = new Random(7);
+        queries = random.ints(256, 0, Integer.MAX_VALUE)
+                .mapToObj(i -> List.of(
+                        Fixtures.symptomName(Fixtures.skewed(random, graph.symptomCount())),
+                        Fixtures.symptomName(Fixtures.skewed(random, graph.symptomCount())),
+                        Fixtures.symptomName(random.nextInt(graph.symptomCount()))))
+                .toList();
+    }
+
+    @Benchmark
+    public List<SymptomGraph.Match> rankTop10() {
+        List<String> query = queries.get(next++ & 255);
+        return graph.rank(query, 10);
+    }
+}
@@ -0,0 +1,336 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 问答全流程压测：每个虚拟用户先注册、登录，然后循环执行 提问(SSE，服务端保存) -> 历史摘要 -> 统计。
+ * 无需编译，直接运行：
+ *   java LoadTest.java --base-url http://localhost:8080 --users 50 --duration 60 --label platform
+ * 结果打印为表格，同时以JSON写入 results/，用于容量规划和版本间对比。
+ */
+public class LoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String[] QUESTIONS = {
+            "高血压患者饮食需要注意什么", "糖尿病有哪些早期症状", "感冒发烧吃什么药",
+            "胃炎的常见治疗方法", "失眠应该看什么科", "冠心病可以吃鸡蛋吗",
+            "痛风急性发作怎么缓解", "儿童咳嗽持续两周怎么办"
+    };
+
+    private final Map<String, Object> options;
+    private final HttpClient client;
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+    private final AtomicLong questionSeq = new AtomicLong();
+
+    private LoadTest(Map<String, Object> options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        for (String name : List.of("register", "login", "ask", "ask.ttft", "history", "stats")) {
+            steps.put(name, new Step());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Object> options = parseArgs(args);
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        int users = intOpt("users");
+        long durationNanos = TimeUnit.SECONDS.toNanos(intOpt("duration"));
+        long rampUpNanos = TimeUnit.SECONDS.toNanos(intOpt("ramp-up"));
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        System.out.printf("压测开始: %s, 用户数=%d, 持续=%ds, 预热=%ds, 唯一问题=%s%n",
+                options.get("base-url"), users, intOpt("duration"), intOpt("ramp-up"), options.get("unique-questions"));
+
+        long start = System.nanoTime();
+        long measureFrom = start + rampUpNanos;
+        long deadline = measureFrom + durationNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                int userIndex = i;
+                // 在预热期内均匀启动用户
+                long startAt = start + (users > 1 ? rampUpNanos * i / users : 0);
+                executor.submit(() -> virtualUser(runId, userIndex, startAt, measureFrom, deadline));
+            }
+        }
+        report(users, TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+    }
+
+    private void virtualUser(String runId, int index, long startAt, long measureFrom, long deadline) {
+        sleepUntil(startAt);
+        String username = "lt_" + runId + "_" + index;
+        String password = "Passw0rd" + index;
+        try {
+            call("register", measureFrom, () -> post("/api/auth/register", null,
+                    "{\"username\":\"" + username + "\",\"password\":\"" + password
+                            + "\",\"email\":\"" + username + "@loadtest.local\"}"));
+            HttpResponse<String> login = call("login", measureFrom, () -> post("/api/auth/login", null,
+                    "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"));
+            Matcher matcher = TOKEN.matcher(login.body());
+            if (!matcher.find()) {
+                System.err.println("登录响应中没有token: " + login.body());
+                return;
+            }
+            String token = matcher.group(1);
+
+            int thinkMs = intOpt("think-ms");
+            while (System.nanoTime() < deadline) {
+                ask(token, measureFrom);
+                call("history", measureFrom, () -> get("/api/question/history/summary?size=20", token));
+                call("stats", measureFrom, () -> get("/api/question/stats", token));
+                if (thinkMs > 0) {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(thinkMs * 2 + 1));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("虚拟用户 " + index + " 异常退出: " + e);
+        }
+    }
+
+    /**
+     * 提问：读取SSE直到 done 或 error 事件，分别记录首个 token 事件耗时和总耗时
+     */
+    private void ask(String token, long measureFrom) {
+        String question = QUESTIONS[ThreadLocalRandom.current().nextInt(QUESTIONS.length)];
+        if (Boolean.TRUE.equals(options.get("unique-questions"))) {
+            question = question + " #" + questionSeq.incrementAndGet();
+        }
+        HttpRequest request = request("/api/question/ask", token)
+                .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .timeout(Duration.ofMinutes(5))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"question\":\"" + question + "\"}"))
+                .build();
+
+        long begin = System.nanoTime();
+        boolean ok = false;
+        long firstToken = -1;
+        try {
+            HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            if (response.statusCode() == 200) {
+                try (Stream<String> lines = response.body()) {
+                    Iterator<String> it = lines.iterator();
+                    while (it.hasNext()) {
+                        String line = it.next();
+                        if (line.startsWith("event:token") && firstToken < 0) {
+                            firstToken = System.nanoTime();
+                        } else if (line.startsWith("event:done")) {
+                            ok = true;
+                            break;
+                        } else if (line.startsWith("event:error")) {
+                            break;
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long end = System.nanoTime();
+        if (begin >= measureFrom) {
+            steps.get("ask").record(end - begin, ok);
+            if (firstToken > 0) {
+                steps.get("ask.ttft").record(firstToken - begin, true);
+            }
+        }
+    }
+
+    private <T> HttpResponse<T> call(String step, long measureFrom, HttpCall<T> call) throws InterruptedException {
+        long begin = System.nanoTime();
+        HttpResponse<T> response = null;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            // 记为失败
+        }
+        long elapsed = System.nanoTime() - begin;
+        boolean ok = response != null && response.statusCode() / 100 == 2;
+        // 注册和登录只执行一次，不受预热期限制
+        if (begin >= measureFrom || step.equals("register") || step.equals("login")) {
+            steps.get(step).record(elapsed, ok);
+        }
+        if (response == null) {
+            throw new UncheckedIOException(new IOException(step + " 请求失败"));
+        }
+        return response;
+    }
+
+    private HttpResponse<String> post(String path, String token, String json) throws IOException, InterruptedException {
+        HttpRequest request = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return client.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.get("base-url") + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private void report(int users, long durationSeconds) throws IOException {
+        System.out.printf("%n%-10s %8s %7s %10s %10s %10s %10s %10s%n",
+                "step", "count", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"label\": \"").append(options.get("label")).append("\",\n")
+                .append("  \"baseUrl\": \"").append(options.get("base-url")).append("\",\n")
+                .append("  \"users\": ").append(users).append(",\n")
+                .append("  \"durationSeconds\": ").append(durationSeconds).append(",\n")
+                .append("  \"uniqueQuestions\": ").append(options.get("unique-questions")).append(",\n")
+                .append("  \"steps\": {");
+
+        String separator = "\n";
+        for (String name : List.of("register", "login", "ask", "ask.ttft", "history", "stats")) {
+            Step step = steps.get(name);
+            long[] sorted = step.sorted();
+            // 注册和登录只在启动阶段执行，不计算吞吐
+            double throughput = name.equals("register") || name.equals("login") || durationSeconds == 0
+                    ? 0 : (double) sorted.length / durationSeconds;
+            System.out.printf("%-10s %8d %7d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    name, sorted.length, step.errors.get(), throughput,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+            json.append(separator).append(String.format(
+                    "    \"%s\": {\"count\": %d, \"errors\": %d, \"throughput\": %.2f, "
+                            + "\"p50Ms\": %.2f, \"p90Ms\": %.2f, \"p99Ms\": %.2f, \"maxMs\": %.2f}",
+                    name, sorted.length, step.errors.get(), throughput,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0)));
+            separator = ",\n";
+        }
+        json.append("\n  }\n}\n");
+
+        Path out = options.get("out") != null
+                ? Path.of((String) options.get("out"))
+                : Path.of("results", "loadtest-" + options.get("label") + "-"
+                        + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, json, StandardCharsets.UTF_8);
+        System.out.println("\n结果已写入 " + out);
+    }
+
+    private static Map<String, Object> parseArgs(String[] args) {
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("base-url", "http://localhost:8080");
+        options.put("users", "20");
+        options.put("duration", "60");
+        options.put("ramp-up", "10");
+        options.put("think-ms", "0");
+        options.put("label", "run");
+        options.put("unique-questions", Boolean.TRUE);
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--help") || arg.equals("-h")) {
+                System.out.println("选项: --base-url URL --users N --duration 秒 --ramp-up 秒 --think-ms 毫秒 "
+                        + "--label 名称 --out 文件 --repeat-questions(允许命中回答缓存)");
+                System.exit(0);
+            } else if (arg.equals("--repeat-questions")) {
+                options.put("unique-questions", Boolean.FALSE);
+            } else if (arg.startsWith("--") && i + 1 < args.length) {
+                options.put(arg.substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException("无法识别的参数: " + arg + "，可用 --help 查看");
+            }
+        }
+        return options;
+    }
+
+    private int intOpt(String name) {
+        return Integer.parseInt(options.get(name).toString());
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface HttpCall<T> {
+        HttpResponse<T> execute() throws IOException, InterruptedException;
+    }
+
+    /**
+     * 单个步骤的耗时样本，失败请求只计数不计入耗时
+     */
+    private static final class Step {
+        private final List<Long> samples = new ArrayList<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void record(long nanos, boolean ok) {
+            if (ok) {
+                samples.add(nanos);
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] values = samples.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(values);
+            return values;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+"""
+本地RAG服务桩，模拟 RAG/main.py 的 POST /ask 流式接口，用于离线压测。
+只依赖Python标准库：
+
+    python3 rag_stub.py --port 8000 --tokens-per-sec 40 --first-token-ms 800 --failure-rate 0.01
+
+回答按 --chunk-chars 个字符一块、以 --tokens-per-sec 的速率分块写出（chunked传输），
+--failure-rate 比例的请求直接返回 --failure-status，--stall-rate 比例的请求在首块前停顿 --stall-ms。
+"""
+import argparse
+import json
+import random
+import threading
+import time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+ANSWER_TEMPLATE = (
+    "关于“{question}”：建议注意规律作息、均衡饮食，低盐低脂，适量运动，"
+    "避免吸烟饮酒。如症状持续或加重，请及时到正规医院相关科室就诊，并在医生指导下用药。"
+)
+
+
+class Stats:
+    lock = threading.Lock()
+    requests = 0
+    failures = 0
+
+
+def build_answer(question, answer_chars):
+    base = ANSWER_TEMPLATE.format(question=question[:50])
+    repeat = answer_chars // len(base) + 1
+    return (base * repeat)[:answer_chars]
+
+
+class RagStubHandler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+    args = None
+
+    def log_message(self, fmt, *log_args):
+        if self.args.verbose:
+            super().log_message(fmt, *log_args)
+
+    def do_GET(self):
+        if self.path == "/health":
+            with Stats.lock:
+                body = json.dumps({"status": "healthy", "model": "stub",
+                                   "requests": Stats.requests, "failures": Stats.failures}).encode()
+            self.send_response(200)
+            self.send_header("Content-Type", "application/json")
+            self.send_header("Content-Length", str(len(body)))
+            self.end_headers()
+            self.wfile.write(body)
+        else:
+            self.send_error(404)
+
+    def do_POST(self):
+        if self.path != "/ask":
+            self.send_error(404)
+            return
+        length = int(self.headers.get("Content-Length", 0))
+        try:
+            question = json.loads(self.rfile.read(length) or b"{}").get("question", "")
+        except ValueError:
+            self.send_error(400, "invalid json")
+            return
+
+        args = self.args
+        with Stats.lock:
+            Stats.requests += 1
+        if random.random() < args.failure_rate:
+            with Stats.lock:
+                Stats.failures += 1
+            self.send_error(args.failure_status, "injected failure")
+            return
+
+        self.send_response(200)
+        self.send_header("Content-Type", "text/event-stream; charset=utf-8")
+        self.send_header("Transfer-Encoding", "chunked")
+        self.end_headers()
+
+        delay = args.first_token_ms + random.uniform(0, args.jitter_ms)
+        if random.random() < args.stall_rate:
+            delay += args.stall_ms
+        time.sleep(delay / 1000.0)
+
+        answer = build_answer(question, args.answer_chars)
+        interval = 1.0 / args.tokens_per_sec if args.tokens_per_sec > 0 else 0
+        try:
+            for start in range(0, len(answer), args.chunk_chars):
+                self.write_chunk(answer[start:start + args.chunk_chars].encode("utf-8"))
+                if interval:
+                    time.sleep(interval)
+            self.wfile.write(b"0\r\n\r\n")
+        except (BrokenPipeError, ConnectionResetError):
+            # 网关取消了请求
+            pass
+
+    def write_chunk(self, data):
+        self.wfile.write(f"{len(data):x}\r\n".encode() + data + b"\r\n")
+        self.wfile.flush()
+
+
+def main():
+    parser = argparse.ArgumentParser(description="本地流式RAG服务桩")
+    parser.add_argument("--host", default="127.0.0.1")
+    parser.add_argument("--port", type=int, default=8000)
+    parser.add_argument("--tokens-per-sec", type=float, default=40, help="每秒写出的块数，0表示不限速")
+    parser.add_argument("--chunk-chars", type=int, default=2, help="每块的字符数")
+    parser.add_argument("--answer-chars", type=int, default=400, help="回答长度（字符）")
+    parser.add_argument("--first-token-ms", type=float, default=800, help="首块前的固定延迟")
+    parser.add_argument("--jitter-ms", type=float, default=200, help="首块延迟的随机附加量上限")
+    parser.add_argument("--failure-rate", type=float, default=0.0, help="直接返回错误状态的请求比例")
+    parser.add_argument("--failure-status", type=int, default=503)
+    parser.add_argument("--stall-rate", type=float, default=0.0, help="首块前额外停顿的请求比例")
+    parser.add_argument("--stall-ms", type=float, default=10000)
+    parser.add_argument("--seed", type=int, default=None)
+    parser.add_argument("--verbose", action="store_true")
+    args = parser.parse_args()
+
+    if args.seed is not None:
+        random.seed(args.seed)
+    RagStubHandler.args = args
+    server = ThreadingHTTPServer((args.host, args.port), RagStubHandler)
+    server.daemon_threads = True
+    print(f"RAG stub listening on http://{args.host}:{args.port} "
+          f"(tokens/s={args.tokens_per_sec}, first-token={args.first_token_ms}ms, failure-rate={args.failure_rate})",
+          flush=True)
+    try:
+        server.serve_forever()
+    except KeyboardInterrupt:
+        pass
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# 离线压测：启动本地MySQL/Neo4j和RAG服务桩，依次以平台线程和虚拟线程模式启动后端并施压，
+# 两次结果分别写入 results/loadtest-platform-*.json 和 results/loadtest-virtual-*.json。
+#
+#   ./run.sh                         # 默认 50 用户、60 秒
+#   USERS=200 DURATION=120 ./run.sh
+#   MODES=virtual STUB_ARGS="--failure-rate 0.05" ./run.sh
+set -euo pipefail
+
+cd "$(dirname "$0")"
+ROOT="$(pwd)"
+APP_DIR="$ROOT/../medical-qna-system"
+APP_JAR="$APP_DIR/target/medical-qna-system-0.0.1-SNAPSHOT.jar"
+
+USERS="${USERS:-50}"
+DURATION="${DURATION:-60}"
+RAMP_UP="${RAMP_UP:-10}"
+MODES="${MODES:-platform virtual}"
+STUB_ARGS="${STUB_ARGS:-}"
+APP_PORT=8080
+
+STUB_PID=""
+APP_PID=""
+cleanup() {
+    [[ -n "$APP_PID" ]] && kill "$APP_PID" 2>/dev/null || true
+    [[ -n "$STUB_PID" ]] && kill "$STUB_PID" 2>/dev/null || true
+    if [[ "${KEEP_DATASTORES:-0}" != "1" ]]; then
+        docker compose down -v >/dev/null 2>&1 || true
+    fi
+}
+trap cleanup EXIT
+
+wait_for() {
+    local url="$1" name="$2"
+    for _ in $(seq 1 120); do
+        if curl -fs "$url" >/dev/null 2>&1; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "$name 未能在120秒内启动" >&2
+    exit 1
+}
+
+if [[ ! -f "$APP_JAR" ]]; then
+    (cd "$APP_DIR" && ./mvnw -q package -DskipTests)
+fi
+
+mkdir -p results logs
+docker compose up -d --wait
+
+python3 rag_stub.py --port 8000 $STUB_ARGS > logs/rag-stub.log 2>&1 &
+STUB_PID=$!
+wait_for "http://127.0.0.1:8000/health" "RAG服务桩"
+
+for mode in $MODES; do
+    virtual=false
+    [[ "$mode" == "virtual" ]] && virtual=true
+
+    echo "==== ${mode} threads (spring.threads.virtual.enabled=${virtual}) ===="
+    java -XX:StartFlightRecording:settings=default,settings="$APP_DIR/jfr/medical-qna-loadtest.jfc",filename="results/${mode}.jfr" \
+         -jar "$APP_JAR" \
+         --spring.profiles.active=loadtest \
+         --spring.threads.virtual.enabled="$virtual" \
+         --server.port="$APP_PORT" > "logs/app-${mode}.log" 2>&1 &
+    APP_PID=$!
+    wait_for "http://127.0.0.1:8081/actuator/health" "后端服务(${mode})"
+
+    java LoadTest.java --base-url "http://127.0.0.1:${APP_PORT}" \
+         --users "$USERS" --duration "$DURATION" --ramp-up "$RAMP_UP" --label "$mode"
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=""
+done
+
+echo "JFR录制可用 java $APP_DIR/jfr/JfrPhaseAnalyzer.java results/<mode>.jfr 汇总各阶段耗时"
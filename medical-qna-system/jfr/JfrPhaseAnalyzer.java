@@ -0,0 +1,131 @@
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 汇总JFR录制中的 medical.qna.* 事件，按阶段输出耗时分位数。
+ * 无需编译，直接运行：
+ *   java jfr/JfrPhaseAnalyzer.java recording.jfr
+ * 仓库调用和Cypher查询按方法名细分。
+ * 录制时设置了非0阈值的事件只记录了超过阈值的调用，分位数偏高，输出中以*标出；
+ * 压测请使用全部阈值为0的 jfr/medical-qna-loadtest.jfc。
+ */
+public class JfrPhaseAnalyzer {
+
+    private static final String EVENT_PREFIX = "medical.qna.";
+    private static final String ACTIVE_SETTING = "jdk.ActiveSetting";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("用法: java JfrPhaseAnalyzer.java <recording.jfr>");
+            System.exit(1);
+        }
+
+        Map<String, List<Long>> durations = new TreeMap<>();
+        Map<String, Long> bytes = new TreeMap<>();
+        // 事件类型ID -> 录制时的threshold设置
+        Map<Long, String> thresholdById = new HashMap<>();
+        Map<Long, String> typeNames = new HashMap<>();
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            for (EventType eventType : recording.readEventTypes()) {
+                typeNames.put(eventType.getId(), eventType.getName());
+            }
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String type = event.getEventType().getName();
+                if (type.equals(ACTIVE_SETTING) && "threshold".equals(event.getString("name"))) {
+                    thresholdById.put(event.getLong("id"), event.getString("value"));
+                    continue;
+                }
+                if (!type.startsWith(EVENT_PREFIX)) {
+                    continue;
+                }
+                String phase = phaseOf(event, type.substring(EVENT_PREFIX.length()));
+                durations.computeIfAbsent(phase, k -> new ArrayList<>()).add(event.getDuration().toNanos());
+                if (event.hasField("payloadBytes")) {
+                    bytes.merge(phase, event.getLong("payloadBytes"), Long::sum);
+                }
+            }
+        }
+        Map<String, String> thresholds = new TreeMap<>();
+        thresholdById.forEach((id, value) -> {
+            String type = typeNames.get(id);
+            if (type != null && type.startsWith(EVENT_PREFIX) && !isZero(value)) {
+                thresholds.put(type.substring(EVENT_PREFIX.length()), value);
+            }
+        });
+
+        if (durations.isEmpty()) {
+            System.out.println("录制中没有 medical.qna.* 事件，确认录制时加载了 medical-qna.jfc 或 medical-qna-loadtest.jfc");
+            return;
+        }
+
+        if (thresholdById.isEmpty()) {
+            System.out.println("警告: 录制中没有 jdk.ActiveSetting 事件，无法确认各事件的阈值是否为0");
+            System.out.println();
+        } else if (!thresholds.isEmpty()) {
+            System.out.println("警告: 以下事件录制时设置了阈值，只包含超过阈值的调用，分位数和次数不代表全部请求：");
+            thresholds.forEach((name, value) -> System.out.println("  * " + name + " threshold=" + value));
+            System.out.println("  压测时请使用 settings=jfr/medical-qna-loadtest.jfc 录制");
+            System.out.println();
+        }
+
+        System.out.printf("%-48s %8s %10s %10s %10s %10s %12s%n",
+                "phase", "count", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)", "bytes");
+        durations.forEach((phase, values) -> {
+            long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            String name = phase.split(" ", 2)[0];
+            System.out.printf("%-48s %8d %10.2f %10.2f %10.2f %10.2f %12s%n",
+                    thresholds.containsKey(name) ? "*" + phase : phase, sorted.length,
+                    millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)),
+                    millis(sorted[sorted.length - 1]),
+                    bytes.containsKey(phase) ? bytes.get(phase).toString() : "-");
+        });
+    }
+
+    private static String phaseOf(RecordedEvent event, String name) {
+        if (event.hasField("repository") && event.getString("repository") != null) {
+            return name + " " + event.getString("repository") + "." + event.getString("method");
+        }
+        if (event.hasField("method") && event.getString("method") != null) {
+            return name + " " + event.getString("method");
+        }
+        if (event.hasField("eventName") && event.getString("eventName") != null) {
+            return name + " " + event.getString("eventName");
+        }
+        return name;
+    }
+
+    /**
+     * JFR的阈值设置形如 "0 ms"、"5 ms"、"20 us"
+     */
+    private static boolean isZero(String threshold) {
+        String number = threshold.trim().split("\\s+")[0];
+        try {
+            return Double.parseDouble(number) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.medical.qna.medical_qna_system.common.constant;
+
+/**
+ * 知识图谱中由Schema初始化创建、查询时按名称引用的索引
+ */
+public final class KnowledgeGraphSchema {
+
+    /**
+     * 疾病名称和描述的CJK分词全文索引
+     */
+    public static final String DISEASE_FULLTEXT_INDEX = "disease_name_desc_fulltext";
+
+    private KnowledgeGraphSchema() {
+    }
+}
@@ -0,0 +1,10 @@
+package com.medical.qna.medical_qna_system.common.enums;
+
+/**
+ * 疾病信息的读取深度，越浅需要遍历的关系和返回的数据越少
+ */
+public enum DiseaseView {
+    SUMMARY,        // 只读疾病节点自身的属性（简介、治愈率、治疗周期等）
+    SYMPTOMS,       // 属性 + 症状
+    FULL            // 属性 + 全部关联（症状、治疗、并发症、宜忌食物、科室）
+}
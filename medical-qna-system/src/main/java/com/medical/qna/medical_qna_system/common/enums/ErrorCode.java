@@ -18,7 +18,16 @@ public enum ErrorCode {
     WEAK_PASSWORD("3004", "密码强度不足"),
     
     // 业务相关
-    QUESTION_TOO_LONG("4001", "问题长度超过限制");
+    QUESTION_TOO_LONG("4001", "问题长度超过限制"),
+    QUESTION_ANSWER_NOT_FOUND("4002", "问答记录不存在"),
+    
+    // RAG服务相关
+    RAG_BUSY("5001", "问答服务繁忙，请稍后重试"),
+    RAG_UNAVAILABLE("5002", "问答服务暂时不可用，请稍后重试"),
+    
+    // 医学知识相关
+    DISEASE_NOT_FOUND("6001", "疾病不存在"),
+    IMPORT_IN_PROGRESS("6002", "知识图谱导入任务正在运行");
     
     private final String code;
     private final String message;
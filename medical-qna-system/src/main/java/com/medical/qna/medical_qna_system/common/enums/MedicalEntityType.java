@@ -0,0 +1,12 @@
+package com.medical.qna.medical_qna_system.common.enums;
+
+/**
+ * 知识图谱中的医学实体类型
+ */
+public enum MedicalEntityType {
+    DISEASE,        // 疾病
+    SYMPTOM,        // 症状
+    COMPLICATION,   // 并发症
+    TREATMENT,      // 治疗方法
+    FOOD            // 食物
+}
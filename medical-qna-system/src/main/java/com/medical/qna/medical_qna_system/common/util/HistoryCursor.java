@@ -0,0 +1,32 @@
+package com.medical.qna.medical_qna_system.common.util;
+
+import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 历史记录分页游标，对前端不透明，内容为最后一条记录的(createAt, id)
+ */
+public record HistoryCursor(LocalDateTime createAt, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(SEPARATOR);
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "无效的分页游标");
+        }
+    }
+}
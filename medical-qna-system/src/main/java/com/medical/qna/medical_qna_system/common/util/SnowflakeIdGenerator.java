@@ -0,0 +1,45 @@
+package com.medical.qna.medical_qna_system.common.util;
+
+/**
+ * 雪花算法ID生成器：41位毫秒时间戳 + 10位节点号 + 12位序列号
+ * 生成的ID按时间递增，且远大于数据库自增ID，可与已有记录共存
+ */
+public class SnowflakeIdGenerator {
+
+    // 2025-01-01 00:00:00 UTC
+    private static final long EPOCH = 1735689600000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    public SnowflakeIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("节点号必须在0到" + MAX_NODE + "之间");
+        }
+        this.nodeId = nodeId;
+    }
+
+    public synchronized long nextId() {
+        long timestamp = System.currentTimeMillis();
+        // 时钟回拨时沿用上一个时间戳，保证单调递增
+        if (timestamp < lastTimestamp) {
+            timestamp = lastTimestamp;
+        }
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 当前毫秒序列号用完，借用下一毫秒
+                timestamp = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+}
@@ -0,0 +1,31 @@
+package com.medical.qna.medical_qna_system.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@Slf4j
+public class ConcurrencyConfig {
+
+    /**
+     * 在响应式流程中执行阻塞操作（如保存问答记录）的调度器
+     * 开启虚拟线程模式(spring.threads.virtual.enabled)时每个任务运行在独立的虚拟线程上
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            log.info("阻塞任务调度器使用虚拟线程");
+            return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "blocking-vt");
+        }
+        return Schedulers.newBoundedElastic(
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                "blocking");
+    }
+}
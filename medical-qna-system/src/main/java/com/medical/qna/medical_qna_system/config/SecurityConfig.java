@@ -1,6 +1,7 @@
 package com.medical.qna.medical_qna_system.config;
 
 import com.medical.qna.medical_qna_system.filter.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,6 +33,8 @@ public class SecurityConfig {
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             
             .authorizeHttpRequests(auth -> auth
+                // SSE流式响应的异步分派已在首次分派时完成认证
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // 公开访问的路径
                 .requestMatchers(
                     "/",
@@ -48,7 +51,9 @@ public class SecurityConfig {
                     "/api/auth/**",
                     "/api/question/health",
                     "/api/question/spring-health",
-                    "/health"
+                    "/health",
+                    "/actuator/health",
+                    "/actuator/prometheus"
                 ).permitAll()
                 
                 // 所有其他请求需要认证
@@ -1,11 +1,13 @@
 package com.medical.qna.medical_qna_system.config;
 
 import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 
@@ -13,9 +15,16 @@ import java.time.Duration;
 public class WebClientConfig {
     
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(@Value("${rag.limiter.max-limit:50}") int maxConnections) {
+        // RAG调用独立的连接池，连接数不超过并发限制器的上限，与其他资源隔离
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("rag")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(10))
+                .build();
+
         // 配置HTTP客户端
-        HttpClient httpClient = HttpClient.create()
+        HttpClient httpClient = HttpClient.create(connectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 30000) // 连接超时30秒
                 .responseTimeout(Duration.ofMinutes(5)) // 响应超时5分钟
                 .keepAlive(true);
@@ -1,11 +1,17 @@
 package com.medical.qna.medical_qna_system.controller;
 
+import com.medical.qna.medical_qna_system.dto.request.KnowledgeImportRequest;
 import com.medical.qna.medical_qna_system.dto.request.RegisterRequest;
 import com.medical.qna.medical_qna_system.dto.request.UpdateUserRequest;
 import com.medical.qna.medical_qna_system.dto.response.ApiResponse;
+import com.medical.qna.medical_qna_system.dto.response.KnowledgeImportStatusDto;
 import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionSearchHitDto;
+import com.medical.qna.medical_qna_system.dto.response.SymptomGraphStatsDto;
 import com.medical.qna.medical_qna_system.entity.mysql.User;
 import com.medical.qna.medical_qna_system.service.AdminService;
+import com.medical.qna.medical_qna_system.service.KnowledgeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +31,7 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final KnowledgeService knowledgeService;
 
     /**
      * 添加用户
@@ -79,4 +86,69 @@ public class AdminController {
         Page<QuestionAnswerDto> history = adminService.getUserQuestionHistory(userId, pageable);
         return ResponseEntity.ok(ApiResponse.success("获取用户问答历史成功", history));
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取用户问答历史摘要（问题 + 答案预览）
+     */
+    @GetMapping("/users/{userId}/history/summary")
+    public ResponseEntity<ApiResponse<Page<QuestionAnswerSummaryDto>>> getUserQuestionHistorySummary(@PathVariable Long userId, Pageable pageable) {
+        Page<QuestionAnswerSummaryDto> history = adminService.getUserQuestionHistorySummary(userId, pageable);
+        return ResponseEntity.ok(ApiResponse.success("获取用户问答历史摘要成功", history));
+    }
+
+    /**
+     * 获取单条完整问答记录
+     */
+    @GetMapping("/history/{id}")
+    public ResponseEntity<ApiResponse<QuestionAnswerDto>> getQuestionAnswer(@PathVariable Long id) {
+        QuestionAnswerDto questionAnswer = adminService.getQuestionAnswer(id);
+        return ResponseEntity.ok(ApiResponse.success("获取问答记录成功", questionAnswer));
+    }
+
+    /**
+     * 全文检索问答记录
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<Page<QuestionSearchHitDto>>> searchQuestionAnswers(@RequestParam String keyword, Pageable pageable) {
+        Page<QuestionSearchHitDto> hits = adminService.searchQuestionAnswers(keyword, pageable);
+        return ResponseEntity.ok(ApiResponse.success("检索问答记录成功", hits));
+    }
+
+    /**
+     * 获取内存知识图谱快照的规模和内存占用
+     */
+    @GetMapping("/knowledge/graph")
+    public ResponseEntity<ApiResponse<SymptomGraphStatsDto>> getKnowledgeGraphStats() {
+        SymptomGraphStatsDto stats = knowledgeService.getGraphStats();
+        return ResponseEntity.ok(ApiResponse.success("获取知识图谱快照信息成功", stats));
+    }
+
+    /**
+     * 重新加载内存知识图谱快照
+     */
+    @PostMapping("/knowledge/refresh")
+    public ResponseEntity<ApiResponse<Void>> refreshKnowledgeGraph() {
+        knowledgeService.refreshGraph();
+        return ResponseEntity.ok(ApiResponse.success("知识图谱重新加载已开始", null));
+    }
+
+    /**
+     * 在后台批量导入知识图谱（CSV或JSON Lines），完成后自动重新加载内存快照
+     */
+    @PostMapping("/knowledge/import")
+    public ResponseEntity<ApiResponse<KnowledgeImportStatusDto>> importKnowledgeGraph(
+            @Valid @RequestBody KnowledgeImportRequest request) {
+        KnowledgeImportStatusDto status = knowledgeService.importGraph(request.getPaths(),
+                !Boolean.FALSE.equals(request.getResume()));
+        return ResponseEntity.ok(ApiResponse.success("知识图谱导入已开始", status));
+    }
+
+    /**
+     * 获取最近一次知识图谱导入的进度
+     */
+    @GetMapping("/knowledge/import")
+    public ResponseEntity<ApiResponse<KnowledgeImportStatusDto>> getKnowledgeImportStatus() {
+        KnowledgeImportStatusDto status = knowledgeService.getImportStatus();
+        return ResponseEntity.ok(ApiResponse.success("获取知识图谱导入进度成功", status));
+    }
+}
@@ -0,0 +1,119 @@
+package com.medical.qna.medical_qna_system.controller;
+
+import com.medical.qna.medical_qna_system.common.enums.DiseaseView;
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import com.medical.qna.medical_qna_system.dto.request.DietCheckRequest;
+import com.medical.qna.medical_qna_system.dto.request.DiseaseProfileBatchRequest;
+import com.medical.qna.medical_qna_system.dto.request.EntityExtractionRequest;
+import com.medical.qna.medical_qna_system.dto.request.SymptomRankRequest;
+import com.medical.qna.medical_qna_system.dto.response.ApiResponse;
+import com.medical.qna.medical_qna_system.dto.response.DietCheckDto;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseDetailDto;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseInfoDto;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseMatchDto;
+import com.medical.qna.medical_qna_system.dto.response.EntityMentionDto;
+import com.medical.qna.medical_qna_system.dto.response.RelatedDiseaseDto;
+import com.medical.qna.medical_qna_system.dto.response.SuggestionDto;
+import com.medical.qna.medical_qna_system.service.KnowledgeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/knowledge")
+@RequiredArgsConstructor
+@Slf4j
+public class KnowledgeController {
+
+    private final KnowledgeService knowledgeService;
+
+    /**
+     * 按关键词检索疾病，结果按相关度排序
+     */
+    @GetMapping("/diseases/search")
+    public ResponseEntity<ApiResponse<List<DiseaseInfoDto>>> searchDiseases(@RequestParam String keyword) {
+        List<DiseaseInfoDto> diseases = knowledgeService.searchDiseases(keyword);
+        return ResponseEntity.ok(ApiResponse.success("检索疾病成功", diseases));
+    }
+
+    /**
+     * 获取疾病完整档案
+     */
+    @GetMapping("/diseases/{name}")
+    public ResponseEntity<ApiResponse<DiseaseInfoDto>> getDiseaseProfile(@PathVariable String name) {
+        DiseaseInfoDto profile = knowledgeService.getDiseaseProfile(name);
+        return ResponseEntity.ok(ApiResponse.success("获取疾病档案成功", profile));
+    }
+
+    /**
+     * 按读取深度获取疾病信息：SUMMARY只含疾病属性，SYMPTOMS另含症状，FULL含全部关联
+     */
+    @GetMapping("/diseases/{name}/detail")
+    public ResponseEntity<ApiResponse<DiseaseDetailDto>> getDiseaseDetail(
+            @PathVariable String name, @RequestParam(defaultValue = "SUMMARY") DiseaseView view) {
+        DiseaseDetailDto detail = knowledgeService.getDiseaseDetail(name, view);
+        return ResponseEntity.ok(ApiResponse.success("获取疾病信息成功", detail));
+    }
+
+    /**
+     * 症状相似的疾病
+     */
+    @GetMapping("/diseases/{name}/related")
+    public ResponseEntity<ApiResponse<List<RelatedDiseaseDto>>> getRelatedDiseases(@PathVariable String name) {
+        List<RelatedDiseaseDto> related = knowledgeService.getRelatedDiseases(name);
+        return ResponseEntity.ok(ApiResponse.success("获取相似疾病成功", related));
+    }
+
+    /**
+     * 批量获取疾病档案
+     */
+    @PostMapping("/diseases/profiles")
+    public ResponseEntity<ApiResponse<List<DiseaseInfoDto>>> getDiseaseProfiles(
+            @Valid @RequestBody DiseaseProfileBatchRequest request) {
+        List<DiseaseInfoDto> profiles = knowledgeService.getDiseaseProfiles(request.getDiseaseNames());
+        return ResponseEntity.ok(ApiResponse.success("获取疾病档案成功", profiles));
+    }
+
+    /**
+     * 根据症状推测可能的疾病
+     */
+    @PostMapping("/diseases/rank")
+    public ResponseEntity<ApiResponse<List<DiseaseMatchDto>>> rankDiseases(@Valid @RequestBody SymptomRankRequest request) {
+        List<DiseaseMatchDto> matches = knowledgeService.rankDiseasesBySymptoms(request.getSymptoms(), request.getLimit());
+        return ResponseEntity.ok(ApiResponse.success("疾病排序成功", matches));
+    }
+
+    /**
+     * 批量检查多种疾病与多种食物的宜忌关系（如"这些食物我能吃吗"）
+     */
+    @PostMapping("/diet/check")
+    public ResponseEntity<ApiResponse<DietCheckDto>> checkDiet(@Valid @RequestBody DietCheckRequest request) {
+        DietCheckDto result = knowledgeService.checkDiet(request.getDiseases(), request.getFoods());
+        return ResponseEntity.ok(ApiResponse.success("饮食宜忌检查完成", result));
+    }
+
+    /**
+     * 症状/疾病名称联想，支持前缀、中缀和拼音首字母（如 gxy -> 高血压）
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse<List<SuggestionDto>>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(required = false) MedicalEntityType type,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SuggestionDto> suggestions = knowledgeService.autocomplete(q, type, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+
+    /**
+     * 识别文本中提到的医学实体
+     */
+    @PostMapping("/entities")
+    public ResponseEntity<ApiResponse<List<EntityMentionDto>>> extractEntities(@Valid @RequestBody EntityExtractionRequest request) {
+        List<EntityMentionDto> mentions = knowledgeService.extractEntities(request.getText());
+        return ResponseEntity.ok(ApiResponse.success(mentions));
+    }
+}
@@ -1,21 +1,39 @@
 package com.medical.qna.medical_qna_system.controller;
 
 import com.medical.qna.medical_qna_system.dto.request.QuestionRequest;
+import com.medical.qna.medical_qna_system.dto.response.AnswerResponse;
 import com.medical.qna.medical_qna_system.dto.response.ApiResponse;
+import com.medical.qna.medical_qna_system.dto.response.CursorPageDto;
 import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionSearchHitDto;
 import com.medical.qna.medical_qna_system.entity.mysql.User;
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+import com.medical.qna.medical_qna_system.jfr.SseFlushEvent;
+import com.medical.qna.medical_qna_system.metrics.ErrorMetrics;
+import com.medical.qna.medical_qna_system.service.QuestionRouter;
 import com.medical.qna.medical_qna_system.service.QuestionService;
+import com.medical.qna.medical_qna_system.service.RagService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/question")
@@ -25,6 +43,130 @@ import java.util.Map;
 public class QuestionController {
 
     private final QuestionService questionService;
+    private final RagService ragService;
+    private final QuestionRouter questionRouter;
+    private final Scheduler blockingScheduler;
+    private final ErrorMetrics errorMetrics;
+
+    // 与WebClient的响应超时保持一致
+    private static final long SSE_TIMEOUT_MILLIS = 5 * 60 * 1000L;
+
+    // 等待写给客户端的回答片段数
+    private static final int SSE_PREFETCH = 32;
+
+    /**
+     * 提问：能由知识图谱直接回答的简单查询立即返回，其余问题代理RAG服务的流式回答，
+     * 以SSE推送给前端，结束后在同一请求内保存问答记录
+     */
+    @PostMapping(value = "/ask", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter ask(@Valid @RequestBody QuestionRequest request, HttpServletRequest httpRequest) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+
+        User user = (User) httpRequest.getAttribute("currentUser");
+        if (user == null) {
+            log.warn("用户未认证，拒绝提问请求");
+            sendErrorAndComplete(emitter, "UNAUTHORIZED", "用户未登录或认证已过期，请重新登录");
+            return emitter;
+        }
+
+        String question = request.getQuestion().trim();
+        log.info("用户 {} 提问: {}", user.getUsername(), question);
+
+        Optional<AnswerResponse> graphAnswer = questionRouter.tryAnswer(question);
+        if (graphAnswer.isPresent()) {
+            answerFromKnowledgeGraph(emitter, user, question, graphAnswer.get());
+            return emitter;
+        }
+
+        StringBuilder fullAnswer = new StringBuilder();
+        Disposable subscription = ragService.streamAnswer(question)
+                // 向客户端写SSE和保存记录都会阻塞，不能在Netty事件循环线程上执行；
+                // 客户端读得慢时只预取少量片段，不再向上游请求数据
+                .publishOn(blockingScheduler, SSE_PREFETCH)
+                .doOnNext(chunk -> {
+                    fullAnswer.append(chunk);
+                    sendEvent(emitter, user, "token", Map.of("content", chunk),
+                            chunk.getBytes(StandardCharsets.UTF_8).length);
+                })
+                .then(Mono.fromRunnable(() -> {
+                    if (fullAnswer.length() == 0) {
+                        log.warn("RAG服务返回空回答，不保存问答记录，用户: {}", user.getUsername());
+                        return;
+                    }
+                    questionService.saveQuestionAnswer(user.getId(), question, fullAnswer.toString());
+                    log.info("问答记录已保存到数据库，用户: {}", user.getUsername());
+                }))
+                .subscribe(
+                        ignored -> { },
+                        e -> {
+                            if (e instanceof BusinessException be) {
+                                // 限流或熔断的快速失败
+                                log.warn("流式问答被拒绝，用户: {}, 原因: {}", user.getUsername(), be.getMessage());
+                                sendErrorAndComplete(emitter, be.getCode(), be.getMessage());
+                                return;
+                            }
+                            log.error("流式问答失败，用户: {}", user.getUsername(), e);
+                            sendErrorAndComplete(emitter, "RAG_ERROR", "RAG服务暂时不可用，请稍后重试");
+                        },
+                        () -> {
+                            sendEvent(emitter, user, "done", Map.of("answerLength", fullAnswer.length()), 0);
+                            emitter.complete();
+                        });
+
+        // 客户端断开或超时时取消上游请求
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        emitter.onCompletion(subscription::dispose);
+        return emitter;
+    }
+
+    /**
+     * 知识图谱给出的完整回答：以一个token事件发送正文（与流式回答兼容），
+     * 再以answer事件发送结构化结果，保存记录后结束
+     */
+    private void answerFromKnowledgeGraph(SseEmitter emitter, User user, String question, AnswerResponse answer) {
+        String text = answer.getAnswer();
+        try {
+            sendEvent(emitter, user, "token", Map.of("content", text), text.getBytes(StandardCharsets.UTF_8).length);
+            sendEvent(emitter, user, "answer", answer, 0);
+            questionService.saveQuestionAnswer(user.getId(), question, text);
+            log.info("知识图谱直接回答，问答记录已保存，用户: {}", user.getUsername());
+            sendEvent(emitter, user, "done", Map.of("answerLength", text.length(), "source", "knowledge_graph"), 0);
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            log.debug("客户端已断开: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("知识图谱回答失败，用户: {}", user.getUsername(), e);
+            sendErrorAndComplete(emitter, "SERVER_ERROR", "回答失败，请稍后重试");
+        }
+    }
+
+    private void sendEvent(SseEmitter emitter, User user, String name, Object data, long payloadBytes) {
+        SseFlushEvent flushEvent = new SseFlushEvent();
+        flushEvent.begin();
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            flushEvent.eventName = name;
+            flushEvent.endpoint = "/api/question/ask";
+            flushEvent.userId = user.getId();
+            flushEvent.payloadBytes = payloadBytes;
+            flushEvent.commit();
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开，向上抛出以终止上游流
+            throw new IllegalStateException("SSE连接已关闭", e);
+        }
+    }
+
+    private void sendErrorAndComplete(SseEmitter emitter, String code, String message) {
+        errorMetrics.record(code);
+        try {
+            emitter.send(SseEmitter.event().name("error")
+                    .data(Map.of("code", code, "message", message), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("发送SSE错误事件失败: {}", e.getMessage());
+        }
+    }
 
     /**
      * 保存问答记录
@@ -100,6 +242,89 @@ public class QuestionController {
         }
     }
 
+    /**
+     * 游标分页获取用户历史记录
+     */
+    @GetMapping("/history/page")
+    public ResponseEntity<ApiResponse<CursorPageDto<QuestionAnswerDto>>> getHistoryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+
+        User user = (User) request.getAttribute("currentUser");
+        if (user == null) {
+            log.warn("获取历史记录失败：用户未认证");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("UNAUTHORIZED", "请重新登录"));
+        }
+
+        CursorPageDto<QuestionAnswerDto> page = questionService.getUserHistoryPage(user.getId(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    /**
+     * 游标分页获取用户历史记录摘要（问题 + 答案预览）
+     */
+    @GetMapping("/history/summary")
+    public ResponseEntity<ApiResponse<CursorPageDto<QuestionAnswerSummaryDto>>> getHistorySummary(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+
+        User user = (User) request.getAttribute("currentUser");
+        if (user == null) {
+            log.warn("获取历史记录摘要失败：用户未认证");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("UNAUTHORIZED", "请重新登录"));
+        }
+
+        CursorPageDto<QuestionAnswerSummaryDto> page = questionService.getUserHistorySummaryPage(user.getId(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    /**
+     * 全文检索用户历史记录（问题和答案）
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<Page<QuestionSearchHitDto>>> searchHistory(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+
+        User user = (User) request.getAttribute("currentUser");
+        if (user == null) {
+            log.warn("检索历史记录失败：用户未认证");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("UNAUTHORIZED", "请重新登录"));
+        }
+
+        Page<QuestionSearchHitDto> hits = questionService.fullTextSearchUserHistory(
+                user.getId(), keyword, page, size != null ? size : 0);
+        return ResponseEntity.ok(ApiResponse.success(hits));
+    }
+
+    /**
+     * 获取单条完整历史记录
+     */
+    @GetMapping("/history/{id}")
+    public ResponseEntity<ApiResponse<QuestionAnswerDto>> getHistoryItem(
+            @PathVariable Long id, HttpServletRequest request) {
+
+        User user = (User) request.getAttribute("currentUser");
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("UNAUTHORIZED", "请重新登录"));
+        }
+
+        QuestionAnswerDto questionAnswer = questionService.getQuestionAnswer(id, user.getId());
+        if (questionAnswer == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("NOT_FOUND", "记录不存在或无权限"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(questionAnswer));
+    }
+
     /**
      * 删除历史记录
      */
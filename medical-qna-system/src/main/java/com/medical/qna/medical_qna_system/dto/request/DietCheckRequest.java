@@ -0,0 +1,17 @@
+package com.medical.qna.medical_qna_system.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DietCheckRequest {
+
+    @NotEmpty(message = "疾病名称列表不能为空")
+    private List<String> diseases;
+
+    // 为空时只返回推荐食物
+    private List<String> foods = new ArrayList<>();
+}
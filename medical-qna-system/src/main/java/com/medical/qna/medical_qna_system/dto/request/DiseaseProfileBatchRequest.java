@@ -0,0 +1,13 @@
+package com.medical.qna.medical_qna_system.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DiseaseProfileBatchRequest {
+
+    @NotEmpty(message = "疾病名称列表不能为空")
+    private List<String> diseaseNames;
+}
@@ -0,0 +1,13 @@
+package com.medical.qna.medical_qna_system.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class EntityExtractionRequest {
+
+    @NotBlank(message = "文本不能为空")
+    @Size(max = 5000, message = "文本长度不能超过5000个字符")
+    private String text;
+}
@@ -0,0 +1,17 @@
+package com.medical.qna.medical_qna_system.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class KnowledgeImportRequest {
+
+    // 导入文件路径（.csv/.jsonl），相对于服务器配置的导入目录，按顺序读取
+    @NotEmpty(message = "导入文件列表不能为空")
+    private List<String> paths;
+
+    // 从上次失败的断点继续，输入文件有变化时断点自动作废
+    private Boolean resume = true;
+}
@@ -0,0 +1,19 @@
+package com.medical.qna.medical_qna_system.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SymptomRankRequest {
+
+    @NotEmpty(message = "症状列表不能为空")
+    private List<String> symptoms;
+
+    @Min(value = 1, message = "返回数量至少为1")
+    @Max(value = 100, message = "返回数量最多为100")
+    private Integer limit = 10;
+}
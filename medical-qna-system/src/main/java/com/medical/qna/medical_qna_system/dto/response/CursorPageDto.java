@@ -0,0 +1,19 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> items;
+    // 下一页的游标，没有更多数据时为null
+    private String nextCursor;
+    private boolean hasMore;
+}
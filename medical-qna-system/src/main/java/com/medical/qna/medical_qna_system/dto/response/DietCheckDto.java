@@ -0,0 +1,25 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DietCheckDto {
+    // 至少一种疾病忌吃的食物
+    private List<DietConflictDto> conflicts;
+    // 至少一种疾病宜吃且没有疾病忌吃的食物
+    private List<String> suitableFoods;
+    // 图谱中没有宜忌关系的食物
+    private List<String> unratedFoods;
+    // 未询问但适合所有疾病的食物，宜吃的疾病多的靠前
+    private List<FoodRecommendationDto> recommendations;
+    private List<String> unknownDiseases;
+    private List<String> unknownFoods;
+}
@@ -0,0 +1,20 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DietConflictDto {
+    private String food;
+    // 忌吃该食物的疾病
+    private List<String> badFor;
+    // 宜吃该食物的疾病，有冲突时仍以忌口为准
+    private List<String> goodFor;
+}
@@ -0,0 +1,38 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 按读取深度返回的疾病信息，当前深度没有读取的字段为null且不输出
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DiseaseDetailDto {
+    private String diseaseName;
+    private String description;
+    private String diagnosis;             // 诊断信息
+    private Boolean insuranceCovered;     // 是否医保疾病
+    private String prevalenceRate;        // 患病比例
+    private String susceptiblePopulation; // 易感人群
+    private String transmissionMode;      // 传染方式
+    private String nursing;               // 护理信息
+    private String treatmentDuration;     // 治疗周期
+    private String cureRate;              // 治愈率
+    private String treatmentCost;         // 治疗费用
+    private List<String> symptoms;
+    private List<String> treatments;
+    private List<String> complications;
+    private List<String> goodFoods;       // 宜吃食物
+    private List<String> badFoods;        // 忌吃食物
+    private List<String> departments;
+    private List<String> departmentCategories;
+}
@@ -17,5 +17,8 @@ public class DiseaseInfoDto {
     private List<String> symptoms;
     private List<String> treatments;
     private List<String> complications;
+    private List<String> goodFoods;   // 宜吃食物
+    private List<String> badFoods;    // 忌吃食物
     private List<String> departments;
+    private List<String> departmentCategories;
 }
\ No newline at end of file
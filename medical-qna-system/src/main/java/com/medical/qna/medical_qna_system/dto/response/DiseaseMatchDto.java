@@ -0,0 +1,21 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiseaseMatchDto {
+    private String diseaseName;
+    // IDF加权的余弦相似度，0~1
+    private float score;
+    private List<String> matchedSymptoms;
+    // 该疾病的症状总数
+    private int totalSymptoms;
+}
@@ -0,0 +1,21 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityMentionDto {
+    private String text;
+    // 在原文中的位置，end不含
+    private int start;
+    private int end;
+    private Set<MedicalEntityType> types;
+}
@@ -0,0 +1,18 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodRecommendationDto {
+    private String food;
+    // 宜吃该食物的疾病
+    private List<String> goodFor;
+}
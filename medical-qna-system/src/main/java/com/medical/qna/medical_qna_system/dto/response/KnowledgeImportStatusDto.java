@@ -0,0 +1,37 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KnowledgeImportStatusDto {
+    // RUNNING / COMPLETED / FAILED
+    private String state;
+    private List<String> paths;
+    // 当前阶段：NODES / RELATIONSHIPS
+    private String phase;
+    // 断点续传时跳过的记录，如 RELATIONSHIPS:120000
+    private String resumedFrom;
+    private long recordsRead;
+    // 当前阶段已提交的记录数（断点位置）
+    private long recordsCommitted;
+    private long recordsSkipped;
+    // 写入（MERGE）的行数和其中新建的数量
+    private long nodesMerged;
+    private long nodesCreated;
+    private long relationshipsMerged;
+    private long relationshipsCreated;
+    private double nodesPerSecond;
+    private double relationshipsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -1,6 +1,8 @@
 package com.medical.qna.medical_qna_system.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -13,6 +15,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class QuestionAnswerDto {
+    // 雪花ID超出JavaScript能精确表示的整数范围，以字符串输出
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private String question;
     private String answer;
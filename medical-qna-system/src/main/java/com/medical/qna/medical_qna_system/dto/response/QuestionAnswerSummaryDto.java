@@ -0,0 +1,33 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 历史列表的摘要视图：问题 + 截断的答案预览，完整答案按ID单独获取
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionAnswerSummaryDto {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+    private String question;
+    private String answerPreview;
+    // 完整答案的字符数，大于预览长度时说明答案被截断
+    private Integer answerLength;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createAt;
+    
+    // 与QuestionAnswerDto保持一致的兼容字段
+    public LocalDateTime getCreateTime() {
+        return this.createAt;
+    }
+}
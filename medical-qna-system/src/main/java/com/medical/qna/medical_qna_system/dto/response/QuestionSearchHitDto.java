@@ -0,0 +1,29 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionSearchHitDto {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+    private Long userId;
+    // 高亮后的问题，命中词以<em>标记
+    private String question;
+    // 答案中命中关键词的高亮片段
+    private String answerSnippet;
+    private float score;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createAt;
+}
@@ -0,0 +1,17 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedDiseaseDto {
+    private String diseaseName;
+    // 症状集合的Jaccard相似度，0~1
+    private float similarity;
+    private int sharedSymptoms;
+}
@@ -0,0 +1,18 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+    private String text;
+    private MedicalEntityType type;
+    // 热度：症状为关联的疾病数，疾病为关联的症状数
+    private int popularity;
+}
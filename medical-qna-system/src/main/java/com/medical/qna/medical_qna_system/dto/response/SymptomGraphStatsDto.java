@@ -0,0 +1,25 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SymptomGraphStatsDto {
+    private int diseaseCount;
+    private int symptomCount;
+    private int edgeCount;
+    // 快照估算占用的堆内存
+    private long footprintBytes;
+    private long loadMillis;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime loadedAt;
+}
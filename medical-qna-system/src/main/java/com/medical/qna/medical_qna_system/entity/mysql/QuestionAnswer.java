@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "question_answers")
+@Table(name = "question_answers", indexes = {
+        // 历史记录按(create_at, id)做游标分页
+        @Index(name = "idx_qa_user_create_at_id", columnList = "user_id, create_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -28,7 +31,7 @@ public class QuestionAnswer {
     @Column(name = "create_at")
     private LocalDateTime createAt;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.medical.qna.medical_qna_system.exception;
 
 import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
 import com.medical.qna.medical_qna_system.dto.response.ApiResponse;
+import com.medical.qna.medical_qna_system.metrics.ErrorMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,12 +18,16 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
     
+    private final ErrorMetrics errorMetrics;
+    
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ApiResponse<Void>> handleBusinessException(BusinessException e) {
         log.warn("业务异常: {}", e.getMessage());
+        errorMetrics.record(e.getCode());
         return ResponseEntity.badRequest()
                 .body(ApiResponse.<Void>builder()
                         .code(e.getCode())
@@ -34,6 +40,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler({MethodArgumentNotValidException.class, BindException.class})
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationException(Exception e) {
         log.warn("参数验证异常: {}", e.getMessage());
+        errorMetrics.record(ErrorCode.PARAM_ERROR.getCode());
         
         Map<String, String> errors = new HashMap<>();
         
@@ -68,6 +75,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponse<Void>> handleRuntimeException(RuntimeException e) {
         log.error("运行时异常", e);
+        errorMetrics.record("500");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.<Void>builder()
                         .code("500")
@@ -80,6 +88,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGenericException(Exception e) {
         log.error("系统异常", e);
+        errorMetrics.record(ErrorCode.SYSTEM_ERROR.getCode());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.<Void>builder()
                         .code(ErrorCode.SYSTEM_ERROR.getCode())
@@ -1,8 +1,13 @@
 package com.medical.qna.medical_qna_system.filter;
 
 import com.medical.qna.medical_qna_system.entity.mysql.User;
+import com.medical.qna.medical_qna_system.jfr.JwtVerifyEvent;
+import com.medical.qna.medical_qna_system.jfr.UserLookupEvent;
 import com.medical.qna.medical_qna_system.security.JwtTokenUtil;
 import com.medical.qna.medical_qna_system.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenUtil jwtTokenUtil;
     private final UserService userService;
+    private final MeterRegistry meterRegistry;
     private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
     // 不需要JWT认证的路径列表 - 使用通配符匹配
@@ -47,7 +53,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         "/js/**",                    // JS资源
         "/img/**",                   // 图片资源
         "/fonts/**",                 // 字体资源
-        "/error"                     // 错误页面
+        "/error",                    // 错误页面
+        "/actuator/health",          // 健康检查
+        "/actuator/prometheus"       // 指标采集
     );
 
     @Override
@@ -81,66 +89,94 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
         log.debug("JWT Filter 处理需要认证的请求: {}", path);
         
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = authenticate(request, path);
+        sample.stop(Timer.builder("auth.filter")
+                .description("JWT认证耗时")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 解析Token并设置认证信息
+     * @return 认证结果，作为耗时指标的标签
+     */
+    private String authenticate(HttpServletRequest request, String path) {
         final String requestTokenHeader = request.getHeader("Authorization");
         
         String username = null;
-        String jwtToken = null;
+        Claims claims = null;
         
         // JWT Token在格式为 "Bearer token"
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
+            // 只解析验证一次，用户名和角色都从同一份声明中读取
+            JwtVerifyEvent verifyEvent = new JwtVerifyEvent();
+            verifyEvent.begin();
+            claims = jwtTokenUtil.verifyToken(requestTokenHeader.substring(7));
+            verifyEvent.endpoint = path;
+            verifyEvent.valid = claims != null;
+            verifyEvent.commit();
+            if (claims != null) {
+                username = claims.getSubject();
                 log.debug("从JWT中解析到用户名: {}", username);
-            } catch (Exception e) {
-                log.error("无法从token中获取用户名: {}", e.getMessage());
+            } else {
+                log.warn("JWT Token 验证失败，路径: {}", path);
+                return "invalid_token";
             }
         } else {
             log.debug("请求头中没有找到Bearer token - Path: {}", path);
+            return "no_token";
         }
         
-        // 一旦我们得到token，验证它
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             
             try {
-                // 验证token
-                if (jwtTokenUtil.validateToken(jwtToken)) {
+                // 从数据库获取用户信息
+                UserLookupEvent lookupEvent = new UserLookupEvent();
+                lookupEvent.begin();
+                User user = userService.findByUsername(username);
+                lookupEvent.endpoint = path;
+                lookupEvent.username = username;
+                lookupEvent.found = user != null;
+                lookupEvent.userId = user != null ? user.getId() : 0L;
+                lookupEvent.commit();
+                if (user != null && !user.isEnabled()) {
+                    log.warn("用户 {} 已被禁用，拒绝认证", username);
+                    return "disabled";
+                } else if (user != null) {
+                    
+                    // 将用户信息存储到request中，供Controller使用
+                    request.setAttribute("currentUser", user);
                     
-                    // 从数据库获取用户信息
-                    User user = userService.findByUsername(username);
-                    if (user != null) {
-                        
-                        // 将用户信息存储到request中，供Controller使用
-                        request.setAttribute("currentUser", user);
-                        
-                        // 从token中获取用户角色
-                        String role = jwtTokenUtil.getRoleFromToken(jwtToken);
-                        
-                        // 创建认证对象
-                        UsernamePasswordAuthenticationToken authenticationToken = 
-                            new UsernamePasswordAuthenticationToken(
-                                username, 
-                                null, 
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                            );
-                        
-                        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        
-                        // 设置认证信息到SecurityContext
-                        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                        
-                        log.debug("用户 {} 认证成功，角色: {}", username, role);
-                    } else {
-                        log.warn("JWT中的用户 {} 在数据库中不存在", username);
-                    }
+                    // 从token中获取用户角色
+                    String role = claims.get(JwtTokenUtil.CLAIM_ROLE, String.class);
+                    
+                    // 创建认证对象
+                    UsernamePasswordAuthenticationToken authenticationToken = 
+                        new UsernamePasswordAuthenticationToken(
+                            username, 
+                            null, 
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                        );
+                    
+                    authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    // 设置认证信息到SecurityContext
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                    
+                    log.debug("用户 {} 认证成功，角色: {}", username, role);
+                    return "authenticated";
                 } else {
-                    log.warn("JWT Token 验证失败，路径: {}", path);
+                    log.warn("JWT中的用户 {} 在数据库中不存在", username);
+                    return "unknown_user";
                 }
             } catch (Exception e) {
                 log.error("JWT认证处理异常: {}", e.getMessage());
+                return "error";
             }
         }
-        
-        filterChain.doFilter(request, response);
+        return "skipped";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.medical.qna.medical_qna_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("medical.qna.CypherQuery")
+@Label("Cypher Query")
+@Description("Neo4j知识图谱查询")
+@Category({"Medical QnA", "Database"})
+@StackTrace(false)
+public class CypherQueryEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Result Count")
+    public int resultCount;
+
+    @Label("Success")
+    public boolean success;
+}
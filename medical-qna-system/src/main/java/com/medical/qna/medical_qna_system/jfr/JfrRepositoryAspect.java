@@ -0,0 +1,73 @@
+package com.medical.qna.medical_qna_system.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 为MySQL仓库调用和Neo4j查询发出JFR事件，未开启录制时几乎没有开销
+ */
+@Aspect
+@Component
+public class JfrRepositoryAspect {
+
+    @Around("execution(* com.medical.qna.medical_qna_system.repository.mysql..*+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.endpoint = JfrRequestContext.endpoint();
+                event.userId = JfrRequestContext.userId();
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* com.medical.qna.medical_qna_system.repository.neo4j..*+.*(..))")
+    public Object recordCypherQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        CypherQueryEvent event = new CypherQueryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.success = true;
+            event.resultCount = resultCount(result);
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = joinPoint.getSignature().getName();
+                event.endpoint = JfrRequestContext.endpoint();
+                event.userId = JfrRequestContext.userId();
+                event.commit();
+            }
+        }
+    }
+
+    private static int resultCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result != null ? 1 : 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.medical.qna.medical_qna_system.jfr;
+
+import com.medical.qna.medical_qna_system.entity.mysql.User;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 从当前请求中取出JFR事件需要的接口路径和用户ID，不在请求线程上时返回空值
+ */
+public final class JfrRequestContext {
+
+    private JfrRequestContext() {
+    }
+
+    public static String endpoint() {
+        HttpServletRequest request = currentRequest();
+        return request != null ? request.getRequestURI() : null;
+    }
+
+    public static long userId() {
+        HttpServletRequest request = currentRequest();
+        if (request != null && request.getAttribute("currentUser") instanceof User user && user.getId() != null) {
+            return user.getId();
+        }
+        return 0L;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest();
+        }
+        return null;
+    }
+}
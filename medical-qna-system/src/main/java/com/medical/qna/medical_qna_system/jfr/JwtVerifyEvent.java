@@ -0,0 +1,22 @@
+package com.medical.qna.medical_qna_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("medical.qna.JwtVerify")
+@Label("JWT Verify")
+@Description("解析并验证请求中的JWT")
+@Category({"Medical QnA", "Auth"})
+@StackTrace(false)
+public class JwtVerifyEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,24 @@
+package com.medical.qna.medical_qna_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("medical.qna.RagConnect")
+@Label("RAG Connect")
+@Description("从发出RAG请求到收到响应头")
+@Category({"Medical QnA", "RAG"})
+@StackTrace(false)
+public class RagConnectEvent extends Event {
+
+    @Label("Status")
+    public int status;
+
+    @Label("Request Bytes")
+    @DataAmount(DataAmount.BYTES)
+    public long requestBytes;
+}
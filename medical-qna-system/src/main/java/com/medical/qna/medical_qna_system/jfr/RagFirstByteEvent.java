@@ -0,0 +1,21 @@
+package com.medical.qna.medical_qna_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("medical.qna.RagFirstByte")
+@Label("RAG First Byte")
+@Description("从发出RAG请求到收到回答的第一个数据块")
+@Category({"Medical QnA", "RAG"})
+@StackTrace(false)
+public class RagFirstByteEvent extends Event {
+
+    @Label("First Chunk Bytes")
+    @DataAmount(DataAmount.BYTES)
+    public long firstChunkBytes;
+}
@@ -0,0 +1,31 @@
+package com.medical.qna.medical_qna_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("medical.qna.RepositoryCall")
+@Label("Repository Call")
+@Description("MySQL仓库方法调用")
+@Category({"Medical QnA", "Database"})
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,30 @@
+package com.medical.qna.medical_qna_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("medical.qna.SseFlush")
+@Label("SSE Flush")
+@Description("向客户端写出一个SSE事件")
+@Category({"Medical QnA", "SSE"})
+@StackTrace(false)
+public class SseFlushEvent extends Event {
+
+    @Label("Event Name")
+    public String eventName;
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Payload Bytes")
+    @DataAmount(DataAmount.BYTES)
+    public long payloadBytes;
+}
@@ -0,0 +1,28 @@
+package com.medical.qna.medical_qna_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("medical.qna.UserLookup")
+@Label("User Lookup")
+@Description("认证时按用户名加载用户（缓存或数据库）")
+@Category({"Medical QnA", "Auth"})
+@StackTrace(false)
+public class UserLookupEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Username")
+    public String username;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Found")
+    public boolean found;
+}
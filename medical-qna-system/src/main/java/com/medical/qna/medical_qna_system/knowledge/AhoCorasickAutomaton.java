@@ -0,0 +1,193 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick多模式匹配自动机（只读）
+ * 一次线性扫描找出文本中出现的所有模式串，耗时与词表大小无关。
+ * 每个状态的出边按字符排序存放在连续数组中（二分查找），适合中文这种字符集很大、每个状态出边很少的情况。
+ * 英文字母统一按小写匹配
+ */
+public final class AhoCorasickAutomaton {
+
+    /**
+     * 一次匹配
+     *
+     * @param start   起始位置（含）
+     * @param end     结束位置（不含）
+     * @param pattern 模式串编号（构建时的下标）
+     */
+    public record Match(int start, int end, int pattern) {
+
+        public int length() {
+            return end - start;
+        }
+    }
+
+    // 状态s的出边为 edgeChars/edgeTargets[edgeStart[s] .. edgeStart[s+1])，按字符升序
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    // 在状态s结束的最长模式串编号，没有则为-1
+    private final int[] output;
+    // 沿失败链能到达的下一个有输出的状态，没有则为-1
+    private final int[] outputLink;
+    private final int[] patternLengths;
+
+    private AhoCorasickAutomaton(int[] edgeStart, char[] edgeChars, int[] edgeTargets, int[] fail,
+                                 int[] output, int[] outputLink, int[] patternLengths) {
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.output = output;
+        this.outputLink = outputLink;
+        this.patternLengths = patternLengths;
+    }
+
+    /**
+     * 构建自动机，空模式串被忽略，重复的模式串只保留第一个
+     */
+    public static AhoCorasickAutomaton build(List<String> patterns) {
+        // 先建普通字典树
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        outputs.add(-1);
+        int[] patternLengths = new int[patterns.size()];
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            patternLengths[p] = pattern == null ? 0 : pattern.length();
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = Character.toLowerCase(pattern.charAt(i));
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(c, next);
+                    children.add(new TreeMap<>());
+                    outputs.add(-1);
+                }
+                state = next;
+            }
+            if (outputs.get(state) < 0) {
+                outputs.set(state, p);
+            }
+        }
+
+        // 压缩为数组
+        int stateCount = children.size();
+        int[] edgeStart = new int[stateCount + 1];
+        for (int s = 0; s < stateCount; s++) {
+            edgeStart[s + 1] = edgeStart[s] + children.get(s).size();
+        }
+        char[] edgeChars = new char[edgeStart[stateCount]];
+        int[] edgeTargets = new int[edgeStart[stateCount]];
+        for (int s = 0; s < stateCount; s++) {
+            int e = edgeStart[s];
+            for (Map.Entry<Character, Integer> edge : children.get(s).entrySet()) {
+                edgeChars[e] = edge.getKey();
+                edgeTargets[e++] = edge.getValue();
+            }
+        }
+        int[] output = outputs.stream().mapToInt(Integer::intValue).toArray();
+
+        // 广度优先计算失败指针和输出链
+        int[] fail = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        Arrays.fill(outputLink, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+            queue.add(edgeTargets[e]);
+        }
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(
+                edgeStart, edgeChars, edgeTargets, fail, output, outputLink, patternLengths);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                char c = edgeChars[e];
+                int child = edgeTargets[e];
+                int f = fail[state];
+                int target = automaton.transition(f, c);
+                while (target < 0 && f != 0) {
+                    f = fail[f];
+                    target = automaton.transition(f, c);
+                }
+                fail[child] = target < 0 || target == child ? 0 : target;
+                outputLink[child] = output[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+        return automaton;
+    }
+
+    /**
+     * 找出文本中的所有匹配（包括相互重叠和嵌套的）
+     */
+    public List<Match> findAll(CharSequence text) {
+        List<Match> matches = new ArrayList<>();
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next = transition(state, c);
+            while (next < 0 && state != 0) {
+                state = fail[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? 0 : next;
+
+            int s = output[state] >= 0 ? state : outputLink[state];
+            while (s >= 0) {
+                int pattern = output[s];
+                matches.add(new Match(i + 1 - patternLengths[pattern], i + 1, pattern));
+                s = outputLink[s];
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 最长匹配：重叠的匹配中优先保留最长的，长度相同时保留靠前的，结果按位置排序
+     * 如"糖尿病肾病"中保留"糖尿病肾病"而不是"糖尿病"和"肾病"
+     */
+    public List<Match> findLongest(CharSequence text) {
+        List<Match> all = findAll(text);
+        if (all.size() <= 1) {
+            return all;
+        }
+        all.sort(Comparator.comparingInt(Match::length).reversed().thenComparingInt(Match::start));
+        boolean[] covered = new boolean[text.length()];
+        List<Match> selected = new ArrayList<>();
+        for (Match m : all) {
+            boolean free = true;
+            for (int i = m.start(); i < m.end() && free; i++) {
+                free = !covered[i];
+            }
+            if (free) {
+                Arrays.fill(covered, m.start(), m.end(), true);
+                selected.add(m);
+            }
+        }
+        selected.sort(Comparator.comparingInt(Match::start));
+        return selected;
+    }
+
+    public int stateCount() {
+        return fail.length;
+    }
+
+    private int transition(int state, char c) {
+        int i = Arrays.binarySearch(edgeChars, edgeStart[state], edgeStart[state + 1], c);
+        return i >= 0 ? edgeTargets[i] : -1;
+    }
+}
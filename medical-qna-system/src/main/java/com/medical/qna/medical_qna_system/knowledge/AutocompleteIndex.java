@@ -0,0 +1,262 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 医学名词联想的只读内存索引
+ * 名称的所有后缀按字典序排成后缀数组，前缀和中缀匹配都是一次二分查找得到的连续区间；
+ * 拼音首字母单独排序，支持首字母前缀匹配。
+ * 结果排序：名称前缀命中 > 拼音首字母命中 > 中缀命中，同类按热度降序、名称长度升序
+ */
+public final class AutocompleteIndex {
+
+    private static final int MATCH_PREFIX = 0;
+    private static final int MATCH_INITIALS = 1;
+    private static final int MATCH_INFIX = 2;
+    private static final int NO_MATCH = 3;
+
+    private static final Comparator<Entry> STATIC_ORDER = Comparator
+            .comparingInt(Entry::popularity).reversed()
+            .thenComparingInt(e -> e.text().length())
+            .thenComparing(Entry::text);
+
+    public static final AutocompleteIndex EMPTY = build(List.of(), name -> List.of());
+
+    /**
+     * 联想词条
+     *
+     * @param text       名称
+     * @param type       实体类型
+     * @param popularity 热度，越大越靠前
+     * @param initials   拼音首字母（多音字可能有多个）
+     */
+    public record Entry(String text, MedicalEntityType type, int popularity, List<String> initials) {
+    }
+
+    private final Entry[] entries;
+    // 第i个后缀为 entries[suffixEntries[i]].text 从 suffixOffsets[i] 开始的部分
+    private final int[] suffixEntries;
+    private final int[] suffixOffsets;
+    private final String[] initialKeys;
+    private final int[] initialEntries;
+
+    private AutocompleteIndex(Entry[] entries, int[] suffixEntries, int[] suffixOffsets,
+                              String[] initialKeys, int[] initialEntries) {
+        this.entries = entries;
+        this.suffixEntries = suffixEntries;
+        this.suffixOffsets = suffixOffsets;
+        this.initialKeys = initialKeys;
+        this.initialEntries = initialEntries;
+    }
+
+    /**
+     * 构建索引
+     *
+     * @param entries  词条（不含拼音首字母）
+     * @param initials 名称到拼音首字母的计算函数，重建时可传入复用旧索引结果的函数
+     */
+    public static AutocompleteIndex build(List<Entry> entries, Function<String, List<String>> initials) {
+        // 词条按静态顺序（热度降序、名称长度升序）排列，查询时下标小即排名靠前
+        Entry[] all = entries.stream()
+                .sorted(STATIC_ORDER)
+                .map(e -> new Entry(e.text(), e.type(), e.popularity(), initials.apply(e.text())))
+                .toArray(Entry[]::new);
+
+        int suffixCount = 0;
+        int initialCount = 0;
+        for (Entry e : all) {
+            suffixCount += e.text().length();
+            initialCount += e.initials().size();
+        }
+
+        long[] suffixes = new long[suffixCount];
+        int n = 0;
+        for (int i = 0; i < all.length; i++) {
+            for (int offset = 0; offset < all[i].text().length(); offset++) {
+                suffixes[n++] = ((long) i << 32) | offset;
+            }
+        }
+        Comparator<Long> bySuffix = (a, b) -> compareSuffixes(all, a, b);
+        Long[] sorted = Arrays.stream(suffixes).boxed().sorted(bySuffix).toArray(Long[]::new);
+        int[] suffixEntries = new int[suffixCount];
+        int[] suffixOffsets = new int[suffixCount];
+        for (int i = 0; i < suffixCount; i++) {
+            suffixEntries[i] = (int) (sorted[i] >>> 32);
+            suffixOffsets[i] = (int) (long) sorted[i];
+        }
+
+        List<Map.Entry<String, Integer>> keys = new ArrayList<>(initialCount);
+        for (int i = 0; i < all.length; i++) {
+            for (String key : all[i].initials()) {
+                keys.add(Map.entry(key, i));
+            }
+        }
+        keys.sort(Map.Entry.comparingByKey());
+        String[] initialKeys = new String[keys.size()];
+        int[] initialEntries = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            initialKeys[i] = keys.get(i).getKey();
+            initialEntries[i] = keys.get(i).getValue();
+        }
+        return new AutocompleteIndex(all, suffixEntries, suffixOffsets, initialKeys, initialEntries);
+    }
+
+    private static int compareSuffixes(Entry[] all, long a, long b) {
+        String sa = all[(int) (a >>> 32)].text();
+        String sb = all[(int) (b >>> 32)].text();
+        int ia = (int) a;
+        int ib = (int) b;
+        while (ia < sa.length() && ib < sb.length()) {
+            int c = Character.compare(Character.toLowerCase(sa.charAt(ia++)), Character.toLowerCase(sb.charAt(ib++)));
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(sa.length() - ia, sb.length() - ib);
+    }
+
+    /**
+     * 联想查询
+     *
+     * @param query 用户输入，可以是名称片段或拼音首字母
+     * @param type  限定实体类型，null表示不限
+     * @param limit 返回数量
+     */
+    public List<Entry> suggest(String query, MedicalEntityType type, int limit) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // 每个词条取最好的命中类型，只记录被命中的词条，不遍历整个索引
+        byte[] best = new byte[entries.length];
+        Arrays.fill(best, (byte) NO_MATCH);
+        int[] touched = new int[entries.length];
+        int touchedCount = 0;
+        int from = lowerBound(q, false);
+        int to = lowerBound(q, true);
+        for (int i = from; i < to; i++) {
+            int entry = suffixEntries[i];
+            int match = suffixOffsets[i] == 0 ? MATCH_PREFIX : MATCH_INFIX;
+            if (best[entry] == NO_MATCH) {
+                touched[touchedCount++] = entry;
+            }
+            best[entry] = (byte) Math.min(best[entry], match);
+        }
+        if (isInitialsQuery(q)) {
+            int start = initialsLowerBound(q, false);
+            int end = initialsLowerBound(q, true);
+            for (int i = start; i < end; i++) {
+                int entry = initialEntries[i];
+                if (best[entry] == NO_MATCH) {
+                    touched[touchedCount++] = entry;
+                }
+                best[entry] = (byte) Math.min(best[entry], MATCH_INITIALS);
+            }
+        }
+
+        // 排序键 = 命中类型 * 词条数 + 词条下标，越小越靠前；插入排序维护前limit个
+        long[] top = new long[limit];
+        int size = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int entry = touched[i];
+            if (type != null && entries[entry].type() != type) {
+                continue;
+            }
+            long key = (long) best[entry] * entries.length + entry;
+            if (size == limit && key >= top[size - 1]) {
+                continue;
+            }
+            int pos = size < limit ? size++ : size - 1;
+            while (pos > 0 && top[pos - 1] > key) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = key;
+        }
+        List<Entry> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(entries[(int) (top[i] % entries.length)]);
+        }
+        return result;
+    }
+
+    /**
+     * 所有词条的拼音首字母，重建索引时复用，避免重复做拼音转换
+     */
+    public Map<String, List<String>> initialsByText() {
+        Map<String, List<String>> result = new HashMap<>(entries.length * 2);
+        for (Entry e : entries) {
+            result.put(e.text(), e.initials());
+        }
+        return result;
+    }
+
+    /**
+     * 名称的拼音首字母，如 高血压 -> gxy
+     */
+    public static List<String> pinyinInitials(String text, int maxVariants) {
+        return PinyinInitials.of(text, maxVariants);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    private static boolean isInitialsQuery(String q) {
+        return q.chars().allMatch(c -> (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'));
+    }
+
+    /**
+     * 后缀数组中第一个截断到q长度后 >= q（strict时 > q）的位置
+     */
+    private int lowerBound(String q, boolean strict) {
+        int lo = 0;
+        int hi = suffixEntries.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = compareTruncated(entries[suffixEntries[mid]].text(), suffixOffsets[mid], q);
+            if (c < 0 || (strict && c == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int initialsLowerBound(String q, boolean strict) {
+        int lo = 0;
+        int hi = initialKeys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = compareTruncated(initialKeys[mid], 0, q);
+            if (c < 0 || (strict && c == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int compareTruncated(String text, int offset, String q) {
+        int len = Math.min(text.length() - offset, q.length());
+        for (int i = 0; i < len; i++) {
+            int c = Character.compare(Character.toLowerCase(text.charAt(offset + i)), q.charAt(i));
+            if (c != 0) {
+                return c;
+            }
+        }
+        return len == q.length() ? 0 : -1;
+    }
+}
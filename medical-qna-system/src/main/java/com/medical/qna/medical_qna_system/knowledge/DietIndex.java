@@ -0,0 +1,266 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 疾病饮食宜忌的只读内存索引
+ * 食物映射为连续整数ID，每种疾病的宜吃（GOOD_FOR）和忌吃（BAD_FOR）食物各存为一个long[]位图，
+ * 多种疾病 × 多种食物的检查变成按字（64种食物）做或、与运算，不需要逐对查询图谱。
+ * 位图去掉末尾的全零字，没有饮食关系的疾病不占空间
+ */
+public final class DietIndex {
+
+    private static final long[] NO_FOODS = new long[0];
+
+    public static final DietIndex EMPTY = new Builder().build();
+
+    /**
+     * 与所患疾病冲突的食物
+     *
+     * @param food    食物
+     * @param badFor  忌吃该食物的疾病
+     * @param goodFor 宜吃该食物的疾病（同时有冲突时仍以忌口为准）
+     */
+    public record Conflict(String food, List<String> badFor, List<String> goodFor) {
+    }
+
+    /**
+     * 推荐食物
+     *
+     * @param food    食物
+     * @param goodFor 宜吃该食物的疾病
+     */
+    public record Recommendation(String food, List<String> goodFor) {
+    }
+
+    /**
+     * 检查结果
+     *
+     * @param conflicts       查询食物中至少一种疾病忌吃的
+     * @param suitable        查询食物中至少一种疾病宜吃、且没有疾病忌吃的
+     * @param unrated         查询食物中图谱里没有宜忌关系的
+     * @param recommendations 查询食物之外、至少一种疾病宜吃且没有疾病忌吃的食物，宜吃的疾病多的靠前
+     * @param unknownDiseases 图谱中不存在的疾病
+     * @param unknownFoods    图谱中不存在的食物
+     */
+    public record Result(List<Conflict> conflicts, List<String> suitable, List<String> unrated,
+                         List<Recommendation> recommendations,
+                         List<String> unknownDiseases, List<String> unknownFoods) {
+    }
+
+    private final String[] foodNames;
+    private final Map<String, Integer> foodIds;
+    private final String[] diseaseNames;
+    private final Map<String, Integer> diseaseIds;
+    private final long[][] goodFoods;
+    private final long[][] badFoods;
+
+    private DietIndex(String[] foodNames, Map<String, Integer> foodIds, String[] diseaseNames,
+                      Map<String, Integer> diseaseIds, long[][] goodFoods, long[][] badFoods) {
+        this.foodNames = foodNames;
+        this.foodIds = foodIds;
+        this.diseaseNames = diseaseNames;
+        this.diseaseIds = diseaseIds;
+        this.goodFoods = goodFoods;
+        this.badFoods = badFoods;
+    }
+
+    /**
+     * 检查食物与疾病的宜忌关系
+     *
+     * @param diseases            所患疾病
+     * @param foods               要检查的食物，可以为空（只返回推荐）
+     * @param recommendationLimit 推荐食物数量
+     */
+    public Result check(Collection<String> diseases, Collection<String> foods, int recommendationLimit) {
+        List<Integer> diseaseList = new ArrayList<>();
+        List<String> unknownDiseases = new ArrayList<>();
+        for (String name : new LinkedHashSet<>(diseases)) {
+            Integer id = diseaseIds.get(name);
+            if (id == null) {
+                unknownDiseases.add(name);
+            } else {
+                diseaseList.add(id);
+            }
+        }
+
+        int words = wordCount(foodNames.length);
+        long[] query = new long[words];
+        List<String> unknownFoods = new ArrayList<>();
+        for (String name : new LinkedHashSet<>(foods)) {
+            Integer id = foodIds.get(name);
+            if (id == null) {
+                unknownFoods.add(name);
+            } else {
+                query[id >>> 6] |= 1L << id;
+            }
+        }
+
+        // 所有疾病宜吃/忌吃食物的并集
+        long[] anyGood = new long[words];
+        long[] anyBad = new long[words];
+        for (int d : diseaseList) {
+            or(anyGood, goodFoods[d]);
+            or(anyBad, badFoods[d]);
+        }
+
+        List<Conflict> conflicts = new ArrayList<>();
+        List<String> suitable = new ArrayList<>();
+        List<String> unrated = new ArrayList<>();
+        List<Recommendation> recommendations = new ArrayList<>();
+        int[] goodCounts = new int[recommendationLimit > 0 ? foodNames.length : 0];
+        for (int w = 0; w < words; w++) {
+            long conflictBits = query[w] & anyBad[w];
+            long suitableBits = query[w] & anyGood[w] & ~anyBad[w];
+            long unratedBits = query[w] & ~anyGood[w] & ~anyBad[w];
+            for (long bits = conflictBits; bits != 0; bits &= bits - 1) {
+                int f = (w << 6) + Long.numberOfTrailingZeros(bits);
+                conflicts.add(new Conflict(foodNames[f], diseasesWith(badFoods, diseaseList, f),
+                        diseasesWith(goodFoods, diseaseList, f)));
+            }
+            for (long bits = suitableBits; bits != 0; bits &= bits - 1) {
+                suitable.add(foodNames[(w << 6) + Long.numberOfTrailingZeros(bits)]);
+            }
+            for (long bits = unratedBits; bits != 0; bits &= bits - 1) {
+                unrated.add(foodNames[(w << 6) + Long.numberOfTrailingZeros(bits)]);
+            }
+            if (recommendationLimit > 0) {
+                long candidateBits = anyGood[w] & ~anyBad[w] & ~query[w];
+                for (long bits = candidateBits; bits != 0; bits &= bits - 1) {
+                    int f = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    goodCounts[f] = diseasesWith(goodFoods, diseaseList, f).size();
+                }
+            }
+        }
+
+        if (recommendationLimit > 0) {
+            recommendations = topRecommendations(goodCounts, diseaseList, recommendationLimit);
+        }
+        return new Result(conflicts, suitable, unrated, recommendations, unknownDiseases, unknownFoods);
+    }
+
+    private List<Recommendation> topRecommendations(int[] goodCounts, List<Integer> diseaseList, int limit) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int f = 0; f < goodCounts.length; f++) {
+            if (goodCounts[f] > 0) {
+                candidates.add(f);
+            }
+        }
+        candidates.sort((a, b) -> {
+            int c = Integer.compare(goodCounts[b], goodCounts[a]);
+            return c != 0 ? c : foodNames[a].compareTo(foodNames[b]);
+        });
+        List<Recommendation> result = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (int f : candidates.subList(0, Math.min(limit, candidates.size()))) {
+            result.add(new Recommendation(foodNames[f], diseasesWith(goodFoods, diseaseList, f)));
+        }
+        return result;
+    }
+
+    private List<String> diseasesWith(long[][] bitsets, List<Integer> diseaseList, int food) {
+        List<String> result = new ArrayList<>(1);
+        for (int d : diseaseList) {
+            if (contains(bitsets[d], food)) {
+                result.add(diseaseNames[d]);
+            }
+        }
+        return result;
+    }
+
+    private static boolean contains(long[] bitset, int bit) {
+        int w = bit >>> 6;
+        return w < bitset.length && (bitset[w] & (1L << bit)) != 0;
+    }
+
+    private static void or(long[] target, long[] bitset) {
+        for (int w = 0; w < bitset.length; w++) {
+            target[w] |= bitset[w];
+        }
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    public int diseaseCount() {
+        return diseaseNames.length;
+    }
+
+    public int foodCount() {
+        return foodNames.length;
+    }
+
+    /**
+     * 估算位图占用的堆内存（不含名称）
+     */
+    public long estimateBitsetBytes() {
+        long bytes = 0;
+        for (int d = 0; d < diseaseNames.length; d++) {
+            bytes += 16L + 8L * goodFoods[d].length + 16L + 8L * badFoods[d].length;
+        }
+        return bytes;
+    }
+
+    /**
+     * 逐个疾病添加宜吃/忌吃食物后一次性构建索引，重复添加的疾病被忽略
+     */
+    public static final class Builder {
+
+        private final List<String> diseaseNames = new ArrayList<>();
+        private final Map<String, Integer> diseaseIds = new HashMap<>();
+        private final List<String> foodNames = new ArrayList<>();
+        private final Map<String, Integer> foodIds = new HashMap<>();
+        private final List<int[]> good = new ArrayList<>();
+        private final List<int[]> bad = new ArrayList<>();
+
+        public Builder add(String disease, Collection<String> goodFoods, Collection<String> badFoods) {
+            if (disease == null || diseaseIds.containsKey(disease)) {
+                return this;
+            }
+            diseaseIds.put(disease, diseaseNames.size());
+            diseaseNames.add(disease);
+            good.add(intern(goodFoods));
+            bad.add(intern(badFoods));
+            return this;
+        }
+
+        private int[] intern(Collection<String> foods) {
+            return foods.stream()
+                    .filter(f -> f != null && !f.isBlank())
+                    .mapToInt(f -> foodIds.computeIfAbsent(f, n -> {
+                        foodNames.add(n);
+                        return foodNames.size() - 1;
+                    }))
+                    .toArray();
+        }
+
+        public DietIndex build() {
+            long[][] goodFoods = new long[diseaseNames.size()][];
+            long[][] badFoods = new long[diseaseNames.size()][];
+            for (int d = 0; d < diseaseNames.size(); d++) {
+                goodFoods[d] = toBitset(good.get(d));
+                badFoods[d] = toBitset(bad.get(d));
+            }
+            return new DietIndex(foodNames.toArray(String[]::new), foodIds,
+                    diseaseNames.toArray(String[]::new), diseaseIds, goodFoods, badFoods);
+        }
+
+        private static long[] toBitset(int[] foods) {
+            if (foods.length == 0) {
+                return NO_FOODS;
+            }
+            int max = Arrays.stream(foods).max().getAsInt();
+            long[] bitset = new long[(max >>> 6) + 1];
+            for (int f : foods) {
+                bitset[f >>> 6] |= 1L << f;
+            }
+            return bitset;
+        }
+    }
+}
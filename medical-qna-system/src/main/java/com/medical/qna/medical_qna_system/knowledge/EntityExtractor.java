@@ -0,0 +1,87 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 医学实体识别：用知识图谱中所有实体名称构建的Aho-Corasick自动机标注文本
+ * 同一名称可能同时是多种实体（如某疾病也是另一疾病的并发症），types包含全部类型
+ */
+public final class EntityExtractor {
+
+    public static final EntityExtractor EMPTY = build(List.of());
+
+    /**
+     * 文本中识别出的实体
+     *
+     * @param text  实体名称（知识图谱中的写法）
+     * @param start 起始位置（含）
+     * @param end   结束位置（不含）
+     * @param types 实体类型
+     */
+    public record Mention(String text, int start, int end, Set<MedicalEntityType> types) {
+
+        public boolean is(MedicalEntityType type) {
+            return types.contains(type);
+        }
+    }
+
+    /**
+     * 实体名称及类型
+     */
+    public record Term(String name, MedicalEntityType type) {
+    }
+
+    private final AhoCorasickAutomaton automaton;
+    private final String[] names;
+    private final Set<MedicalEntityType>[] types;
+
+    private EntityExtractor(AhoCorasickAutomaton automaton, String[] names, Set<MedicalEntityType>[] types) {
+        this.automaton = automaton;
+        this.names = names;
+        this.types = types;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static EntityExtractor build(Collection<Term> terms) {
+        Map<String, Set<MedicalEntityType>> byName = new LinkedHashMap<>();
+        for (Term term : terms) {
+            if (term.name() == null || term.name().isBlank()) {
+                continue;
+            }
+            byName.computeIfAbsent(term.name().trim(), n -> EnumSet.noneOf(MedicalEntityType.class)).add(term.type());
+        }
+        String[] names = byName.keySet().toArray(String[]::new);
+        Set<MedicalEntityType>[] types = byName.values().stream()
+                .map(Collections::unmodifiableSet)
+                .toArray(Set[]::new);
+        return new EntityExtractor(AhoCorasickAutomaton.build(List.of(names)), names, types);
+    }
+
+    /**
+     * 一次线性扫描标注文本中的实体，重叠时保留最长的
+     */
+    public List<Mention> extract(String text) {
+        List<Mention> mentions = new ArrayList<>();
+        for (AhoCorasickAutomaton.Match m : automaton.findLongest(text)) {
+            mentions.add(new Mention(names[m.pattern()], m.start(), m.end(), types[m.pattern()]));
+        }
+        return mentions;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public int stateCount() {
+        return automaton.stateCount();
+    }
+}
@@ -0,0 +1,54 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * 知识图谱导入的断点
+ * 记录当前阶段已提交的记录数（此前的记录都已写入），写临时文件后原子替换，进程在任何时刻崩溃都不会留下半个文件。
+ * 写入都是MERGE，断点之后已提交的部分重新执行不会产生重复数据
+ *
+ * @param fingerprint 输入文件指纹（路径、大小、修改时间），文件变化后断点作废
+ * @param phase       当前阶段
+ * @param committed   当前阶段已提交的记录数
+ */
+public record GraphImportCheckpoint(String fingerprint, Phase phase, long committed) {
+
+    public enum Phase {
+        NODES, RELATIONSHIPS
+    }
+
+    public static String fingerprint(List<Path> files) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Path file : files) {
+            sb.append(file.toAbsolutePath().normalize())
+                    .append('|').append(Files.size(file))
+                    .append('|').append(Files.getLastModifiedTime(file).toMillis())
+                    .append(';');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 读取断点，不存在或属于其他输入时返回null
+     */
+    public static GraphImportCheckpoint load(Path path, String fingerprint, ObjectMapper objectMapper) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        GraphImportCheckpoint checkpoint = objectMapper.readValue(path.toFile(), GraphImportCheckpoint.class);
+        return fingerprint.equals(checkpoint.fingerprint()) ? checkpoint : null;
+    }
+
+    public void save(Path path, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(tmp, objectMapper.writeValueAsBytes(this));
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,258 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 知识图谱导入文件的流式读取，按顺序依次读取多个文件，内存占用与文件大小无关
+ * JSON Lines（.jsonl/.json）每行一条记录：
+ *   节点 {"label":"Disease","name":"感冒","properties":{"desc":"..."}}
+ *   关系 {"type":"HAS_SYMPTOM","from":"感冒","to":"发热"}
+ * CSV（.csv）首行为表头，字段可用双引号包裹（可含逗号、换行，两个双引号表示一个双引号）：
+ *   节点文件 label,name[,属性列...]，空值不写入，true/false转为布尔值
+ *   关系文件 type,from,to
+ * 标签或关系类型未知、名称为空的记录被跳过并计数。属性中的name被忽略，节点名称只来自name字段
+ */
+@Slf4j
+public final class GraphImportReader implements Closeable {
+
+    private static final int MAX_WARNINGS = 20;
+
+    public sealed interface Row permits NodeRow, RelationshipRow {
+    }
+
+    public record NodeRow(String label, String name, Map<String, Object> properties) implements Row {
+    }
+
+    public record RelationshipRow(GraphRelationType type, String from, String to) implements Row {
+    }
+
+    private final Iterator<Path> files;
+    private final ObjectMapper objectMapper;
+    private final boolean logSkipped;
+
+    private Path file;
+    private BufferedReader reader;
+    private boolean csv;
+    private List<String> header;
+    private long line;
+    private long skipped;
+
+    /**
+     * @param logSkipped 是否记录被跳过的记录（同一输入读取多遍时只在第一遍记录）
+     */
+    public GraphImportReader(List<Path> files, ObjectMapper objectMapper, boolean logSkipped) {
+        this.files = files.iterator();
+        this.objectMapper = objectMapper;
+        this.logSkipped = logSkipped;
+    }
+
+    /**
+     * 下一条有效记录，全部读完返回null
+     */
+    public Row next() throws IOException {
+        while (true) {
+            if (reader == null && !openNext()) {
+                return null;
+            }
+            Row row = csv ? nextCsv() : nextJson();
+            if (row != null) {
+                return row;
+            }
+        }
+    }
+
+    /**
+     * 被跳过的无效记录数
+     */
+    public long skipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+
+    private boolean openNext() throws IOException {
+        if (!files.hasNext()) {
+            return false;
+        }
+        file = files.next();
+        reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        csv = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+        line = 0;
+        header = null;
+        if (csv) {
+            List<String> columns = readCsvRecord();
+            // 去掉Excel导出时带的BOM
+            header = columns == null ? List.of() : columns.stream()
+                    .map(c -> c.replace("\uFEFF", "").trim())
+                    .toList();
+        }
+        return true;
+    }
+
+    /**
+     * 读到当前文件末尾时关闭文件并返回null，无效记录也返回null但不关闭文件
+     */
+    private Row nextJson() throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            close();
+            return null;
+        }
+        line++;
+        if (text.isBlank()) {
+            return null;
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            return skip("无法解析的JSON");
+        }
+        if (node.hasNonNull("type")) {
+            return relationship(node.path("type").asText(), node.path("from").asText(null), node.path("to").asText(null));
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        node.path("properties").fields().forEachRemaining(e -> {
+            Object value = objectMapper.convertValue(e.getValue(), Object.class);
+            // Neo4j属性只能是基本类型或其列表
+            if (value != null && !(value instanceof Map)) {
+                properties.put(e.getKey(), value);
+            }
+        });
+        return node(node.path("label").asText(null), node.path("name").asText(null), properties);
+    }
+
+    private Row nextCsv() throws IOException {
+        List<String> values = readCsvRecord();
+        if (values == null) {
+            close();
+            return null;
+        }
+        if (values.size() == 1 && values.get(0).isBlank()) {
+            return null;
+        }
+        if (header.size() >= 3 && header.get(0).equals("type")) {
+            return relationship(value(values, 0), value(values, 1), value(values, 2));
+        }
+        if (header.size() < 2 || !header.get(0).equals("label") || !header.get(1).equals("name")) {
+            return skip("CSV表头应为 label,name[,属性...] 或 type,from,to");
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 2; i < header.size(); i++) {
+            String value = value(values, i);
+            if (value != null && !value.isEmpty()) {
+                properties.put(header.get(i), "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)
+                        ? Boolean.valueOf(value) : value);
+            }
+        }
+        return node(value(values, 0), value(values, 1), properties);
+    }
+
+    private Row node(String label, String name, Map<String, Object> properties) {
+        if (label == null || !Neo4jSchemaManager.UNIQUE_NAME_LABELS.contains(label)) {
+            return skip("未知的节点标签 " + label);
+        }
+        if (name == null || name.isBlank()) {
+            return skip("节点名称为空");
+        }
+        // 写入时 SET n += props，属性里的name会改掉合并用的节点名称
+        properties.remove("name");
+        return new NodeRow(label, name.trim(), properties);
+    }
+
+    private Row relationship(String type, String from, String to) {
+        GraphRelationType relationType;
+        try {
+            relationType = GraphRelationType.valueOf(type);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return skip("未知的关系类型 " + type);
+        }
+        if (from == null || from.isBlank() || to == null || to.isBlank()) {
+            return skip("关系端点名称为空");
+        }
+        return new RelationshipRow(relationType, from.trim(), to.trim());
+    }
+
+    private Row skip(String reason) {
+        if (++skipped <= MAX_WARNINGS && logSkipped) {
+            log.warn("跳过无效的导入记录 {}:{}: {}", file.getFileName(), line, reason);
+        }
+        return null;
+    }
+
+    private static String value(List<String> values, int index) {
+        return index < values.size() ? values.get(index).trim() : null;
+    }
+
+    /**
+     * 读取一条CSV记录（引号内的换行属于字段内容），文件结束返回null
+     */
+    private List<String> readCsvRecord() throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        line++;
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    break;
+                }
+                String more = reader.readLine();
+                if (more == null) {
+                    break;
+                }
+                line++;
+                field.append('\n');
+                text = more;
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        values.add(field.toString());
+        return values;
+    }
+}
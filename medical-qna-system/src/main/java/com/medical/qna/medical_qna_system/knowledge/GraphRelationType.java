@@ -0,0 +1,25 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+/**
+ * 知识图谱中的关系类型及其两端节点的标签，与entity.neo4j中的映射一致
+ */
+public enum GraphRelationType {
+    HAS_SYMPTOM("Disease", "Symptom"),
+    HAS_COMPLICATION("Disease", "Complication"),
+    TREATED_BY("Disease", "Treatment"),
+    GOOD_FOR("Disease", "Food"),
+    BAD_FOR("Disease", "Food"),
+    BELONGS_TO("Disease", "Department"),
+    BELONGS_TO_CATEGORY("Department", "DepartmentCategory");
+
+    private final String fromLabel;
+    private final String toLabel;
+
+    GraphRelationType(String fromLabel, String toLabel) {
+        this.fromLabel = fromLabel;
+        this.toLabel = toLabel;
+    }
+
+    public String getFromLabel() { return fromLabel; }
+    public String getToLabel() { return toLabel; }
+}
@@ -0,0 +1,10 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+/**
+ * 知识图谱内容发生变化（或需要重新加载）时发布的事件
+ * 内存中的图谱快照、索引等监听此事件在后台重建
+ *
+ * @param reason 触发原因：startup / poll / manual / import
+ */
+public record KnowledgeGraphChangedEvent(String reason) {
+}
@@ -0,0 +1,94 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import com.medical.qna.medical_qna_system.repository.neo4j.KnowledgeGraphExportRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 知识图谱变化检测
+ * 启动完成后发布一次加载事件，之后定期比较图谱指纹（节点数/关系数），变化时发布 {@link KnowledgeGraphChangedEvent}
+ * 指纹发现不了数量不变的修改（改属性、交换关系端点），因此距上次加载超过全量重载间隔时也会重新加载
+ * 所有监听器都在单独的后台线程上执行，不占用请求线程，同一时刻只有一次重建
+ */
+@Component
+@Slf4j
+public class KnowledgeGraphWatcher {
+
+    private final KnowledgeGraphExportRepository exportRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long pollIntervalMs;
+    private final long fullReloadIntervalNanos;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "kg-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile String fingerprint;
+    private volatile long lastReloadNanos;
+
+    public KnowledgeGraphWatcher(KnowledgeGraphExportRepository exportRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${knowledge.refresh.poll-interval-ms:60000}") long pollIntervalMs,
+                                 @Value("${knowledge.refresh.full-reload-interval-ms:3600000}") long fullReloadIntervalMs) {
+        this.exportRepository = exportRepository;
+        this.eventPublisher = eventPublisher;
+        this.pollIntervalMs = pollIntervalMs;
+        this.fullReloadIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fullReloadIntervalMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(() -> reload("startup"));
+        if (pollIntervalMs > 0) {
+            executor.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 立即在后台重新加载（管理接口、导入任务完成后调用）
+     */
+    public void requestRefresh(String reason) {
+        executor.execute(() -> reload(reason));
+    }
+
+    private void poll() {
+        try {
+            String current = exportRepository.fingerprint();
+            if (!current.equals(fingerprint)) {
+                log.info("知识图谱指纹变化: {} -> {}", fingerprint, current);
+                reload("poll");
+            } else if (fullReloadIntervalNanos > 0 && System.nanoTime() - lastReloadNanos >= fullReloadIntervalNanos) {
+                reload("periodic");
+            }
+        } catch (Exception e) {
+            log.warn("检查知识图谱变化失败: {}", e.getMessage());
+        }
+    }
+
+    private void reload(String reason) {
+        try {
+            // 先记录指纹再加载，加载期间的新变化会在下一次轮询时被发现
+            fingerprint = exportRepository.fingerprint();
+            lastReloadNanos = System.nanoTime();
+            eventPublisher.publishEvent(new KnowledgeGraphChangedEvent(reason));
+        } catch (Exception e) {
+            fingerprint = null;
+            log.error("重新加载知识图谱失败, reason={}", reason, e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,149 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.medical.qna.medical_qna_system.common.constant.KnowledgeGraphSchema.DISEASE_FULLTEXT_INDEX;
+
+/**
+ * 知识图谱Schema初始化（需要Neo4j 4.4及以上）
+ * 启动时为每种节点的name属性创建唯一约束（同时提供按name查找的索引），
+ * 为疾病的名称和描述创建CJK分词的全文索引，语句都带 IF NOT EXISTS，可重复执行。
+ * 创建后检查约束和索引是否齐全、全文索引是否已上线，在加载内存图谱快照之前完成
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class Neo4jSchemaManager implements ApplicationRunner {
+
+    static final List<String> UNIQUE_NAME_LABELS = List.of(
+            "Disease", "Symptom", "Treatment", "Food", "Complication", "Department", "DepartmentCategory");
+
+    private static final String CREATE_FULLTEXT_INDEX =
+            "CREATE FULLTEXT INDEX " + DISEASE_FULLTEXT_INDEX + " IF NOT EXISTS " +
+            "FOR (d:Disease) ON EACH [d.name, d.desc] " +
+            "OPTIONS {indexConfig: {`fulltext.analyzer`: 'cjk'}}";
+
+    private static final String SHOW_UNIQUE_CONSTRAINTS =
+            "SHOW CONSTRAINTS YIELD type, labelsOrTypes, properties " +
+            "WHERE type IN ['UNIQUENESS', 'NODE_PROPERTY_UNIQUENESS'] " +
+            "RETURN labelsOrTypes, properties";
+
+    private static final String SHOW_FULLTEXT_INDEX =
+            "SHOW INDEXES YIELD name, type, state WHERE name = $name RETURN type, state";
+
+    private final Neo4jClient neo4jClient;
+    private final boolean enabled;
+    private final boolean failOnError;
+    private final long awaitSeconds;
+
+    public Neo4jSchemaManager(Neo4jClient neo4jClient,
+                              @Value("${knowledge.schema.enabled:true}") boolean enabled,
+                              @Value("${knowledge.schema.fail-on-error:false}") boolean failOnError,
+                              @Value("${knowledge.schema.await-seconds:60}") long awaitSeconds) {
+        this.neo4jClient = neo4jClient;
+        this.enabled = enabled;
+        this.failOnError = failOnError;
+        this.awaitSeconds = awaitSeconds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        List<String> problems = new ArrayList<>();
+        try {
+            for (String label : UNIQUE_NAME_LABELS) {
+                createUniqueNameConstraint(label, problems);
+            }
+            create(CREATE_FULLTEXT_INDEX, "全文索引 " + DISEASE_FULLTEXT_INDEX, problems);
+            neo4jClient.query("CALL db.awaitIndexes($timeout)").bind(awaitSeconds).to("timeout").run();
+            problems.addAll(verify());
+        } catch (Exception e) {
+            problems.add("无法初始化知识图谱Schema: " + e.getMessage());
+        }
+
+        if (problems.isEmpty()) {
+            log.info("知识图谱Schema检查通过: {}个唯一约束, 全文索引 {} 已上线",
+                    UNIQUE_NAME_LABELS.size(), DISEASE_FULLTEXT_INDEX);
+            return;
+        }
+        problems.forEach(p -> log.error("知识图谱Schema异常: {}", p));
+        if (failOnError) {
+            throw new IllegalStateException("知识图谱Schema检查未通过: " + problems);
+        }
+    }
+
+    private void createUniqueNameConstraint(String label, List<String> problems) {
+        String name = toSnakeCase(label) + "_name_unique";
+        String cypher = "CREATE CONSTRAINT " + name + " IF NOT EXISTS " +
+                "FOR (n:" + label + ") REQUIRE n.name IS UNIQUE";
+        create(cypher, "唯一约束 " + name, problems);
+    }
+
+    private void create(String cypher, String description, List<String> problems) {
+        try {
+            neo4jClient.query(cypher).run();
+        } catch (Exception e) {
+            // 已有重复数据时唯一约束会创建失败，需要先清理重复节点
+            problems.add(description + " 创建失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 检查约束和全文索引的实际状态，返回发现的问题
+     */
+    private List<String> verify() {
+        List<String> problems = new ArrayList<>();
+
+        Set<String> constrained = new HashSet<>();
+        Collection<Map<String, Object>> constraints = neo4jClient.query(SHOW_UNIQUE_CONSTRAINTS).fetch().all();
+        for (Map<String, Object> row : constraints) {
+            List<?> labels = (List<?>) row.get("labelsOrTypes");
+            List<?> properties = (List<?>) row.get("properties");
+            if (labels != null && labels.size() == 1 && List.of("name").equals(properties)) {
+                constrained.add(String.valueOf(labels.get(0)));
+            }
+        }
+        for (String label : UNIQUE_NAME_LABELS) {
+            if (!constrained.contains(label)) {
+                problems.add(label + ".name 缺少唯一约束");
+            }
+        }
+
+        IndexState index = neo4jClient.query(SHOW_FULLTEXT_INDEX)
+                .bind(DISEASE_FULLTEXT_INDEX).to("name")
+                .fetchAs(IndexState.class)
+                .mappedBy((typeSystem, record) -> new IndexState(
+                        record.get("type").asString(), record.get("state").asString()))
+                .one()
+                .orElse(null);
+        if (index == null) {
+            problems.add("缺少全文索引 " + DISEASE_FULLTEXT_INDEX);
+        } else if (!"FULLTEXT".equals(index.type()) || !"ONLINE".equals(index.state())) {
+            problems.add("全文索引 " + DISEASE_FULLTEXT_INDEX + " 状态异常: " + index);
+        }
+        return problems;
+    }
+
+    private record IndexState(String type, String state) {
+    }
+
+    private static String toSnakeCase(String label) {
+        return label.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
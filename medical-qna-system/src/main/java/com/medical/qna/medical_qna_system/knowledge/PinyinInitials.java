@@ -0,0 +1,75 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 拼音首字母，如 高血压 -> gxy
+ * 多音字的每个读音都会生成一个候选（数量有上限），如 血 xue/xie
+ */
+final class PinyinInitials {
+
+    private static final HanyuPinyinOutputFormat FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+    }
+
+    private PinyinInitials() {
+    }
+
+    static List<String> of(String text, int maxVariants) {
+        List<String> variants = new ArrayList<>();
+        variants.add("");
+        for (int i = 0; i < text.length(); i++) {
+            Set<Character> initials = initialsOf(text.charAt(i));
+            if (initials.isEmpty()) {
+                continue;
+            }
+            List<String> next = new ArrayList<>();
+            for (String prefix : variants) {
+                for (char c : initials) {
+                    if (next.size() < maxVariants) {
+                        next.add(prefix + c);
+                    }
+                }
+            }
+            variants = next;
+        }
+        return variants.size() == 1 && variants.get(0).isEmpty() ? List.of() : List.copyOf(variants);
+    }
+
+    private static Set<Character> initialsOf(char c) {
+        Set<Character> initials = new LinkedHashSet<>(2);
+        if (c < 128) {
+            if (Character.isLetterOrDigit(c)) {
+                initials.add(Character.toLowerCase(c));
+            }
+            return initials;
+        }
+        try {
+            String[] readings = PinyinHelper.toHanyuPinyinStringArray(c, FORMAT);
+            if (readings != null) {
+                for (String reading : readings) {
+                    if (!reading.isEmpty()) {
+                        initials.add(reading.charAt(0));
+                    }
+                }
+            }
+        } catch (BadHanyuPinyinOutputFormatCombination e) {
+            throw new IllegalStateException(e);
+        }
+        return initials;
+    }
+}
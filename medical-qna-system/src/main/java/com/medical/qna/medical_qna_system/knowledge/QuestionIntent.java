@@ -0,0 +1,48 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import java.util.regex.Pattern;
+
+/**
+ * 可以直接由知识图谱回答的问题类型
+ * 按声明顺序匹配，"不能吃什么"必须先于"能吃什么"判断
+ */
+public enum QuestionIntent {
+    BAD_FOOD("(不能|不可以|不宜|不要|忌|禁)吃|忌口|饮食禁忌", "%s患者不宜吃的食物有：%s。"),
+    GOOD_FOOD("(能|可以|宜|适合|应该)吃(什么|哪些|啥)|吃(什么|哪些|啥)(好|比较好|有好处)", "%s患者适合吃的食物有：%s。"),
+    COMPLICATION("并发症|(会|能)?(引起|导致|引发)(什么|哪些)", "%s的常见并发症有：%s。"),
+    DEPARTMENT("(挂|看|去)(什么|哪个|哪)科|科室", "%s建议就诊科室：%s。"),
+    SYMPTOM("(有)?(什么|哪些)症状|症状(是|有)(什么|哪些)|(有)?(什么|哪些)表现", "%s的常见症状有：%s。"),
+    TREATMENT("(怎么|如何|怎样)治|治疗方法|(用|吃)什么药", "%s的常用治疗方法有：%s。");
+
+    private final Pattern pattern;
+    private final String answerTemplate;
+
+    QuestionIntent(String regex, String answerTemplate) {
+        this.pattern = Pattern.compile(regex);
+        this.answerTemplate = answerTemplate;
+    }
+
+    /**
+     * 识别问题类型，匹配到多个类型时返回null（交给RAG回答）
+     */
+    public static QuestionIntent detect(String question) {
+        QuestionIntent found = null;
+        for (QuestionIntent intent : values()) {
+            if (intent.pattern.matcher(question).find()) {
+                // "不能吃"同时满足GOOD_FOOD中的"吃什么"时以BAD_FOOD为准
+                if (found == BAD_FOOD && intent == GOOD_FOOD) {
+                    continue;
+                }
+                if (found != null) {
+                    return null;
+                }
+                found = intent;
+            }
+        }
+        return found;
+    }
+
+    public String formatAnswer(String diseaseName, String items) {
+        return String.format(answerTemplate, diseaseName, items);
+    }
+}
@@ -0,0 +1,434 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * 相似疾病（症状集合相似）的预计算结果，按疾病名称O(1)查询
+ * 用MinHash签名估计症状集合的Jaccard相似度，LSH分桶找出候选对，再对候选精确计算Jaccard取前N个，
+ * 避免对所有疾病两两比较。签名只依赖症状名称，图谱重新加载后未变化疾病的签名直接复用，
+ * 只重新计算受影响疾病的近邻
+ */
+public final class RelatedDiseaseIndex {
+
+    public static final RelatedDiseaseIndex EMPTY = new RelatedDiseaseIndex(Map.of(), Map.of());
+
+    // 固定种子，保证不同次构建的签名可以比较和复用
+    private static final long HASH_SEED = 0x5EED_CAFEL;
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    /**
+     * 相似疾病
+     *
+     * @param disease        疾病名称
+     * @param similarity     症状集合的Jaccard相似度
+     * @param sharedSymptoms 共同症状数
+     */
+    public record Neighbor(String disease, float similarity, int sharedSymptoms) {
+    }
+
+    /**
+     * 计算参数
+     *
+     * @param bands         LSH分段数
+     * @param rows          每段的行数，签名长度 = bands * rows
+     * @param topN          每个疾病保留的相似疾病数
+     * @param minSimilarity 相似度下限
+     * @param maxBucketSize 超过此大小的桶（大量疾病共享的症状组合）不产生候选，防止候选数退化为平方级
+     */
+    public record Settings(int bands, int rows, int topN, float minSimilarity, int maxBucketSize) {
+
+        int signatureLength() {
+            return bands * rows;
+        }
+    }
+
+    /**
+     * 构建结果
+     *
+     * @param index      新索引
+     * @param changed    症状集合有变化（含新增）的疾病数
+     * @param recomputed 重新计算近邻的疾病数
+     */
+    public record BuildResult(RelatedDiseaseIndex index, int changed, int recomputed) {
+    }
+
+    private final Map<String, int[]> signatures;
+    private final Map<String, List<Neighbor>> neighbors;
+
+    private RelatedDiseaseIndex(Map<String, int[]> signatures, Map<String, List<Neighbor>> neighbors) {
+        this.signatures = signatures;
+        this.neighbors = neighbors;
+    }
+
+    public List<Neighbor> neighborsOf(String disease) {
+        return neighbors.getOrDefault(disease, List.of());
+    }
+
+    /**
+     * 疾病是否在构建时的图谱中（没有症状的疾病也包含在内，近邻为空）
+     */
+    public boolean contains(String disease) {
+        return neighbors.containsKey(disease);
+    }
+
+    public int size() {
+        return neighbors.size();
+    }
+
+    /**
+     * 基于上一次的结果增量构建
+     * 需要重新计算近邻的疾病：症状集合变化的疾病、旧近邻中含有变化或已删除疾病的疾病，
+     * 以及与变化或已删除疾病的新旧签名落入同一LSH桶的全部疾病。
+     * 桶成员增减可能让桶跨过大小上限，整桶的候选都会变化，所以标记时不受上限限制
+     *
+     * @param graph         新的疾病-症状图谱快照
+     * @param previousGraph 上一次构建使用的快照，首次构建传 {@link SymptomGraph#EMPTY}
+     * @param previous      上一次的结果
+     */
+    public static BuildResult build(SymptomGraph graph, SymptomGraph previousGraph, RelatedDiseaseIndex previous,
+                                    Settings settings, ForkJoinPool pool) {
+        int n = graph.diseaseCount();
+        int[][] hashSeeds = hashSeeds(settings.signatureLength());
+
+        // 1. 找出症状集合有变化的疾病，复用其余疾病的签名
+        boolean[] changed = new boolean[n];
+        int[][] sigs = new int[n][];
+        forEach(pool, n, d -> {
+            String name = graph.diseaseName(d);
+            int[] old = previous.signatures.get(name);
+            // 没有症状的疾病不保存签名，按是否在上一次的结果中判断
+            if ((old != null || previous.contains(name)) && sameSymptoms(graph, d, previousGraph)) {
+                sigs[d] = old;
+            } else {
+                changed[d] = true;
+                sigs[d] = signature(graph, d, hashSeeds);
+            }
+        });
+
+        // 2. LSH分桶：签名的每一段哈希到一个桶，同桶的疾病成为候选对
+        Buckets buckets = Buckets.build(sigs, settings);
+
+        // 3. 确定需要重新计算近邻的疾病
+        Set<String> staleNames = new HashSet<>(previous.neighbors.keySet());
+        for (int d = 0; d < n; d++) {
+            if (!changed[d]) {
+                staleNames.remove(graph.diseaseName(d));
+            }
+        }
+        // staleNames现在是已删除或有变化的疾病
+        boolean[] recompute = changed.clone();
+        for (int d = 0; d < n; d++) {
+            if (recompute[d]) {
+                continue;
+            }
+            for (Neighbor neighbor : previous.neighborsOf(graph.diseaseName(d))) {
+                if (staleNames.contains(neighbor.disease())) {
+                    recompute[d] = true;
+                    break;
+                }
+            }
+        }
+        // 变化疾病移入和移出的桶、已删除疾病移出的桶
+        List<int[]> touched = new ArrayList<>();
+        for (int d = 0; d < n; d++) {
+            if (changed[d]) {
+                if (sigs[d] != null) {
+                    touched.add(sigs[d]);
+                }
+                int[] old = previous.signatures.get(graph.diseaseName(d));
+                if (old != null) {
+                    touched.add(old);
+                }
+            }
+        }
+        previous.signatures.forEach((name, old) -> {
+            if (graph.diseaseId(name) < 0) {
+                touched.add(old);
+            }
+        });
+        for (int[] sig : touched) {
+            buckets.forEachMember(sig, c -> recompute[c] = true);
+        }
+
+        // 4. 并行计算近邻
+        @SuppressWarnings("unchecked")
+        List<Neighbor>[] results = new List[n];
+        int[] recomputed = new int[1];
+        for (int d = 0; d < n; d++) {
+            if (recompute[d]) {
+                recomputed[0]++;
+            } else {
+                results[d] = previous.neighborsOf(graph.diseaseName(d));
+            }
+        }
+        forEach(pool, n, d -> {
+            if (recompute[d]) {
+                results[d] = nearest(graph, d, sigs, buckets, settings);
+            }
+        });
+
+        Map<String, int[]> signatures = new HashMap<>(n * 2);
+        Map<String, List<Neighbor>> neighbors = new HashMap<>(n * 2);
+        int changedCount = 0;
+        for (int d = 0; d < n; d++) {
+            String name = graph.diseaseName(d);
+            if (sigs[d] != null) {
+                signatures.put(name, sigs[d]);
+            }
+            neighbors.put(name, results[d]);
+            if (changed[d]) {
+                changedCount++;
+            }
+        }
+        return new BuildResult(new RelatedDiseaseIndex(signatures, neighbors), changedCount, recomputed[0]);
+    }
+
+    private static boolean sameSymptoms(SymptomGraph graph, int d, SymptomGraph previousGraph) {
+        int old = previousGraph.diseaseId(graph.diseaseName(d));
+        if (old < 0 || previousGraph.symptomDegree(old) != graph.symptomDegree(d)) {
+            return false;
+        }
+        for (int s : graph.symptomsOf(d)) {
+            int previousSymptom = previousGraph.symptomId(graph.symptomName(s));
+            if (previousSymptom < 0 || !previousGraph.hasSymptom(old, previousSymptom)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * MinHash签名，没有症状的疾病返回null
+     * 症状以名称的哈希参与计算，与快照中的整数ID无关
+     */
+    private static int[] signature(SymptomGraph graph, int d, int[][] seeds) {
+        int[] symptoms = graph.symptomsOf(d);
+        if (symptoms.length == 0) {
+            return null;
+        }
+        int[] sig = new int[seeds.length];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (int s : symptoms) {
+            int x = graph.symptomName(s).hashCode();
+            for (int i = 0; i < seeds.length; i++) {
+                int h = mix(x * seeds[i][0] + seeds[i][1]);
+                if (h < sig[i]) {
+                    sig[i] = h;
+                }
+            }
+        }
+        return sig;
+    }
+
+    private static int[][] hashSeeds(int count) {
+        Random random = new Random(HASH_SEED);
+        int[][] seeds = new int[count][2];
+        for (int i = 0; i < count; i++) {
+            seeds[i][0] = random.nextInt() | 1;
+            seeds[i][1] = random.nextInt();
+        }
+        return seeds;
+    }
+
+    // MurmurHash3 fmix32
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static List<Neighbor> nearest(SymptomGraph graph, int d, int[][] sigs, Buckets buckets, Settings settings) {
+        if (sigs[d] == null) {
+            return List.of();
+        }
+        int[] symptoms = graph.symptomsOf(d);
+        List<Neighbor> result = new ArrayList<>();
+        for (int c : buckets.candidates(d, sigs[d])) {
+            int[] other = graph.symptomsOf(c);
+            int shared = intersectionSize(symptoms, other);
+            float similarity = (float) shared / (symptoms.length + other.length - shared);
+            if (similarity >= settings.minSimilarity()) {
+                result.add(new Neighbor(graph.diseaseName(c), similarity, shared));
+            }
+        }
+        result.sort((a, b) -> {
+            int cmp = Float.compare(b.similarity(), a.similarity());
+            if (cmp == 0) {
+                cmp = Integer.compare(b.sharedSymptoms(), a.sharedSymptoms());
+            }
+            return cmp != 0 ? cmp : a.disease().compareTo(b.disease());
+        });
+        return List.copyOf(result.subList(0, Math.min(settings.topN(), result.size())));
+    }
+
+    private static int intersectionSize(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                count++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * LSH桶：每一段把 (段哈希 << 32 | 疾病ID) 排序存放，同一个桶是一段连续区间，查找为二分
+     * 段哈希截断为32位，偶尔的冲突只会多出候选，精确计算Jaccard时会被过滤
+     */
+    private static final class Buckets {
+
+        private final long[][] bands;
+        private final int rows;
+        private final int maxBucketSize;
+
+        private Buckets(long[][] bands, int rows, int maxBucketSize) {
+            this.bands = bands;
+            this.rows = rows;
+            this.maxBucketSize = maxBucketSize;
+        }
+
+        static Buckets build(int[][] sigs, Settings settings) {
+            int count = 0;
+            for (int[] sig : sigs) {
+                if (sig != null) {
+                    count++;
+                }
+            }
+            long[][] bands = new long[settings.bands()][count];
+            for (int b = 0; b < settings.bands(); b++) {
+                int i = 0;
+                for (int d = 0; d < sigs.length; d++) {
+                    if (sigs[d] != null) {
+                        bands[b][i++] = ((long) bandHash(sigs[d], b, settings.rows()) << 32) | d;
+                    }
+                }
+                Arrays.sort(bands[b]);
+            }
+            return new Buckets(bands, settings.rows(), settings.maxBucketSize());
+        }
+
+        /**
+         * 与疾病d至少有一段签名相同的其他疾病，升序去重
+         */
+        int[] candidates(int d, int[] sig) {
+            int[] result = new int[16];
+            int size = 0;
+            for (int b = 0; b < bands.length; b++) {
+                long[] band = bands[b];
+                int hash = bandHash(sig, b, rows);
+                int from = lowerBound(band, (long) hash << 32);
+                int to = hash == Integer.MAX_VALUE ? band.length : lowerBound(band, (long) (hash + 1) << 32);
+                if (to - from > maxBucketSize) {
+                    continue;
+                }
+                for (int i = from; i < to; i++) {
+                    int c = (int) band[i];
+                    if (c != d) {
+                        if (size == result.length) {
+                            result = Arrays.copyOf(result, size * 2);
+                        }
+                        result[size++] = c;
+                    }
+                }
+            }
+            Arrays.sort(result, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || result[i] != result[unique - 1]) {
+                    result[unique++] = result[i];
+                }
+            }
+            return Arrays.copyOf(result, unique);
+        }
+
+        /**
+         * 与签名至少有一段相同的全部疾病（可能重复），不受桶大小上限限制
+         */
+        void forEachMember(int[] sig, IntConsumer action) {
+            for (int b = 0; b < bands.length; b++) {
+                long[] band = bands[b];
+                int hash = bandHash(sig, b, rows);
+                int from = lowerBound(band, (long) hash << 32);
+                int to = hash == Integer.MAX_VALUE ? band.length : lowerBound(band, (long) (hash + 1) << 32);
+                for (int i = from; i < to; i++) {
+                    action.accept((int) band[i]);
+                }
+            }
+        }
+
+        private static int bandHash(int[] sig, int band, int rows) {
+            int h = band;
+            for (int r = band * rows; r < (band + 1) * rows; r++) {
+                h = mix(h * 31 + sig[r]);
+            }
+            return h;
+        }
+
+        private static int lowerBound(long[] band, long key) {
+            int lo = 0;
+            int hi = band.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (band[mid] < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    private static void forEach(ForkJoinPool pool, int n, IntConsumer action) {
+        pool.invoke(new RangeTask(0, n, action));
+    }
+
+    /**
+     * 把下标区间二分成小块在fork/join线程池上并行执行
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        RangeTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, action), new RangeTask(mid, to, action));
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * 疾病-症状二部图的只读内存快照
+ * 名称映射为连续整数ID，邻接关系以CSR（压缩稀疏行）形式存放在int数组中，两个方向各一份：
+ * 疾病 -> 症状 用于取疾病的症状集合，症状 -> 疾病 用于按症状打分
+ * 构建后不再修改，可被多个线程无锁并发读取，重建时整体替换
+ */
+public final class SymptomGraph {
+
+    public static final SymptomGraph EMPTY = new Builder().build();
+
+    private final String[] diseaseNames;
+    private final String[] symptomNames;
+    private final Map<String, Integer> diseaseIds;
+    private final Map<String, Integer> symptomIds;
+
+    // 疾病d的症状为 diseaseSymptoms[diseaseOffsets[d] .. diseaseOffsets[d+1])，按ID升序
+    private final int[] diseaseOffsets;
+    private final int[] diseaseSymptoms;
+    // 症状s关联的疾病为 symptomDiseases[symptomOffsets[s] .. symptomOffsets[s+1])
+    private final int[] symptomOffsets;
+    private final int[] symptomDiseases;
+
+    // 症状特异性权重：只出现在少数疾病中的症状权重高
+    private final float[] idf;
+    // 每个疾病症状权重的平方和，用于余弦归一化
+    private final float[] diseaseNorms;
+
+    private SymptomGraph(String[] diseaseNames, String[] symptomNames,
+                         Map<String, Integer> diseaseIds, Map<String, Integer> symptomIds,
+                         int[] diseaseOffsets, int[] diseaseSymptoms) {
+        this.diseaseNames = diseaseNames;
+        this.symptomNames = symptomNames;
+        this.diseaseIds = diseaseIds;
+        this.symptomIds = symptomIds;
+        this.diseaseOffsets = diseaseOffsets;
+        this.diseaseSymptoms = diseaseSymptoms;
+
+        // 由疾病->症状反向构建症状->疾病（计数排序，疾病ID天然有序）
+        int symptomCount = symptomNames.length;
+        this.symptomOffsets = new int[symptomCount + 1];
+        for (int s : diseaseSymptoms) {
+            symptomOffsets[s + 1]++;
+        }
+        for (int s = 0; s < symptomCount; s++) {
+            symptomOffsets[s + 1] += symptomOffsets[s];
+        }
+        this.symptomDiseases = new int[diseaseSymptoms.length];
+        int[] cursor = Arrays.copyOf(symptomOffsets, symptomCount);
+        for (int d = 0; d < diseaseNames.length; d++) {
+            for (int i = diseaseOffsets[d]; i < diseaseOffsets[d + 1]; i++) {
+                symptomDiseases[cursor[diseaseSymptoms[i]]++] = d;
+            }
+        }
+
+        this.idf = new float[symptomCount];
+        for (int s = 0; s < symptomCount; s++) {
+            int df = symptomOffsets[s + 1] - symptomOffsets[s];
+            idf[s] = df == 0 ? 0f : (float) Math.log(1.0 + (double) diseaseNames.length / df);
+        }
+        this.diseaseNorms = new float[diseaseNames.length];
+        for (int d = 0; d < diseaseNames.length; d++) {
+            float norm = 0f;
+            for (int i = diseaseOffsets[d]; i < diseaseOffsets[d + 1]; i++) {
+                float w = idf[diseaseSymptoms[i]];
+                norm += w * w;
+            }
+            diseaseNorms[d] = norm;
+        }
+    }
+
+    /**
+     * 疾病匹配结果
+     *
+     * @param disease         疾病ID
+     * @param score           IDF加权余弦相似度，0~1
+     * @param matchedSymptoms 命中的症状数
+     */
+    public record Match(int disease, float score, int matchedSymptoms) {
+    }
+
+    /**
+     * 按症状对疾病打分排序
+     * 只访问查询症状关联的疾病，不遍历整个图谱
+     *
+     * @param symptoms 症状名称，未知症状被忽略
+     * @param limit    返回数量
+     * @return 按得分降序排列的匹配结果
+     */
+    public List<Match> rank(Collection<String> symptoms, int limit) {
+        return rank(resolveSymptoms(symptoms), limit);
+    }
+
+    /**
+     * 按已解析的症状ID打分排序
+     *
+     * @param query 去重后的症状ID，见 {@link #resolveSymptoms}
+     * @param limit 返回数量
+     * @return 按得分降序排列的匹配结果
+     */
+    public List<Match> rank(int[] query, int limit) {
+        if (query.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        float[] scores = new float[diseaseNames.length];
+        int[] matched = new int[diseaseNames.length];
+        int[] touched = new int[diseaseNames.length];
+        int touchedCount = 0;
+        float queryNorm = 0f;
+        for (int s : query) {
+            float w = idf[s] * idf[s];
+            queryNorm += w;
+            for (int i = symptomOffsets[s]; i < symptomOffsets[s + 1]; i++) {
+                int d = symptomDiseases[i];
+                if (matched[d]++ == 0) {
+                    touched[touchedCount++] = d;
+                }
+                scores[d] += w;
+            }
+        }
+        if (queryNorm == 0f) {
+            return List.of();
+        }
+
+        // 小顶堆保留得分最高的limit个，得分相同时命中症状多的优先
+        PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, SymptomGraph::compareMatches);
+        for (int i = 0; i < touchedCount; i++) {
+            int d = touched[i];
+            float score = (float) (scores[d] / Math.sqrt((double) diseaseNorms[d] * queryNorm));
+            if (top.size() == limit) {
+                Match min = top.peek();
+                if (score < min.score() || (score == min.score() && matched[d] <= min.matchedSymptoms())) {
+                    continue;
+                }
+                top.poll();
+            }
+            top.offer(new Match(d, score, matched[d]));
+        }
+        List<Match> result = new ArrayList<>(top);
+        result.sort((a, b) -> compareMatches(b, a));
+        return result;
+    }
+
+    private static int compareMatches(Match a, Match b) {
+        int c = Float.compare(a.score(), b.score());
+        return c != 0 ? c : Integer.compare(a.matchedSymptoms(), b.matchedSymptoms());
+    }
+
+    /**
+     * 查询症状中该疾病具有的症状名称，按查询顺序
+     */
+    public List<String> matchedSymptoms(int disease, int[] query) {
+        List<String> names = new ArrayList<>();
+        for (int s : query) {
+            if (hasSymptom(disease, s)) {
+                names.add(symptomNames[s]);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 症状名称转为去重后的症状ID
+     */
+    public int[] resolveSymptoms(Collection<String> symptoms) {
+        return symptoms.stream()
+                .map(symptomIds::get)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+    }
+
+    public int diseaseId(String name) {
+        Integer id = diseaseIds.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public int symptomId(String name) {
+        Integer id = symptomIds.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public String diseaseName(int disease) {
+        return diseaseNames[disease];
+    }
+
+    public String symptomName(int symptom) {
+        return symptomNames[symptom];
+    }
+
+    /**
+     * 疾病的症状ID，按升序排列
+     */
+    public int[] symptomsOf(int disease) {
+        return Arrays.copyOfRange(diseaseSymptoms, diseaseOffsets[disease], diseaseOffsets[disease + 1]);
+    }
+
+    public boolean hasSymptom(int disease, int symptom) {
+        return Arrays.binarySearch(diseaseSymptoms, diseaseOffsets[disease], diseaseOffsets[disease + 1], symptom) >= 0;
+    }
+
+    public int symptomDegree(int disease) {
+        return diseaseOffsets[disease + 1] - diseaseOffsets[disease];
+    }
+
+    /**
+     * 症状关联的疾病数
+     */
+    public int diseaseDegree(int symptom) {
+        return symptomOffsets[symptom + 1] - symptomOffsets[symptom];
+    }
+
+    public float idf(int symptom) {
+        return idf[symptom];
+    }
+
+    public int diseaseCount() {
+        return diseaseNames.length;
+    }
+
+    public int symptomCount() {
+        return symptomNames.length;
+    }
+
+    public int edgeCount() {
+        return diseaseSymptoms.length;
+    }
+
+    /**
+     * 估算快照占用的堆内存（64位JVM、压缩指针）
+     * 包括数组、名称字符串和名称到ID的HashMap，名称字符串在数组和Map之间共享只计一次
+     */
+    public long estimateFootprintBytes() {
+        long bytes = 0;
+        bytes += intArrayBytes(diseaseOffsets.length) + intArrayBytes(diseaseSymptoms.length);
+        bytes += intArrayBytes(symptomOffsets.length) + intArrayBytes(symptomDiseases.length);
+        bytes += intArrayBytes(idf.length) + intArrayBytes(diseaseNorms.length);
+        bytes += stringsBytes(diseaseNames) + stringsBytes(symptomNames);
+        bytes += hashMapBytes(diseaseIds.size()) + hashMapBytes(symptomIds.size());
+        return bytes;
+    }
+
+    private static long intArrayBytes(int length) {
+        return align(16L + 4L * length);
+    }
+
+    private static long stringsBytes(String[] strings) {
+        long bytes = align(16L + 4L * strings.length);
+        for (String s : strings) {
+            // String对象24字节 + byte[]（含中文时为UTF-16，每字符2字节）
+            boolean latin1 = s.chars().allMatch(c -> c < 256);
+            bytes += 24 + align(16L + (long) s.length() * (latin1 ? 1 : 2));
+        }
+        return bytes;
+    }
+
+    private static long hashMapBytes(int size) {
+        // 表数组 + 每个条目（Node 32字节 + Integer 16字节，小整数缓存忽略不计）
+        int capacity = Integer.highestOneBit(Math.max(1, (int) (size / 0.75f)) * 2 - 1);
+        return 48 + align(16L + 4L * capacity) + 48L * size;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * 逐个疾病添加症状集合后一次性构建快照，每个Builder只构建一次
+     */
+    public static final class Builder {
+
+        private final List<String> diseaseNames = new ArrayList<>();
+        private final Map<String, Integer> diseaseIds = new HashMap<>();
+        private final List<String> symptomNames = new ArrayList<>();
+        private final Map<String, Integer> symptomIds = new HashMap<>();
+        private final List<int[]> adjacency = new ArrayList<>();
+        private int edgeCount;
+
+        public Builder add(String disease, Collection<String> symptoms) {
+            if (disease == null || diseaseIds.containsKey(disease)) {
+                return this;
+            }
+            int[] ids = symptoms.stream()
+                    .filter(s -> s != null && !s.isBlank())
+                    .mapToInt(this::internSymptom)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            diseaseIds.put(disease, diseaseNames.size());
+            diseaseNames.add(disease);
+            adjacency.add(ids);
+            edgeCount += ids.length;
+            return this;
+        }
+
+        private int internSymptom(String name) {
+            return symptomIds.computeIfAbsent(name, n -> {
+                symptomNames.add(n);
+                return symptomNames.size() - 1;
+            });
+        }
+
+        public SymptomGraph build() {
+            int[] offsets = new int[adjacency.size() + 1];
+            int[] edges = new int[edgeCount];
+            for (int d = 0; d < adjacency.size(); d++) {
+                int[] ids = adjacency.get(d);
+                System.arraycopy(ids, 0, edges, offsets[d], ids.length);
+                offsets[d + 1] = offsets[d] + ids.length;
+            }
+            return new SymptomGraph(
+                    diseaseNames.toArray(String[]::new),
+                    symptomNames.toArray(String[]::new),
+                    diseaseIds,
+                    symptomIds,
+                    offsets, edges);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+/**
+ * 疾病-症状图谱快照替换后发布，依赖该快照的索引据此重建
+ *
+ * @param previous 替换前的快照，首次加载时为 {@link SymptomGraph#EMPTY}
+ * @param current  新快照
+ */
+public record SymptomGraphReloadedEvent(SymptomGraph previous, SymptomGraph current) {
+}
@@ -0,0 +1,24 @@
+package com.medical.qna.medical_qna_system.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按错误码统计返回给客户端的错误
+ */
+@Component
+@RequiredArgsConstructor
+public class ErrorMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(String code) {
+        Counter.builder("app.errors")
+                .description("返回给客户端的错误数，按错误码区分")
+                .tag("code", code != null ? code : "unknown")
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,50 @@
+package com.medical.qna.medical_qna_system.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 为业务服务方法和Neo4j查询记录耗时，SLO分桶在application.properties中配置
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.medical.qna.medical_qna_system.service.QuestionService+.*(..))"
+            + " || execution(public * com.medical.qna.medical_qna_system.service.AdminService+.*(..))"
+            + " || execution(public * com.medical.qna.medical_qna_system.service.KnowledgeService+.*(..))"
+            + " || execution(public * com.medical.qna.medical_qna_system.service.QuestionRouter+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("qa.service", joinPoint);
+    }
+
+    @Around("execution(* com.medical.qna.medical_qna_system.repository.neo4j..*+.*(..))")
+    public Object timeNeo4jQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("neo4j.query", joinPoint);
+    }
+
+    private Object record(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
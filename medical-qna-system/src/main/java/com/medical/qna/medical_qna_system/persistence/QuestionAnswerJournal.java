@@ -0,0 +1,280 @@
+package com.medical.qna.medical_qna_system.persistence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 问答记录的追加式日志，按段(segment)滚动
+ * 记录写入日志后才进入内存队列，进程崩溃后可从日志恢复未落库的记录；
+ * 某段内的记录全部落库后整段删除。删除尚未落库的记录时追加删除标记，恢复时跳过被标记的记录。
+ * 追加只写到操作系统缓存，需要掉电也不丢的记录由调用方通过 syncThrough 组提交刷盘
+ */
+@Slf4j
+public class QuestionAnswerJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "qa-journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String REJECTED_FILE = "qa-rejected.log";
+    private static final String TOMBSTONE_FIELD = "tombstone";
+
+    public record Entry(long id, long userId, String question, String answer, LocalDateTime createAt) {
+    }
+
+    /**
+     * 删除标记：id不为null时删除该用户的这一条记录，否则删除该用户ID不大于 throughId 的全部记录
+     */
+    public record Tombstone(Long id, long userId, long throughId) {
+
+        public boolean matches(Entry entry) {
+            return entry.userId() == userId && (id != null ? entry.id() == id : entry.id() <= throughId);
+        }
+    }
+
+    /**
+     * 记录追加后的位置：所在段号和全局追加序号
+     */
+    public record Position(long segment, long sequence) {
+    }
+
+    /**
+     * 无法落库而被转存的记录及原因
+     */
+    public record Rejected(Entry entry, String error, LocalDateTime rejectedAt) {
+    }
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final ObjectMapper objectMapper;
+
+    // 保护当前段和追加序号；用 ReentrantLock 而不是 synchronized，虚拟线程等待刷盘时不会钉住载体线程
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentSegment;
+    private FileChannel channel;
+    private long appended;
+
+    // 刷盘串行执行，synced 之前的记录都已落盘
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private volatile long synced;
+
+    public QuestionAnswerJournal(Path directory, long maxSegmentBytes, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 读取上次运行遗留的所有记录，并打开新的日志段
+     */
+    public List<Entry> recover() throws IOException {
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+            TreeMap<Long, Path> segments = listSegments();
+            List<Entry> entries = new ArrayList<>();
+            List<Tombstone> tombstones = new ArrayList<>();
+            for (Path segment : segments.values()) {
+                try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        try {
+                            JsonNode node = objectMapper.readTree(line);
+                            if (node.has(TOMBSTONE_FIELD)) {
+                                tombstones.add(objectMapper.treeToValue(node.get(TOMBSTONE_FIELD), Tombstone.class));
+                            } else {
+                                entries.add(objectMapper.treeToValue(node, Entry.class));
+                            }
+                        } catch (IOException e) {
+                            // 崩溃时可能留下写了一半的最后一行
+                            log.warn("跳过无法解析的日志记录: {} ({})", segment.getFileName(), e.getMessage());
+                        }
+                    }
+                }
+            }
+            currentSegment = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+            openSegment();
+            entries.removeIf(entry -> tombstones.stream().anyMatch(t -> t.matches(entry)));
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 追加一条记录，返回记录的位置
+     */
+    public Position append(Entry entry) {
+        return appendLine(entry);
+    }
+
+    /**
+     * 追加删除标记，返回标记的位置
+     */
+    public Position appendTombstone(Tombstone tombstone) {
+        return appendLine(Map.of(TOMBSTONE_FIELD, tombstone));
+    }
+
+    private Position appendLine(Object value) {
+        lock.lock();
+        try {
+            byte[] line = (objectMapper.writeValueAsString(value) + "\n").getBytes(StandardCharsets.UTF_8);
+            if (channel.size() > 0 && channel.size() + line.length > maxSegmentBytes) {
+                // 旧段中可能有尚未确认刷盘的记录，关闭前先刷盘
+                channel.force(false);
+                channel.close();
+                currentSegment++;
+                openSegment();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return new Position(currentSegment, ++appended);
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入问答日志失败", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 组提交：返回时序号不大于 sequence 的记录都已刷到磁盘。
+     * 并发调用的线程排队等待，一次 force 覆盖此前追加的全部记录，排在后面的线程发现已被覆盖即直接返回
+     */
+    public void syncThrough(long sequence) throws IOException {
+        if (synced >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced >= sequence) {
+                return;
+            }
+            long target;
+            lock.lock();
+            try {
+                target = appended;
+                channel.force(false);
+            } finally {
+                lock.unlock();
+            }
+            synced = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    public long getCurrentSegment() {
+        lock.lock();
+        try {
+            return currentSegment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除段号小于给定值的所有日志段
+     */
+    public void deleteSegmentsBefore(long segment) throws IOException {
+        lock.lock();
+        try {
+            for (var e : listSegments().headMap(segment).entrySet()) {
+                Files.deleteIfExists(e.getValue());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 转存无法落库的记录，追加到拒绝文件并刷盘，供人工核对后补录
+     */
+    public void reject(Entry entry, String error) throws IOException {
+        lock.lock();
+        try {
+            Rejected rejected = new Rejected(entry, error, LocalDateTime.now());
+            byte[] line = (objectMapper.writeValueAsString(rejected) + "\n").getBytes(StandardCharsets.UTF_8);
+            try (FileChannel out = FileChannel.open(directory.resolve(REJECTED_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前段的记录已全部落库时开启新段，使旧段可以被删除
+     */
+    public void rollIfNotEmpty() throws IOException {
+        lock.lock();
+        try {
+            if (channel.size() > 0) {
+                channel.close();
+                currentSegment++;
+                openSegment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(segmentPath(currentSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%012d", segment) + SEGMENT_SUFFIX);
+    }
+
+    private TreeMap<Long, Path> listSegments() throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                String number = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                segments.put(Long.parseLong(number), path);
+            }
+        }
+        return segments;
+    }
+}
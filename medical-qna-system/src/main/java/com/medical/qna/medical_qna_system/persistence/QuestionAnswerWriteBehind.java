@@ -0,0 +1,391 @@
+package com.medical.qna.medical_qna_system.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
+import com.medical.qna.medical_qna_system.common.util.SnowflakeIdGenerator;
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+import com.medical.qna.medical_qna_system.service.QuestionSearchService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 问答记录的异步批量写入（write-behind）
+ * 保存请求只写日志并进入有界队列即返回，后台线程按批次用多行INSERT落库。
+ * ID由雪花算法在应用内分配，不依赖数据库自增，因此可以批量插入，
+ * 并且崩溃恢复时按主键重复的写入不做任何修改；外键、长度等其他错误照常报出，
+ * 所在批次改为逐条写入，仍然失败的记录转存到日志目录下的拒绝文件。
+ * 删除尚未落库的记录时写入删除标记：队列中的记录直接移除，正在写入的记录写入后立即删除，
+ * 标记同时写入日志，恢复时不会重新落库。
+ * journal-fsync 开启时日志组提交刷盘后才返回；关闭时返回的记录只在操作系统缓存中，
+ * 进程崩溃不丢，但操作系统崩溃或掉电会丢失最近尚未写回磁盘的记录
+ */
+@Component
+@Slf4j
+public class QuestionAnswerWriteBehind {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO question_answers (id, question, answer, create_at, user_id) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE id = id";
+    private static final String DELETE_SQL = "DELETE FROM question_answers WHERE id = ?";
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 30_000;
+
+    private record Pending(QuestionAnswerJournal.Entry entry, long segment) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final QuestionSearchService questionSearchService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int queueCapacity;
+    private final Path journalDir;
+    private final long journalSegmentBytes;
+    private final boolean journalFsync;
+    private final SnowflakeIdGenerator idGenerator;
+
+    // 保证ID分配、日志追加和入队的顺序一致
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // 最近分配的ID，由appendLock保护
+    private long lastId;
+    // 删除标记在写入前过滤批次、写入后复查，批次推进到标记覆盖的ID之后清除
+    private final List<QuestionAnswerJournal.Tombstone> tombstones = new CopyOnWriteArrayList<>();
+    private volatile List<QuestionAnswerJournal.Entry> inFlight = List.of();
+    private BlockingQueue<Pending> queue;
+    private QuestionAnswerJournal journal;
+    private Thread flusher;
+    private volatile boolean running;
+
+    public QuestionAnswerWriteBehind(JdbcTemplate jdbcTemplate,
+                                     ObjectMapper objectMapper,
+                                     QuestionSearchService questionSearchService,
+                                     @Value("${qa.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${qa.write-behind.batch-size:500}") int batchSize,
+                                     @Value("${qa.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                     @Value("${qa.write-behind.queue-capacity:100000}") int queueCapacity,
+                                     @Value("${qa.write-behind.journal-dir:data/qa-journal}") String journalDir,
+                                     @Value("${qa.write-behind.journal-segment-bytes:67108864}") long journalSegmentBytes,
+                                     @Value("${qa.write-behind.journal-fsync:true}") boolean journalFsync,
+                                     @Value("${qa.write-behind.node-id:0}") long nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.questionSearchService = questionSearchService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = Duration.ofMillis(flushIntervalMs).toNanos();
+        this.queueCapacity = queueCapacity;
+        this.journalDir = Path.of(journalDir);
+        this.journalSegmentBytes = journalSegmentBytes;
+        this.journalFsync = journalFsync;
+        this.idGenerator = new SnowflakeIdGenerator(nodeId);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new QuestionAnswerJournal(journalDir, journalSegmentBytes, objectMapper);
+        List<QuestionAnswerJournal.Entry> recovered = journal.recover();
+        if (!recovered.isEmpty()) {
+            log.info("从问答日志恢复 {} 条未确认落库的记录", recovered.size());
+            for (int i = 0; i < recovered.size(); i += batchSize) {
+                writeAndIndex(new ArrayList<>(recovered.subList(i, Math.min(i + batchSize, recovered.size()))));
+            }
+        }
+        journal.deleteSegmentsBefore(journal.getCurrentSegment());
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = Thread.ofPlatform().name("qa-write-behind").daemon(true).start(this::runFlusher);
+        log.info("问答记录异步批量写入已开启: batchSize={}, flushInterval={}ms, journal={}",
+                batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos), journalDir.toAbsolutePath());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 记录写入日志并入队，返回分配的记录ID
+     */
+    public long enqueue(Long userId, String question, String answer) {
+        QuestionAnswerJournal.Entry entry;
+        QuestionAnswerJournal.Position position;
+        appendLock.lock();
+        try {
+            // 只有后台线程会出队，这里检查后容量不会变小
+            if (!running || queue.remainingCapacity() == 0) {
+                throw new BusinessException(ErrorCode.SYSTEM_ERROR.getCode(), "问答记录写入繁忙，请稍后重试");
+            }
+            lastId = idGenerator.nextId();
+            entry = new QuestionAnswerJournal.Entry(lastId, userId, question, answer, LocalDateTime.now());
+            position = journal.append(entry);
+            queue.add(new Pending(entry, position.segment()));
+        } finally {
+            appendLock.unlock();
+        }
+        if (journalFsync) {
+            // 在锁外等待刷盘，并发的保存请求共用一次 force
+            try {
+                journal.syncThrough(position.sequence());
+            } catch (IOException e) {
+                throw new UncheckedIOException("问答日志刷盘失败", e);
+            }
+        }
+        return entry.id();
+    }
+
+    /**
+     * 删除一条尚未落库的记录，返回记录是否还在队列中或正在写入
+     */
+    public boolean discard(long id, long userId) {
+        return addTombstone(id, userId);
+    }
+
+    /**
+     * 删除某个用户全部尚未落库的记录
+     */
+    public void discardUser(long userId) {
+        addTombstone(null, userId);
+    }
+
+    private boolean addTombstone(Long id, long userId) {
+        QuestionAnswerJournal.Tombstone tombstone;
+        QuestionAnswerJournal.Position position;
+        boolean pending;
+        appendLock.lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            tombstone = new QuestionAnswerJournal.Tombstone(id, userId, id != null ? id : lastId);
+            position = journal.appendTombstone(tombstone);
+            tombstones.add(tombstone);
+            pending = queue.removeIf(p -> tombstone.matches(p.entry()))
+                    || inFlight.stream().anyMatch(tombstone::matches);
+        } finally {
+            appendLock.unlock();
+        }
+        if (journalFsync) {
+            try {
+                journal.syncThrough(position.sequence());
+            } catch (IOException e) {
+                throw new UncheckedIOException("问答日志刷盘失败", e);
+            }
+        }
+        return pending;
+    }
+
+    private boolean isDeleted(QuestionAnswerJournal.Entry entry) {
+        for (QuestionAnswerJournal.Tombstone tombstone : tombstones) {
+            if (tombstone.matches(entry)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getQueueSize() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    private void runFlusher() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 攒批：达到批量大小或距第一条记录超过刷新间隔
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                if (!flush(batch)) {
+                    return;
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("问答记录批量写入线程异常", e);
+            }
+        }
+    }
+
+    /**
+     * 写入一批记录，返回false表示关闭过程中写入失败，应停止处理并保留日志
+     */
+    private boolean flush(List<Pending> batch) throws IOException, InterruptedException {
+        List<QuestionAnswerJournal.Entry> entries = new ArrayList<>(batch.size());
+        long throughId = 0;
+        for (Pending pending : batch) {
+            throughId = Math.max(throughId, pending.entry().id());
+            if (!isDeleted(pending.entry())) {
+                entries.add(pending.entry());
+            }
+        }
+        inFlight = List.copyOf(entries);
+        long backoff = 100;
+        try {
+            while (true) {
+                try {
+                    writeAndIndex(entries);
+                    break;
+                } catch (DataAccessException e) {
+                    if (!running) {
+                        // 正在关闭，记录保留在日志中，下次启动时恢复
+                        log.error("关闭时批量写入失败，{} 条记录保留在日志中", entries.size() + queue.size(), e);
+                        return false;
+                    }
+                    log.error("批量写入问答记录失败，{}ms后重试: {}", backoff, e.getMessage());
+                    Thread.sleep(backoff);
+                    backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+                }
+            }
+        } finally {
+            inFlight = List.of();
+        }
+        // 队列按ID递增，不大于本批最大ID的记录都已处理完，覆盖它们的标记不再需要
+        long processed = throughId;
+        tombstones.removeIf(t -> t.throughId() <= processed);
+        releaseFlushedSegments();
+        return true;
+    }
+
+    /**
+     * 写入后把已落库的记录加入全文索引，保证检索结果中的记录在数据库中都存在。
+     * 写入期间被删除的记录在写入后删掉，不加入索引
+     */
+    private void writeAndIndex(List<QuestionAnswerJournal.Entry> entries) throws IOException {
+        List<QuestionAnswerJournal.Entry> written = new ArrayList<>(entries.size());
+        try {
+            write(entries, written);
+        } finally {
+            for (QuestionAnswerJournal.Entry entry : written) {
+                if (isDeleted(entry)) {
+                    try {
+                        jdbcTemplate.update(DELETE_SQL, entry.id());
+                    } catch (DataAccessException e) {
+                        log.error("删除写入期间被删除的问答记录失败: id={}, {}", entry.id(), e.getMessage());
+                    }
+                    continue;
+                }
+                try {
+                    questionSearchService.index(entry.id(), entry.userId(), entry.question(), entry.answer(), entry.createAt());
+                } catch (RuntimeException e) {
+                    log.warn("问答记录加入全文索引失败: id={}, {}", entry.id(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 批量写入；批内有违反约束的记录时改为逐条写入，仍失败的记录转存。
+     * 已处理的记录会从列表中移除，连接类错误重试时只写剩下的记录；写入成功的记录加入 written
+     */
+    private void write(List<QuestionAnswerJournal.Entry> entries,
+                       List<QuestionAnswerJournal.Entry> written) throws IOException {
+        try {
+            insert(entries);
+            written.addAll(entries);
+            entries.clear();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("批量写入问答记录违反约束，改为逐条写入: {}", e.getMessage());
+            Iterator<QuestionAnswerJournal.Entry> it = entries.iterator();
+            while (it.hasNext()) {
+                QuestionAnswerJournal.Entry entry = it.next();
+                try {
+                    insert(List.of(entry));
+                    written.add(entry);
+                } catch (DataIntegrityViolationException rowError) {
+                    log.error("问答记录无法落库，已转存到拒绝文件: id={}, 用户={}, 原因={}",
+                            entry.id(), entry.userId(), rowError.getMostSpecificCause().getMessage());
+                    journal.reject(entry, rowError.getMostSpecificCause().getMessage());
+                }
+                it.remove();
+            }
+        }
+    }
+
+    private void insert(List<QuestionAnswerJournal.Entry> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.id());
+            ps.setString(2, entry.question());
+            ps.setString(3, entry.answer());
+            ps.setTimestamp(4, Timestamp.valueOf(entry.createAt()));
+            ps.setLong(5, entry.userId());
+        });
+        log.debug("批量写入问答记录 {} 条", entries.size());
+    }
+
+    /**
+     * 删除记录已全部落库的日志段
+     */
+    private void releaseFlushedSegments() throws IOException {
+        long oldestPending;
+        appendLock.lock();
+        try {
+            Pending head = queue.peek();
+            if (head == null) {
+                journal.rollIfNotEmpty();
+                oldestPending = journal.getCurrentSegment();
+            } else {
+                oldestPending = head.segment();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        journal.deleteSegmentsBefore(oldestPending);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!enabled || flusher == null) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            running = false;
+        } finally {
+            appendLock.unlock();
+        }
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        journal.close();
+        log.info("问答记录异步批量写入已停止，剩余未落库记录: {}", queue.size());
+    }
+}
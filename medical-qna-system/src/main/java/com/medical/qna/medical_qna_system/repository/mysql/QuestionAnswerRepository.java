@@ -1,5 +1,7 @@
 package com.medical.qna.medical_qna_system.repository.mysql;
 
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto;
 import com.medical.qna.medical_qna_system.entity.mysql.QuestionAnswer;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -8,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Pageable;
 import java.util.List;
+import java.util.Optional;
 import com.medical.qna.medical_qna_system.entity.mysql.User;
 import org.springframework.data.domain.Page;
 @Repository
@@ -70,6 +73,88 @@ public interface QuestionAnswerRepository extends JpaRepository<QuestionAnswer,
                                                         @Param("startDate") java.time.LocalDateTime startDate, 
                                                         @Param("endDate") java.time.LocalDateTime endDate);
     
+    // ---- 投影查询：只查询需要的列，不加载实体和关联的User ----
+
+    String DTO_SELECT = "SELECT new com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto(" +
+            "qa.id, qa.question, qa.answer, qa.createAt) FROM QuestionAnswer qa ";
+    String SUMMARY_SELECT = "SELECT new com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto(" +
+            "qa.id, qa.question, SUBSTRING(qa.answer, 1, :previewLength), LENGTH(qa.answer), qa.createAt) FROM QuestionAnswer qa ";
+    String KEYSET_AFTER = "AND (qa.createAt < :createAt OR (qa.createAt = :createAt AND qa.id < :id)) ";
+    String KEYSET_ORDER = "ORDER BY qa.createAt DESC, qa.id DESC";
+
+    /**
+     * 按创建时间倒序查询用户的全部问答记录
+     */
+    @Query(DTO_SELECT + "WHERE qa.user.id = :userId ORDER BY qa.createAt DESC")
+    List<QuestionAnswerDto> findDtoByUserId(@Param("userId") Long userId);
+
+    /**
+     * 分页查询用户最近的问答记录
+     */
+    @Query(DTO_SELECT + "WHERE qa.user.id = :userId ORDER BY qa.createAt DESC")
+    List<QuestionAnswerDto> findRecentDtoByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 分页查询用户的问答记录（管理端）
+     */
+    @Query(value = DTO_SELECT + "WHERE qa.user.id = :userId ORDER BY qa.createAt DESC",
+           countQuery = "SELECT COUNT(qa) FROM QuestionAnswer qa WHERE qa.user.id = :userId")
+    Page<QuestionAnswerDto> findDtoPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 分页查询用户的问答摘要（管理端）
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE qa.user.id = :userId ORDER BY qa.createAt DESC",
+           countQuery = "SELECT COUNT(qa) FROM QuestionAnswer qa WHERE qa.user.id = :userId")
+    Page<QuestionAnswerSummaryDto> findSummaryPageByUserId(@Param("userId") Long userId,
+                                                           @Param("previewLength") int previewLength,
+                                                           Pageable pageable);
+
+    /**
+     * 按问题关键词搜索用户的问答记录
+     */
+    @Query(DTO_SELECT + "WHERE qa.user.id = :userId AND qa.question LIKE %:keyword% ORDER BY qa.createAt DESC")
+    List<QuestionAnswerDto> searchDtoByUserIdAndQuestion(@Param("userId") Long userId, @Param("keyword") String keyword);
+
+    /**
+     * 按ID获取单条完整记录，userId为null时不校验归属（管理端）
+     */
+    @Query(DTO_SELECT + "WHERE qa.id = :id AND (:userId IS NULL OR qa.user.id = :userId)")
+    Optional<QuestionAnswerDto> findDtoById(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * 游标分页：第一页，按(createAt, id)倒序
+     */
+    @Query(DTO_SELECT + "WHERE qa.user.id = :userId " + KEYSET_ORDER)
+    List<QuestionAnswerDto> findHistoryFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 游标分页：游标之后的一页，走(user_id, create_at, id)索引，耗时与历史总量无关
+     */
+    @Query(DTO_SELECT + "WHERE qa.user.id = :userId " + KEYSET_AFTER + KEYSET_ORDER)
+    List<QuestionAnswerDto> findHistoryPageAfter(@Param("userId") Long userId,
+                                                 @Param("createAt") java.time.LocalDateTime createAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    /**
+     * 游标分页（摘要）：第一页
+     */
+    @Query(SUMMARY_SELECT + "WHERE qa.user.id = :userId " + KEYSET_ORDER)
+    List<QuestionAnswerSummaryDto> findSummaryFirstPage(@Param("userId") Long userId,
+                                                        @Param("previewLength") int previewLength,
+                                                        Pageable pageable);
+
+    /**
+     * 游标分页（摘要）：游标之后的一页
+     */
+    @Query(SUMMARY_SELECT + "WHERE qa.user.id = :userId " + KEYSET_AFTER + KEYSET_ORDER)
+    List<QuestionAnswerSummaryDto> findSummaryPageAfter(@Param("userId") Long userId,
+                                                        @Param("createAt") java.time.LocalDateTime createAt,
+                                                        @Param("id") Long id,
+                                                        @Param("previewLength") int previewLength,
+                                                        Pageable pageable);
+
     /**
      * 批量删除指定ID的记录（需要属于指定用户）
      */
@@ -0,0 +1,219 @@
+package com.medical.qna.medical_qna_system.repository.neo4j;
+
+import com.medical.qna.medical_qna_system.common.constant.KnowledgeGraphSchema;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseDetailDto;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseInfoDto;
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * 疾病档案查询：一次往返取回疾病及其全部关联（症状、治疗、并发症、宜忌食物、科室）。
+ * 只需要部分信息时使用按深度读取的方法，只遍历需要的关系，不经过实体映射加载整个关联子图
+ */
+@Repository
+@RequiredArgsConstructor
+public class DiseaseProfileRepository {
+
+    private static final String SYMPTOMS = "[(d)-[:HAS_SYMPTOM]->(s:Symptom) | s.name] AS symptoms";
+
+    // 每类关联用模式推导式收集成列表，避免多个OPTIONAL MATCH产生笛卡尔积
+    private static final String OTHER_RELATIONS =
+            "[(d)-[:TREATED_BY]->(t:Treatment) | t.name] AS treatments, " +
+            "[(d)-[:HAS_COMPLICATION]->(c:Complication) | c.name] AS complications, " +
+            "[(d)-[:GOOD_FOR]->(f:Food) | f.name] AS goodFoods, " +
+            "[(d)-[:BAD_FOR]->(f:Food) | f.name] AS badFoods, " +
+            "[(d)-[:BELONGS_TO]->(dept:Department) | dept.name] AS departments, " +
+            // 多个科室可能属于同一大类，按大类去重
+            "COLLECT { MATCH (d)-[:BELONGS_TO]->(:Department)-[:BELONGS_TO_CATEGORY]->(cat:DepartmentCategory) " +
+            "RETURN DISTINCT cat.name } AS departmentCategories";
+
+    private static final String PROFILE_PROJECTION =
+            "RETURN d.name AS name, d.desc AS desc, " + SYMPTOMS + ", " + OTHER_RELATIONS;
+
+    // 名称唯一约束未能创建时可能存在同名节点，单个查询只取其中一个
+    private static final String MATCH_ONE = "MATCH (d:Disease {name: $name}) WITH d LIMIT 1 ";
+
+    private static final String FIND_PROFILE = MATCH_ONE + PROFILE_PROJECTION;
+
+    private static final String FIND_PROFILES =
+            "UNWIND $names AS name MATCH (d:Disease {name: name}) " + PROFILE_PROJECTION;
+
+    private static final String SCALAR_COLUMNS =
+            "d.name AS name, d.desc AS desc, d.diagnosis AS diagnosis, d.insuranceCovered AS insuranceCovered, " +
+            "d.prevalenceRate AS prevalenceRate, d.susceptiblePopulation AS susceptiblePopulation, " +
+            "d.transmissionMode AS transmissionMode, d.nursing AS nursing, d.treatmentDuration AS treatmentDuration, " +
+            "d.cureRate AS cureRate, d.treatmentCost AS treatmentCost";
+
+    private static final String FIND_SUMMARY =
+            MATCH_ONE + "RETURN " + SCALAR_COLUMNS;
+
+    private static final String FIND_SUMMARY_WITH_SYMPTOMS =
+            MATCH_ONE + "RETURN " + SCALAR_COLUMNS + ", " + SYMPTOMS;
+
+    private static final String FIND_DETAIL =
+            MATCH_ONE + "RETURN " + SCALAR_COLUMNS + ", " + SYMPTOMS + ", " + OTHER_RELATIONS;
+
+    private static final String SEARCH =
+            "CALL db.index.fulltext.queryNodes($index, $query) YIELD node AS d, score " +
+            "RETURN d.name AS name, d.desc AS desc ORDER BY score DESC LIMIT $limit";
+
+    // 全文索引按二元组分词，单个汉字匹配不到词项，改为子串匹配，名称命中的排在前面
+    private static final String SEARCH_SINGLE_CHAR =
+            "MATCH (d:Disease) WHERE d.name CONTAINS $keyword OR d.desc CONTAINS $keyword " +
+            "RETURN d.name AS name, d.desc AS desc " +
+            "ORDER BY d.name CONTAINS $keyword DESC, size(d.name) LIMIT $limit";
+
+    private final Neo4jClient neo4jClient;
+
+    public Optional<DiseaseInfoDto> findProfile(String name) {
+        return neo4jClient.query(FIND_PROFILE)
+                .bind(name).to("name")
+                .fetchAs(DiseaseInfoDto.class)
+                .mappedBy((typeSystem, record) -> toProfile(record))
+                .first();
+    }
+
+    public Collection<DiseaseInfoDto> findProfiles(List<String> names) {
+        return neo4jClient.query(FIND_PROFILES)
+                .bind(names).to("names")
+                .fetchAs(DiseaseInfoDto.class)
+                .mappedBy((typeSystem, record) -> toProfile(record))
+                .all();
+    }
+
+    /**
+     * 只读疾病节点自身的属性，不遍历任何关系
+     */
+    public Optional<DiseaseDetailDto> findSummary(String name) {
+        return findDetail(FIND_SUMMARY, name);
+    }
+
+    /**
+     * 疾病属性和症状
+     */
+    public Optional<DiseaseDetailDto> findSummaryWithSymptoms(String name) {
+        return findDetail(FIND_SUMMARY_WITH_SYMPTOMS, name);
+    }
+
+    /**
+     * 疾病属性和全部关联
+     */
+    public Optional<DiseaseDetailDto> findDetail(String name) {
+        return findDetail(FIND_DETAIL, name);
+    }
+
+    /**
+     * 按关键词全文检索疾病，按相关度排序，名称命中的权重高于描述。只返回名称和简介
+     */
+    public Collection<DiseaseInfoDto> search(String keyword, int limit) {
+        String trimmed = keyword.trim();
+        if (trimmed.codePointCount(0, trimmed.length()) == 1) {
+            return neo4jClient.query(SEARCH_SINGLE_CHAR)
+                    .bind(trimmed).to("keyword")
+                    .bind(limit).to("limit")
+                    .fetchAs(DiseaseInfoDto.class)
+                    .mappedBy((typeSystem, record) -> toSearchHit(record))
+                    .all();
+        }
+        String escaped = escapeFullTextQuery(trimmed);
+        return neo4jClient.query(SEARCH)
+                .bind(KnowledgeGraphSchema.DISEASE_FULLTEXT_INDEX).to("index")
+                .bind("name:(" + escaped + ")^3 OR desc:(" + escaped + ")").to("query")
+                .bind(limit).to("limit")
+                .fetchAs(DiseaseInfoDto.class)
+                .mappedBy((typeSystem, record) -> toSearchHit(record))
+                .all();
+    }
+
+    private static DiseaseInfoDto toSearchHit(Record record) {
+        return DiseaseInfoDto.builder()
+                .diseaseName(record.get("name").asString())
+                .description(record.get("desc").asString(null))
+                .build();
+    }
+
+    private Optional<DiseaseDetailDto> findDetail(String cypher, String name) {
+        return neo4jClient.query(cypher)
+                .bind(name).to("name")
+                .fetchAs(DiseaseDetailDto.class)
+                .mappedBy((typeSystem, record) -> toDetail(record))
+                .first();
+    }
+
+    /**
+     * 把按深度读取的结果行映射为DTO，结果中没有的关联列保持为null
+     */
+    public static DiseaseDetailDto toDetail(Record record) {
+        // 医保标记不是布尔值时按未知处理
+        Object insuranceCovered = record.get("insuranceCovered").asObject();
+        return DiseaseDetailDto.builder()
+                .diseaseName(record.get("name").asString())
+                .description(record.get("desc").asString(null))
+                .diagnosis(text(record, "diagnosis"))
+                .insuranceCovered(insuranceCovered instanceof Boolean covered ? covered : null)
+                .prevalenceRate(text(record, "prevalenceRate"))
+                .susceptiblePopulation(text(record, "susceptiblePopulation"))
+                .transmissionMode(text(record, "transmissionMode"))
+                .nursing(text(record, "nursing"))
+                .treatmentDuration(text(record, "treatmentDuration"))
+                .cureRate(text(record, "cureRate"))
+                .treatmentCost(text(record, "treatmentCost"))
+                .symptoms(names(record, "symptoms"))
+                .treatments(names(record, "treatments"))
+                .complications(names(record, "complications"))
+                .goodFoods(names(record, "goodFoods"))
+                .badFoods(names(record, "badFoods"))
+                .departments(names(record, "departments"))
+                .departmentCategories(names(record, "departmentCategories"))
+                .build();
+    }
+
+    /**
+     * 导入的数据中属性不一定是字符串（如治愈率写成数字），统一转为文本
+     */
+    private static String text(Record record, String key) {
+        Object value = record.get(key).asObject();
+        return value == null ? null : value.toString();
+    }
+
+    private static List<String> names(Record record, String key) {
+        return record.containsKey(key) ? record.get(key).asList(Value::asString) : null;
+    }
+
+    private static DiseaseInfoDto toProfile(Record record) {
+        return DiseaseInfoDto.builder()
+                .diseaseName(record.get("name").asString())
+                .description(record.get("desc").asString(null))
+                .symptoms(record.get("symptoms").asList(Value::asString))
+                .treatments(record.get("treatments").asList(Value::asString))
+                .complications(record.get("complications").asList(Value::asString))
+                .goodFoods(record.get("goodFoods").asList(Value::asString))
+                .badFoods(record.get("badFoods").asList(Value::asString))
+                .departments(record.get("departments").asList(Value::asString))
+                .departmentCategories(record.get("departmentCategories").asList(Value::asString))
+                .build();
+    }
+
+    /**
+     * 转义Lucene查询语法中的特殊字符，用户输入按普通文本检索。
+     * 只有大写的 AND/OR/NOT 是运算符，分词器本身会转小写，整体转小写后不影响匹配
+     */
+    static String escapeFullTextQuery(String keyword) {
+        StringBuilder sb = new StringBuilder(keyword.length() + 8);
+        for (char c : keyword.trim().toLowerCase(Locale.ROOT).toCharArray()) {
+            if ("\\+-!():^[]\"{}~*?|&/".indexOf(c) >= 0) {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.medical.qna.medical_qna_system.repository.neo4j;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 批量导出知识图谱，供内存中的图谱快照和索引构建使用
+ */
+@Repository
+@RequiredArgsConstructor
+public class KnowledgeGraphExportRepository {
+
+    // 节点数和关系数由计数存储直接返回，不扫描图谱
+    private static final String FINGERPRINT =
+            "CALL { MATCH (n) RETURN count(n) AS nodes } " +
+            "CALL { MATCH ()-[r]->() RETURN count(r) AS rels } " +
+            "RETURN nodes, rels";
+
+    private static final String DISEASE_SYMPTOMS =
+            "MATCH (d:Disease) " +
+            "RETURN d.name AS disease, [(d)-[:HAS_SYMPTOM]->(s:Symptom) | s.name] AS symptoms";
+
+    private static final String DISEASE_FOODS =
+            "MATCH (d:Disease) " +
+            "RETURN d.name AS disease, " +
+            "[(d)-[:GOOD_FOR]->(f:Food) | f.name] AS goodFoods, " +
+            "[(d)-[:BAD_FOR]->(f:Food) | f.name] AS badFoods";
+
+    // 实体词表，type与MedicalEntityType的名称一致
+    private static final String ENTITY_NAMES =
+            "MATCH (n:Disease) RETURN 'DISEASE' AS type, n.name AS name " +
+            "UNION ALL MATCH (n:Symptom) RETURN 'SYMPTOM' AS type, n.name AS name " +
+            "UNION ALL MATCH (n:Complication) RETURN 'COMPLICATION' AS type, n.name AS name " +
+            "UNION ALL MATCH (n:Treatment) RETURN 'TREATMENT' AS type, n.name AS name " +
+            "UNION ALL MATCH (n:Food) RETURN 'FOOD' AS type, n.name AS name";
+
+    private final Neo4jClient neo4jClient;
+
+    public record DiseaseSymptoms(String disease, List<String> symptoms) {
+    }
+
+    public record DiseaseFoods(String disease, List<String> goodFoods, List<String> badFoods) {
+    }
+
+    public record EntityName(MedicalEntityType type, String name) {
+    }
+
+    /**
+     * 图谱指纹，用于判断是否需要重新加载。
+     * 只反映节点数和关系数，数量不变的修改需要靠定期全量重载发现
+     */
+    public String fingerprint() {
+        return neo4jClient.query(FINGERPRINT)
+                .fetchAs(String.class)
+                .mappedBy((typeSystem, record) -> record.get("nodes").asLong() + ":" + record.get("rels").asLong())
+                .one()
+                .orElse("0:0");
+    }
+
+    /**
+     * 所有疾病及其症状
+     */
+    public Collection<DiseaseSymptoms> findAllDiseaseSymptoms() {
+        return neo4jClient.query(DISEASE_SYMPTOMS)
+                .fetchAs(DiseaseSymptoms.class)
+                .mappedBy((typeSystem, record) -> new DiseaseSymptoms(
+                        record.get("disease").asString(),
+                        record.get("symptoms").asList(Value::asString)))
+                .all();
+    }
+
+    /**
+     * 所有疾病的宜吃和忌吃食物
+     */
+    public Collection<DiseaseFoods> findAllDiseaseFoods() {
+        return neo4jClient.query(DISEASE_FOODS)
+                .fetchAs(DiseaseFoods.class)
+                .mappedBy((typeSystem, record) -> new DiseaseFoods(
+                        record.get("disease").asString(),
+                        record.get("goodFoods").asList(Value::asString),
+                        record.get("badFoods").asList(Value::asString)))
+                .all();
+    }
+
+    /**
+     * 疾病、症状、并发症、治疗方法和食物的全部名称
+     */
+    public Collection<EntityName> findAllEntityNames() {
+        return neo4jClient.query(ENTITY_NAMES)
+                .fetchAs(EntityName.class)
+                .mappedBy((typeSystem, record) -> new EntityName(
+                        MedicalEntityType.valueOf(record.get("type").asString()),
+                        record.get("name").asString(null)))
+                .all();
+    }
+}
@@ -0,0 +1,77 @@
+package com.medical.qna.medical_qna_system.repository.neo4j;
+
+import com.medical.qna.medical_qna_system.knowledge.GraphRelationType;
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionContext;
+import org.neo4j.driver.summary.SummaryCounters;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 知识图谱批量写入
+ * 每次调用在一个事务中执行若干条 UNWIND 语句（每条写入batchSize行），
+ * 事务由驱动的 executeWrite 执行，遇到死锁等临时错误时整个事务自动重试。
+ * 标签和关系类型不能作为参数传入，由调用方保证来自固定的白名单
+ */
+@Repository
+@RequiredArgsConstructor
+public class KnowledgeGraphImportRepository {
+
+    private final Driver driver;
+
+    /**
+     * 写入结果计数
+     */
+    public record WriteCounters(long nodesCreated, long relationshipsCreated, long propertiesSet) {
+
+        public static final WriteCounters ZERO = new WriteCounters(0, 0, 0);
+
+        WriteCounters plus(SummaryCounters counters) {
+            return new WriteCounters(nodesCreated + counters.nodesCreated(),
+                    relationshipsCreated + counters.relationshipsCreated(),
+                    propertiesSet + counters.propertiesSet());
+        }
+    }
+
+    /**
+     * 合并节点，行格式 {name, props}，已存在的节点只更新属性
+     */
+    public WriteCounters mergeNodes(Map<String, List<Map<String, Object>>> rowsByLabel, int batchSize) {
+        try (Session session = driver.session()) {
+            return session.executeWrite(tx -> {
+                WriteCounters counters = WriteCounters.ZERO;
+                for (Map.Entry<String, List<Map<String, Object>>> e : rowsByLabel.entrySet()) {
+                    String cypher = "UNWIND $rows AS row MERGE (n:" + e.getKey() + " {name: row.name}) SET n += row.props";
+                    counters = run(tx, cypher, e.getValue(), batchSize, counters);
+                }
+                return counters;
+            });
+        }
+    }
+
+    /**
+     * 在一个事务中合并一种关系，行格式 {from, to}，两端节点需已存在，按行的顺序加锁
+     */
+    public WriteCounters mergeRelationships(GraphRelationType type, List<Map<String, Object>> rows, int batchSize) {
+        String cypher = "UNWIND $rows AS row " +
+                "MATCH (a:" + type.getFromLabel() + " {name: row.from}) " +
+                "MATCH (b:" + type.getToLabel() + " {name: row.to}) " +
+                "MERGE (a)-[:" + type.name() + "]->(b)";
+        try (Session session = driver.session()) {
+            return session.executeWrite(tx -> run(tx, cypher, rows, batchSize, WriteCounters.ZERO));
+        }
+    }
+
+    private static WriteCounters run(TransactionContext tx, String cypher, List<Map<String, Object>> rows,
+                                     int batchSize, WriteCounters counters) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Map<String, Object>> batch = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            counters = counters.plus(tx.run(cypher, Map.of("rows", batch)).consume().counters());
+        }
+        return counters;
+    }
+}
@@ -18,9 +18,6 @@ public interface MedicalKnowledgeRepository extends Neo4jRepository<Disease, Str
            "RETURN d ORDER BY matchCount DESC LIMIT 5")
     List<Disease> findDiseasesBySymptoms(@Param("symptoms") List<String> symptoms);
   
-    @Query("MATCH (d:Disease) WHERE d.name CONTAINS $keyword OR d.desc CONTAINS $keyword RETURN d LIMIT 10")
-    List<Disease> searchDiseases(@Param("keyword") String keyword);
-  
     @Query("MATCH (d:Disease {name: $diseaseName})-[:HAS_SYMPTOM]->(s:Symptom) RETURN s")
     List<Symptom> findSymptomsByDisease(@Param("diseaseName") String diseaseName);
   
@@ -43,5 +40,8 @@ public interface MedicalKnowledgeRepository extends Neo4jRepository<Disease, Str
     @Query("MATCH (s:Symptom) WHERE s.name CONTAINS $keyword RETURN s LIMIT 20")
     List<Symptom> searchSymptoms(@Param("keyword") String keyword);
   
+    /**
+     * 加载疾病及其全部关联，只需要部分信息时使用DiseaseProfileRepository中按深度读取的方法
+     */
     Optional<Disease> findByName(String name);
 }
\ No newline at end of file
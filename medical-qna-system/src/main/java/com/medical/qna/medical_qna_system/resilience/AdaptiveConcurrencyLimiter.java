@@ -0,0 +1,157 @@
+package com.medical.qna.medical_qna_system.resilience;
+
+import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD自适应并发限制器
+ * 成功且延迟低于阈值时加性增长(每个窗口+1)，失败或延迟超阈值时乘性减小；
+ * 超出限制的请求进入有界队列等待，队列满时直接拒绝
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue,
+                                      long latencyThresholdNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 获取许可：有空闲额度立即返回，否则排队，队列已满时以RAG_BUSY失败
+     */
+    public Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Permit permit = null;
+            synchronized (this) {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    permit = new Permit();
+                } else if (waiters.size() < maxQueue) {
+                    Waiter waiter = new Waiter(sink);
+                    waiters.addLast(waiter);
+                    sink.onCancel(() -> cancelWaiter(waiter));
+                    return;
+                }
+            }
+            if (permit != null) {
+                sink.success(permit);
+            } else {
+                rejected.incrementAndGet();
+                sink.error(new BusinessException(ErrorCode.RAG_BUSY));
+            }
+        });
+    }
+
+    private void cancelWaiter(Waiter waiter) {
+        Permit granted;
+        synchronized (this) {
+            if (waiters.remove(waiter)) {
+                return;
+            }
+            granted = waiter.permit;
+        }
+        // 许可已分配但订阅者已取消，归还许可
+        if (granted != null) {
+            granted.release(Outcome.IGNORED);
+        }
+    }
+
+    private void onRelease(Outcome outcome, long latencyNanos) {
+        List<Waiter> toGrant = new ArrayList<>();
+        synchronized (this) {
+            switch (outcome) {
+                case SUCCESS -> {
+                    if (latencyNanos > latencyThresholdNanos) {
+                        limit = Math.max(minLimit, limit * backoffRatio);
+                    } else if (inFlight * 2 >= limit) {
+                        // 只有在额度被充分使用时才增长，避免低负载时无限上涨
+                        limit = Math.min(maxLimit, limit + 1.0 / limit);
+                    }
+                }
+                case DROPPED -> limit = Math.max(minLimit, limit * backoffRatio);
+                case IGNORED -> { }
+            }
+            inFlight--;
+            while (!waiters.isEmpty() && inFlight < (int) limit) {
+                Waiter waiter = waiters.pollFirst();
+                inFlight++;
+                waiter.permit = new Permit();
+                toGrant.add(waiter);
+            }
+        }
+        toGrant.forEach(waiter -> waiter.sink.success(waiter.permit));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueDepth() {
+        return waiters.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Permit> sink;
+        private Permit permit;
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+
+    /**
+     * 一次调用的许可，记录首个响应的延迟；重复释放会被忽略
+     */
+    public final class Permit {
+        private final long startNanos = System.nanoTime();
+        private volatile long firstResponseNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void markFirstResponse() {
+            if (firstResponseNanos == 0) {
+                firstResponseNanos = System.nanoTime();
+            }
+        }
+
+        public void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                long end = firstResponseNanos != 0 ? firstResponseNanos : System.nanoTime();
+                onRelease(outcome, end - startNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.medical.qna.medical_qna_system.resilience;
+
+import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * RAG上游调用的保护：熔断快速失败 + 自适应并发限制
+ * 超出限制的调用在有界队列中等待，队列满、等待超时或熔断打开时立即失败，
+ * 避免RAG服务变慢时拖垮整个应用
+ */
+@Component
+@Slf4j
+public class RagCallGuard {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration queueTimeout;
+    private final Counter circuitRejected;
+    private final Counter queueTimeouts;
+
+    public RagCallGuard(MeterRegistry meterRegistry,
+                        @Value("${rag.limiter.initial-limit:10}") int initialLimit,
+                        @Value("${rag.limiter.min-limit:2}") int minLimit,
+                        @Value("${rag.limiter.max-limit:50}") int maxLimit,
+                        @Value("${rag.limiter.max-queue:100}") int maxQueue,
+                        @Value("${rag.limiter.queue-timeout-ms:10000}") long queueTimeoutMs,
+                        @Value("${rag.limiter.latency-threshold-ms:5000}") long latencyThresholdMs,
+                        @Value("${rag.limiter.backoff-ratio:0.9}") double backoffRatio,
+                        @Value("${rag.circuit.window-size:20}") int windowSize,
+                        @Value("${rag.circuit.minimum-calls:10}") int minimumCalls,
+                        @Value("${rag.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+                        @Value("${rag.circuit.open-duration-ms:30000}") long openDurationMs,
+                        @Value("${rag.circuit.half-open-permits:3}") int halfOpenPermits) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, maxQueue,
+                Duration.ofMillis(latencyThresholdMs).toNanos(), backoffRatio);
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                Duration.ofMillis(openDurationMs), halfOpenPermits);
+        this.queueTimeout = Duration.ofMillis(queueTimeoutMs);
+
+        Gauge.builder("rag.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("RAG调用当前并发上限").register(meterRegistry);
+        Gauge.builder("rag.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("RAG调用当前并发数").register(meterRegistry);
+        Gauge.builder("rag.limiter.queue", limiter, AdaptiveConcurrencyLimiter::getQueueDepth)
+                .description("等待RAG调用许可的请求数").register(meterRegistry);
+        FunctionCounter.builder("rag.limiter.rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .description("被并发限制器拒绝的RAG调用数")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.queueTimeouts = Counter.builder("rag.limiter.rejected")
+                .description("被并发限制器拒绝的RAG调用数")
+                .tag("reason", "queue_timeout")
+                .register(meterRegistry);
+        Gauge.builder("rag.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("RAG熔断器状态: 0=CLOSED, 1=OPEN, 2=HALF_OPEN").register(meterRegistry);
+        this.circuitRejected = Counter.builder("rag.circuit.rejected")
+                .description("熔断期间被快速失败的RAG调用数").register(meterRegistry);
+    }
+
+    /**
+     * 在熔断器和并发限制器的保护下执行上游调用
+     */
+    public <T> Flux<T> protect(Flux<T> call) {
+        return Flux.usingWhen(
+                acquire(),
+                permit -> call.doOnNext(item -> permit.markFirstResponse()),
+                permit -> {
+                    permit.release(AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+                    circuitBreaker.onSuccess();
+                    return Mono.empty();
+                },
+                (permit, e) -> {
+                    permit.release(AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+                    circuitBreaker.onFailure();
+                    return Mono.empty();
+                },
+                permit -> {
+                    permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+                    circuitBreaker.onIgnored();
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<AdaptiveConcurrencyLimiter.Permit> acquire() {
+        return Mono.defer(() -> {
+                    // 熔断打开时不进入排队，直接失败
+                    if (circuitBreaker.isOpen()) {
+                        return Mono.error(circuitOpen());
+                    }
+                    return limiter.acquire()
+                            .timeout(queueTimeout)
+                            .onErrorMap(TimeoutException.class, e -> {
+                                queueTimeouts.increment();
+                                return new BusinessException(ErrorCode.RAG_BUSY);
+                            });
+                })
+                .flatMap(permit -> {
+                    if (circuitBreaker.tryAcquire()) {
+                        return Mono.just(permit);
+                    }
+                    permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+                    return Mono.error(circuitOpen());
+                });
+    }
+
+    private BusinessException circuitOpen() {
+        circuitRejected.increment();
+        log.warn("RAG熔断器处于{}状态，快速失败", circuitBreaker.getState());
+        return new BusinessException(ErrorCode.RAG_UNAVAILABLE);
+    }
+}
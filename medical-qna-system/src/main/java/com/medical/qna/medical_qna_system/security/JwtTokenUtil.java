@@ -1,16 +1,25 @@
 package com.medical.qna.medical_qna_system.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenUtil {
@@ -18,17 +27,31 @@ public class JwtTokenUtil {
     public static final String CLAIM_ROLE = "role";
     public static final String CLAIM_USER_ID = "userId";
     
-    @Value("${jwt.secret}")
-    private String secret;
+    private final long expirationTime;
     
-    @Value("${jwt.expiration}")
-    private long expirationTime;
+    private final SecretKey key;
     
-    private SecretKey key;
+    // JwtParser构建后是线程安全的，复用同一个实例
+    private final JwtParser parser;
     
-    @PostConstruct
-    public void init() {
+    // 已验证Token的声明缓存，key为Token的SHA-256摘要，条目在Token过期时失效
+    private final Cache<String, Claims> claimsCache;
+    
+    public JwtTokenUtil(@Value("${jwt.secret}") String secret,
+                        @Value("${jwt.expiration}") long expirationTime,
+                        @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize,
+                        MeterRegistry meterRegistry) {
+        this.expirationTime = expirationTime;
         this.key = Keys.hmacShaKeyFor(getKeyBytesWithPadding(secret));
+        this.parser = Jwts.parserBuilder()
+                          .setSigningKey(key)
+                          .build();
+        this.claimsCache = Caffeine.newBuilder()
+                                   .maximumSize(claimsCacheMaxSize)
+                                   .expireAfter(new ClaimsExpiry())
+                                   .recordStats()
+                                   .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
     }
     
     private byte[] getKeyBytesWithPadding(String base64Key) {
@@ -57,20 +80,34 @@ public class JwtTokenUtil {
     }
     
     /**
-     * 验证Token有效性
+     * 验证Token并返回其声明，一次解析同时完成签名和过期校验
+     * @return 验证通过的声明，Token无效或已过期时返回null
      */
-    public boolean validateToken(String token) {
+    public Claims verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String digest = digest(token);
+        Claims cached = claimsCache.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            Jws<Claims> claims = Jwts.parserBuilder()
-                                 .setSigningKey(key) // 确保密钥正确设置在这里
-                                 .build()
-                                 .parseClaimsJws(token); // 解析JWT
-        return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            claimsCache.put(digest, claims);
+            return claims;
         } catch (JwtException | IllegalArgumentException e) {
-        logger.error("JWT验证失败: {}", e.getMessage());
-        return false;
+            logger.error("JWT验证失败: {}", e.getMessage());
+            return null;
         }
     }
+    
+    /**
+     * 验证Token有效性
+     */
+    public boolean validateToken(String token) {
+        return verifyToken(token) != null;
+    }
 
     
     /**
@@ -98,10 +135,40 @@ public class JwtTokenUtil {
      * 解析Token声明
      */
     private Claims parseTokenClaims(String token) {
-        return Jwts.parserBuilder()
-                   .setSigningKey(key) // 确保密钥正确设置在这里
-                   .build()
-                   .parseClaimsJws(token) // 解析JWT
-                   .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+    
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+    
+    /**
+     * 缓存条目的存活时间等于Token剩余有效期
+     */
+    private static class ClaimsExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.medical.qna.medical_qna_system.service;
 import com.medical.qna.medical_qna_system.dto.request.RegisterRequest;
 import com.medical.qna.medical_qna_system.dto.request.UpdateUserRequest;
 import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionSearchHitDto;
 import com.medical.qna.medical_qna_system.entity.mysql.User;
 
 import java.util.List;
@@ -39,4 +41,19 @@ public interface AdminService {
      * 获取用户问答历史（支持分页）
      */
     Page<QuestionAnswerDto> getUserQuestionHistory(Long userId, Pageable pageable);
+
+    /**
+     * 获取用户问答历史摘要（支持分页）
+     */
+    Page<QuestionAnswerSummaryDto> getUserQuestionHistorySummary(Long userId, Pageable pageable);
+
+    /**
+     * 根据ID获取完整问答记录
+     */
+    QuestionAnswerDto getQuestionAnswer(Long id);
+
+    /**
+     * 全文检索所有用户的问答记录（支持分页）
+     */
+    Page<QuestionSearchHitDto> searchQuestionAnswers(String keyword, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.medical.qna.medical_qna_system.service;
+
+import java.util.Optional;
+
+public interface AnswerCacheService {
+
+    /**
+     * 根据问题查询缓存的回答
+     * @param question 用户问题（未归一化）
+     * @return 缓存的回答，未命中时为空
+     */
+    Optional<String> get(String question);
+
+    /**
+     * 缓存问题的完整回答
+     * @param question 用户问题（未归一化）
+     * @param answer 完整回答
+     */
+    void put(String question, String answer);
+
+    /**
+     * 问题归一化，作为缓存键
+     * @param question 用户问题
+     * @return 归一化后的问题
+     */
+    String normalize(String question);
+}
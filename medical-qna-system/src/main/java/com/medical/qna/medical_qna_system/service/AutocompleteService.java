@@ -0,0 +1,18 @@
+package com.medical.qna.medical_qna_system.service;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import com.medical.qna.medical_qna_system.dto.response.SuggestionDto;
+
+import java.util.List;
+
+public interface AutocompleteService {
+
+    /**
+     * 症状/疾病名称联想，支持前缀、中缀和拼音首字母匹配
+     * @param query 用户输入
+     * @param type 限定实体类型，null表示不限
+     * @param limit 返回数量
+     * @return 按匹配类型和热度排序的联想词
+     */
+    List<SuggestionDto> suggest(String query, MedicalEntityType type, int limit);
+}
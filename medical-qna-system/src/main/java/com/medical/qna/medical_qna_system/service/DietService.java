@@ -0,0 +1,17 @@
+package com.medical.qna.medical_qna_system.service;
+
+import com.medical.qna.medical_qna_system.knowledge.DietIndex;
+
+import java.util.List;
+
+public interface DietService {
+
+    /**
+     * 在内存索引上批量检查多种疾病与多种食物的宜忌关系，不访问数据库
+     * @param diseases 所患疾病
+     * @param foods 要检查的食物
+     * @param recommendationLimit 推荐食物数量
+     * @return 冲突食物、适宜食物和推荐食物
+     */
+    DietIndex.Result check(List<String> diseases, List<String> foods, int recommendationLimit);
+}
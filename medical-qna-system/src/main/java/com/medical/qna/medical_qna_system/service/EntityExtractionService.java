@@ -0,0 +1,15 @@
+package com.medical.qna.medical_qna_system.service;
+
+import com.medical.qna.medical_qna_system.knowledge.EntityExtractor;
+
+import java.util.List;
+
+public interface EntityExtractionService {
+
+    /**
+     * 识别文本中提到的疾病、症状、并发症、治疗方法和食物，重叠时保留最长的名称
+     * @param text 文本，如用户问题
+     * @return 按出现位置排序的实体
+     */
+    List<EntityExtractor.Mention> extract(String text);
+}
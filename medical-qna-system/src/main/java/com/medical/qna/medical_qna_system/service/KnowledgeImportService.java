@@ -0,0 +1,21 @@
+package com.medical.qna.medical_qna_system.service;
+
+import com.medical.qna.medical_qna_system.dto.response.KnowledgeImportStatusDto;
+
+import java.util.List;
+
+public interface KnowledgeImportService {
+
+    /**
+     * 在后台启动知识图谱批量导入，同一时刻只能运行一个导入任务
+     * @param paths 导入文件路径（CSV或JSON Lines），相对于导入目录，不能指向目录之外
+     * @param resume 是否从上次失败的断点继续
+     * @return 任务状态
+     */
+    KnowledgeImportStatusDto startImport(List<String> paths, boolean resume);
+
+    /**
+     * 最近一次导入任务的状态和进度，没有导入过时返回null
+     */
+    KnowledgeImportStatusDto getStatus();
+}
@@ -0,0 +1,109 @@
+package com.medical.qna.medical_qna_system.service;
+
+import com.medical.qna.medical_qna_system.common.enums.DiseaseView;
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import com.medical.qna.medical_qna_system.dto.response.DietCheckDto;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseDetailDto;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseInfoDto;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseMatchDto;
+import com.medical.qna.medical_qna_system.dto.response.EntityMentionDto;
+import com.medical.qna.medical_qna_system.dto.response.KnowledgeImportStatusDto;
+import com.medical.qna.medical_qna_system.dto.response.RelatedDiseaseDto;
+import com.medical.qna.medical_qna_system.dto.response.SuggestionDto;
+import com.medical.qna.medical_qna_system.dto.response.SymptomGraphStatsDto;
+
+import java.util.List;
+
+public interface KnowledgeService {
+
+    /**
+     * 获取疾病完整档案（症状、治疗、并发症、宜忌食物、科室）
+     * @param diseaseName 疾病名称
+     * @return 疾病档案
+     */
+    DiseaseInfoDto getDiseaseProfile(String diseaseName);
+
+    /**
+     * 按读取深度获取疾病信息，只查询该深度需要的属性和关系
+     * @param diseaseName 疾病名称
+     * @param view 读取深度
+     * @return 疾病信息，没有读取的字段为null
+     */
+    DiseaseDetailDto getDiseaseDetail(String diseaseName, DiseaseView view);
+
+    /**
+     * 批量获取疾病档案，一次查询完成
+     * @param diseaseNames 疾病名称列表
+     * @return 按请求顺序排列的疾病档案，不存在的疾病被忽略
+     */
+    List<DiseaseInfoDto> getDiseaseProfiles(List<String> diseaseNames);
+
+    /**
+     * 根据症状推测可能的疾病，按症状特异性加权排序
+     * @param symptoms 症状名称列表
+     * @param limit 返回数量
+     * @return 按相关度降序排列的疾病
+     */
+    List<DiseaseMatchDto> rankDiseasesBySymptoms(List<String> symptoms, int limit);
+
+    /**
+     * 内存图谱快照的规模和内存占用
+     */
+    SymptomGraphStatsDto getGraphStats();
+
+    /**
+     * 在后台重新加载内存中的知识图谱快照和索引
+     */
+    void refreshGraph();
+
+    /**
+     * 在后台批量导入知识图谱，完成后重新加载内存快照和索引
+     * @param paths 导入文件路径
+     * @param resume 是否从上次失败的断点继续
+     * @return 任务状态
+     */
+    KnowledgeImportStatusDto importGraph(List<String> paths, boolean resume);
+
+    /**
+     * 最近一次知识图谱导入的进度
+     */
+    KnowledgeImportStatusDto getImportStatus();
+
+    /**
+     * 症状/疾病名称联想（前缀、中缀、拼音首字母）
+     * @param query 用户输入
+     * @param type 限定实体类型，null表示不限
+     * @param limit 返回数量
+     * @return 联想词列表
+     */
+    List<SuggestionDto> autocomplete(String query, MedicalEntityType type, int limit);
+
+    /**
+     * 按关键词全文检索疾病（名称和描述），按相关度排序
+     * @param keyword 关键词
+     * @return 疾病名称和描述
+     */
+    List<DiseaseInfoDto> searchDiseases(String keyword);
+
+    /**
+     * 识别文本中提到的医学实体（疾病、症状、并发症、治疗方法、食物）
+     * @param text 文本
+     * @return 按出现位置排序的实体
+     */
+    List<EntityMentionDto> extractEntities(String text);
+
+    /**
+     * 症状相似的疾病（预计算结果）
+     * @param diseaseName 疾病名称
+     * @return 按症状集合相似度降序排列的疾病
+     */
+    List<RelatedDiseaseDto> getRelatedDiseases(String diseaseName);
+
+    /**
+     * 批量检查多种疾病与多种食物的宜忌关系，并推荐适合所有疾病的食物
+     * @param diseases 所患疾病
+     * @param foods 要检查的食物
+     * @return 冲突食物、适宜食物和推荐食物
+     */
+    DietCheckDto checkDiet(List<String> diseases, List<String> foods);
+}
@@ -0,0 +1,16 @@
+package com.medical.qna.medical_qna_system.service;
+
+import com.medical.qna.medical_qna_system.dto.response.AnswerResponse;
+
+import java.util.Optional;
+
+public interface QuestionRouter {
+
+    /**
+     * 尝试直接由知识图谱回答问题
+     * 只处理"疾病 + 明确问题类型"的简单查询（并发症、饮食宜忌、就诊科室等），其余问题交给RAG
+     * @param question 用户问题
+     * @return 知识图谱给出的回答，不能回答或查询失败时为空
+     */
+    Optional<AnswerResponse> tryAnswer(String question);
+}
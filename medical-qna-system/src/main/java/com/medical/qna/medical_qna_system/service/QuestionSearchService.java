@@ -0,0 +1,39 @@
+package com.medical.qna.medical_qna_system.service;
+
+import com.medical.qna.medical_qna_system.dto.response.QuestionSearchHitDto;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+
+public interface QuestionSearchService {
+
+    /**
+     * 新增或更新一条问答记录的索引
+     */
+    void index(long id, long userId, String question, String answer, LocalDateTime createAt);
+
+    /**
+     * 删除一条问答记录的索引
+     */
+    void delete(long id);
+
+    /**
+     * 删除某个用户全部问答记录的索引
+     */
+    void deleteByUser(long userId);
+
+    /**
+     * 全文检索问答记录，按相关度排序并高亮
+     * @param userId 用户ID，为null时检索所有用户（管理端）
+     * @param keyword 搜索关键词
+     * @param page 页码（从0开始）
+     * @param size 每页大小
+     * @return 一页检索结果
+     */
+    Page<QuestionSearchHitDto> search(Long userId, String keyword, int page, int size);
+
+    /**
+     * 从数据库全量重建索引
+     */
+    void rebuild();
+}
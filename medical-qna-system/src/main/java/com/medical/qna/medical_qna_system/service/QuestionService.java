@@ -1,6 +1,10 @@
 package com.medical.qna.medical_qna_system.service;
 
+import com.medical.qna.medical_qna_system.dto.response.CursorPageDto;
 import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionSearchHitDto;
+import org.springframework.data.domain.Page;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,6 +25,32 @@ public interface QuestionService {
      */
     List<QuestionAnswerDto> getUserHistory(Long userId);
     
+    /**
+     * 游标分页获取用户历史记录
+     * @param userId 用户ID
+     * @param cursor 上一页返回的游标，为空时获取第一页
+     * @param size 每页大小，为空时使用默认值
+     * @return 一页历史记录及下一页游标
+     */
+    CursorPageDto<QuestionAnswerDto> getUserHistoryPage(Long userId, String cursor, Integer size);
+    
+    /**
+     * 游标分页获取用户历史记录摘要（问题 + 答案预览）
+     * @param userId 用户ID
+     * @param cursor 上一页返回的游标，为空时获取第一页
+     * @param size 每页大小，为空时使用默认值
+     * @return 一页历史记录摘要及下一页游标
+     */
+    CursorPageDto<QuestionAnswerSummaryDto> getUserHistorySummaryPage(Long userId, String cursor, Integer size);
+    
+    /**
+     * 获取单条完整问答记录
+     * @param id 记录ID
+     * @param userId 用户ID
+     * @return 问答记录，不存在或不属于该用户时为null
+     */
+    QuestionAnswerDto getQuestionAnswer(Long id, Long userId);
+    
     /**
      * 删除问答记录
      * @param id 记录ID
@@ -43,6 +73,16 @@ public interface QuestionService {
      */
     List<QuestionAnswerDto> searchUserHistory(Long userId, String keyword);
 
+    /**
+     * 全文检索用户的问答记录（问题和答案），按相关度排序并高亮命中词
+     * @param userId 用户ID
+     * @param keyword 搜索关键词
+     * @param page 页码（从0开始）
+     * @param size 每页大小
+     * @return 分页的检索结果
+     */
+    Page<QuestionSearchHitDto> fullTextSearchUserHistory(Long userId, String keyword, int page, int size);
+
     /**
      * 获取用户问答记录总数
      * @param userId 用户ID
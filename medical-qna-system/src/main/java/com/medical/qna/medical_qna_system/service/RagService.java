@@ -0,0 +1,13 @@
+package com.medical.qna.medical_qna_system.service;
+
+import reactor.core.publisher.Flux;
+
+public interface RagService {
+
+    /**
+     * 调用RAG服务，以流的形式返回回答片段
+     * @param question 用户问题
+     * @return 回答文本片段流
+     */
+    Flux<String> streamAnswer(String question);
+}
@@ -0,0 +1,16 @@
+package com.medical.qna.medical_qna_system.service;
+
+import com.medical.qna.medical_qna_system.dto.response.RelatedDiseaseDto;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RelatedDiseaseService {
+
+    /**
+     * 症状相似的疾病，读取预计算结果，不做实时计算
+     * @param diseaseName 疾病名称
+     * @return 按相似度降序排列的疾病，疾病不在图谱中时为空
+     */
+    Optional<List<RelatedDiseaseDto>> findRelated(String diseaseName);
+}
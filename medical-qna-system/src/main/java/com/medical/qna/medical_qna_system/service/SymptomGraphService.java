@@ -0,0 +1,28 @@
+package com.medical.qna.medical_qna_system.service;
+
+import com.medical.qna.medical_qna_system.dto.response.DiseaseMatchDto;
+import com.medical.qna.medical_qna_system.dto.response.SymptomGraphStatsDto;
+import com.medical.qna.medical_qna_system.knowledge.SymptomGraph;
+
+import java.util.List;
+
+public interface SymptomGraphService {
+
+    /**
+     * 按症状对疾病排序，在内存图谱快照上计算，不访问数据库
+     * @param symptoms 症状名称
+     * @param limit 返回数量
+     * @return 按相关度降序排列的疾病
+     */
+    List<DiseaseMatchDto> rankDiseases(List<String> symptoms, int limit);
+
+    /**
+     * 当前图谱快照
+     */
+    SymptomGraph getGraph();
+
+    /**
+     * 当前图谱快照的规模和内存占用
+     */
+    SymptomGraphStatsDto getStats();
+}
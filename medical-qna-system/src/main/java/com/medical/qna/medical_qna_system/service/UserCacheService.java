@@ -0,0 +1,34 @@
+package com.medical.qna.medical_qna_system.service;
+
+import com.medical.qna.medical_qna_system.entity.mysql.User;
+
+import java.util.Optional;
+
+public interface UserCacheService {
+
+    /**
+     * 根据用户ID查询缓存的用户
+     * @param userId 用户ID
+     * @return 缓存用户的副本，未命中时为空
+     */
+    Optional<User> getById(Long userId);
+
+    /**
+     * 根据用户名查询缓存的用户
+     * @param username 用户名
+     * @return 缓存用户的副本，未命中时为空
+     */
+    Optional<User> getByUsername(String username);
+
+    /**
+     * 缓存用户的快照，同时建立ID和用户名两个索引，之后对传入对象的修改不影响缓存
+     * @param user 用户
+     */
+    void put(User user);
+
+    /**
+     * 用户被修改或删除时失效缓存，事务中调用时提交后会再失效一次
+     * @param userId 用户ID
+     */
+    void evict(Long userId);
+}
@@ -4,23 +4,26 @@ import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
 import com.medical.qna.medical_qna_system.dto.request.RegisterRequest;
 import com.medical.qna.medical_qna_system.dto.request.UpdateUserRequest;
 import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto;
-import com.medical.qna.medical_qna_system.entity.mysql.QuestionAnswer;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionSearchHitDto;
 import com.medical.qna.medical_qna_system.entity.mysql.User;
 import com.medical.qna.medical_qna_system.exception.BusinessException;
+import com.medical.qna.medical_qna_system.persistence.QuestionAnswerWriteBehind;
 import com.medical.qna.medical_qna_system.repository.mysql.QuestionAnswerRepository;
 import com.medical.qna.medical_qna_system.repository.mysql.UserRepository;
 import com.medical.qna.medical_qna_system.service.AdminService;
+import com.medical.qna.medical_qna_system.service.QuestionSearchService;
+import com.medical.qna.medical_qna_system.service.UserCacheService;
 import com.medical.qna.medical_qna_system.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -31,6 +34,12 @@ public class AdminServiceImpl implements AdminService {
     private final UserRepository userRepository;
     private final QuestionAnswerRepository questionAnswerRepository;
     private final UserService userService;
+    private final QuestionSearchService questionSearchService;
+    private final UserCacheService userCacheService;
+    private final QuestionAnswerWriteBehind writeBehind;
+
+    @Value("${qa.history.preview-length:100}")
+    private int previewLength;
 
     @Override
     public User addUser(RegisterRequest request) {
@@ -39,13 +48,18 @@ public class AdminServiceImpl implements AdminService {
 
     @Override
     public void deleteUser(Long userId) {
-        // 删除关联记录
+        // 删除关联记录，包括尚未落库的
+        if (writeBehind.isEnabled()) {
+            writeBehind.discardUser(userId);
+        }
         questionAnswerRepository.deleteByUserId(userId);
+        questionSearchService.deleteByUser(userId);
 
         // 删除用户
         User user = userRepository.findById(userId)
                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
         userRepository.delete(user);
+        userCacheService.evict(userId);
         log.info("用户 {} (ID: {}) 已删除", user.getUsername(), user.getId());
     }
 
@@ -75,18 +89,29 @@ public class AdminServiceImpl implements AdminService {
             throw new BusinessException(ErrorCode.USER_NOT_FOUND);
         }
 
-        User user = userRepository.getReferenceById(userId);
-        Page<QuestionAnswer> questionAnswerPage = questionAnswerRepository.findByUserOrderByCreateAtDesc(user, pageable);
+        return questionAnswerRepository.findDtoPageByUserId(userId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<QuestionAnswerSummaryDto> getUserQuestionHistorySummary(Long userId, Pageable pageable) {
+        if (!userRepository.existsById(userId)) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
+
+        return questionAnswerRepository.findSummaryPageByUserId(userId, previewLength, pageable);
+    }
 
-        List<QuestionAnswerDto> questionAnswerDtos = questionAnswerPage.getContent().stream()
-               .map(qa -> QuestionAnswerDto.builder()
-                       .id(qa.getId())
-                       .question(qa.getQuestion())
-                       .answer(qa.getAnswer())
-                       .createAt(qa.getCreateAt())
-                       .build())
-               .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public QuestionAnswerDto getQuestionAnswer(Long id) {
+        return questionAnswerRepository.findDtoById(id, null)
+               .orElseThrow(() -> new BusinessException(ErrorCode.QUESTION_ANSWER_NOT_FOUND));
+    }
 
-        return new PageImpl<>(questionAnswerDtos, pageable, questionAnswerPage.getTotalElements());
+    @Override
+    @Transactional(readOnly = true)
+    public Page<QuestionSearchHitDto> searchQuestionAnswers(String keyword, Pageable pageable) {
+        return questionSearchService.search(null, keyword, pageable.getPageNumber(), pageable.getPageSize());
     }
-}
\ No newline at end of file
+}
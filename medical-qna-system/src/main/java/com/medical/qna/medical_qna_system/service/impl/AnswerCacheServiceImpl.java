@@ -0,0 +1,82 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.medical.qna.medical_qna_system.service.AnswerCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+public class AnswerCacheServiceImpl implements AnswerCacheService {
+
+    // 归一化时去掉空白和标点，"高血压的症状？" 与 "高血压的症状" 视为同一问题
+    private static final Pattern IGNORED_CHARS = Pattern.compile("[\\p{P}\\s]+");
+
+    // RAG服务的失败提示不应被缓存
+    private static final List<String> ERROR_ANSWER_PREFIXES = List.of(
+            "抱歉，RAG服务暂时不可用",
+            "系统未准备好",
+            "未找到相关背景信息"
+    );
+
+    private final boolean enabled;
+    private final Cache<String, String> cache;
+
+    public AnswerCacheServiceImpl(MeterRegistry meterRegistry,
+                                  @Value("${rag.cache.enabled:true}") boolean enabled,
+                                  @Value("${rag.cache.max-size:10000}") long maxSize,
+                                  @Value("${rag.cache.ttl-minutes:60}") long ttlMinutes) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "rag.answer");
+        log.info("RAG回答缓存: enabled={}, maxSize={}, ttl={}分钟", enabled, maxSize, ttlMinutes);
+    }
+
+    @Override
+    public Optional<String> get(String question) {
+        if (!enabled || question == null) {
+            return Optional.empty();
+        }
+        String answer = cache.getIfPresent(normalize(question));
+        if (answer != null) {
+            log.debug("RAG回答缓存命中: {}", question);
+        }
+        return Optional.ofNullable(answer);
+    }
+
+    @Override
+    public void put(String question, String answer) {
+        if (!enabled || question == null || answer == null || answer.isBlank()) {
+            return;
+        }
+        if (ERROR_ANSWER_PREFIXES.stream().anyMatch(answer::startsWith)) {
+            return;
+        }
+        String key = normalize(question);
+        if (!key.isEmpty()) {
+            cache.put(key, answer);
+        }
+    }
+
+    @Override
+    public String normalize(String question) {
+        // NFKC统一全角/半角字符
+        String normalized = Normalizer.normalize(question, Normalizer.Form.NFKC);
+        return IGNORED_CHARS.matcher(normalized).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,74 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import com.medical.qna.medical_qna_system.dto.response.SuggestionDto;
+import com.medical.qna.medical_qna_system.knowledge.AutocompleteIndex;
+import com.medical.qna.medical_qna_system.knowledge.SymptomGraph;
+import com.medical.qna.medical_qna_system.knowledge.SymptomGraphReloadedEvent;
+import com.medical.qna.medical_qna_system.service.AutocompleteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 症状/疾病名称联想
+ * 索引由疾病-症状图谱快照构建，快照替换后在同一后台线程上重建并整体替换，
+ * 已有名称的拼音首字母直接复用旧索引的结果，只对新增名称做拼音转换
+ */
+@Service
+@Slf4j
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private final int maxPinyinVariants;
+    private volatile AutocompleteIndex index = AutocompleteIndex.EMPTY;
+
+    public AutocompleteServiceImpl(@Value("${knowledge.autocomplete.max-pinyin-variants:4}") int maxPinyinVariants) {
+        this.maxPinyinVariants = maxPinyinVariants;
+    }
+
+    @EventListener
+    public void onSymptomGraphReloaded(SymptomGraphReloadedEvent event) {
+        long start = System.nanoTime();
+        SymptomGraph graph = event.current();
+        List<AutocompleteIndex.Entry> entries = new ArrayList<>(graph.diseaseCount() + graph.symptomCount());
+        for (int d = 0; d < graph.diseaseCount(); d++) {
+            entries.add(new AutocompleteIndex.Entry(graph.diseaseName(d), MedicalEntityType.DISEASE,
+                    graph.symptomDegree(d), List.of()));
+        }
+        for (int s = 0; s < graph.symptomCount(); s++) {
+            entries.add(new AutocompleteIndex.Entry(graph.symptomName(s), MedicalEntityType.SYMPTOM,
+                    graph.diseaseDegree(s), List.of()));
+        }
+
+        Map<String, List<String>> known = index.initialsByText();
+        AtomicInteger converted = new AtomicInteger();
+        AutocompleteIndex rebuilt = AutocompleteIndex.build(entries, text -> {
+            List<String> initials = known.get(text);
+            if (initials == null) {
+                converted.incrementAndGet();
+                initials = AutocompleteIndex.pinyinInitials(text, maxPinyinVariants);
+            }
+            return initials;
+        });
+        index = rebuilt;
+        log.info("名称联想索引已重建: 词条={}, 新增拼音转换={}, 耗时={}ms",
+                rebuilt.size(), converted.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public List<SuggestionDto> suggest(String query, MedicalEntityType type, int limit) {
+        return index.suggest(query, type, limit).stream()
+                .map(e -> SuggestionDto.builder()
+                        .text(e.text())
+                        .type(e.type())
+                        .popularity(e.popularity())
+                        .build())
+                .toList();
+    }
+}
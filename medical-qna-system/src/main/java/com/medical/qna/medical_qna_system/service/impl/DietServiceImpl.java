@@ -0,0 +1,52 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.medical.qna.medical_qna_system.knowledge.DietIndex;
+import com.medical.qna.medical_qna_system.knowledge.KnowledgeGraphChangedEvent;
+import com.medical.qna.medical_qna_system.repository.neo4j.KnowledgeGraphExportRepository;
+import com.medical.qna.medical_qna_system.service.DietService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 疾病饮食宜忌检查
+ * 索引在知识图谱刷新线程上从Neo4j整体加载（启动时、定时检测到图谱变化时、手动刷新时），完成后一次性替换
+ */
+@Service
+@Slf4j
+public class DietServiceImpl implements DietService {
+
+    private final KnowledgeGraphExportRepository exportRepository;
+
+    private volatile DietIndex index = DietIndex.EMPTY;
+
+    public DietServiceImpl(KnowledgeGraphExportRepository exportRepository, MeterRegistry meterRegistry) {
+        this.exportRepository = exportRepository;
+        Gauge.builder("kg.diet.index.bytes", this, s -> s.index.estimateBitsetBytes())
+                .description("饮食宜忌位图估算占用的堆内存")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onGraphChanged(KnowledgeGraphChangedEvent event) {
+        long start = System.nanoTime();
+        DietIndex.Builder builder = new DietIndex.Builder();
+        exportRepository.findAllDiseaseFoods()
+                .forEach(row -> builder.add(row.disease(), row.goodFoods(), row.badFoods()));
+        DietIndex loaded = builder.build();
+        index = loaded;
+        log.info("饮食宜忌索引已加载({}): 疾病={}, 食物={}, 位图={}KB, 耗时={}ms",
+                event.reason(), loaded.diseaseCount(), loaded.foodCount(), loaded.estimateBitsetBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public DietIndex.Result check(List<String> diseases, List<String> foods, int recommendationLimit) {
+        return index.check(diseases, foods, recommendationLimit);
+    }
+}
@@ -0,0 +1,46 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.medical.qna.medical_qna_system.knowledge.EntityExtractor;
+import com.medical.qna.medical_qna_system.knowledge.KnowledgeGraphChangedEvent;
+import com.medical.qna.medical_qna_system.repository.neo4j.KnowledgeGraphExportRepository;
+import com.medical.qna.medical_qna_system.service.EntityExtractionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 医学实体识别
+ * 自动机在知识图谱刷新线程上整体重建，完成后一次性替换引用，重建期间查询继续使用旧的自动机
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EntityExtractionServiceImpl implements EntityExtractionService {
+
+    private final KnowledgeGraphExportRepository exportRepository;
+
+    private volatile EntityExtractor extractor = EntityExtractor.EMPTY;
+
+    @EventListener
+    public void onGraphChanged(KnowledgeGraphChangedEvent event) {
+        long start = System.nanoTime();
+        List<EntityExtractor.Term> terms = exportRepository.findAllEntityNames().stream()
+                .map(e -> new EntityExtractor.Term(e.name(), e.type()))
+                .toList();
+        EntityExtractor rebuilt = EntityExtractor.build(terms);
+        extractor = rebuilt;
+        log.info("医学实体词表已重建({}): 名称={}, 自动机状态={}, 耗时={}ms",
+                event.reason(), rebuilt.size(), rebuilt.stateCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public List<EntityExtractor.Mention> extract(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        return extractor.extract(text);
+    }
+}
@@ -0,0 +1,63 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * 知识图谱导入的断点推进：段可能乱序完成，只有之前的段都已完成时才推进断点
+ */
+final class ImportWatermark {
+
+    private final ArrayDeque<Segment> open = new ArrayDeque<>();
+    private final LongConsumer onAdvance;
+
+    /**
+     * @param onAdvance 断点推进时以已完成的记录位置调用，调用时持有锁，按位置递增的顺序
+     */
+    ImportWatermark(LongConsumer onAdvance) {
+        this.onAdvance = onAdvance;
+    }
+
+    synchronized Segment open(long start) {
+        Segment segment = new Segment(start);
+        open.add(segment);
+        return segment;
+    }
+
+    /**
+     * 释放段的一个引用，最后一个引用释放时段完成
+     */
+    void release(Segment segment) {
+        if (segment.pending.decrementAndGet() == 0) {
+            complete(segment);
+        }
+    }
+
+    private synchronized void complete(Segment segment) {
+        segment.done = true;
+        long committed = -1;
+        while (!open.isEmpty() && open.peek().done) {
+            committed = open.poll().end;
+        }
+        if (committed >= 0) {
+            onAdvance.accept(committed);
+        }
+    }
+
+    /**
+     * 输入中连续的一段记录，pending初始为1（读取线程持有），每提交一个事务加1，
+     * 事务完成和读取线程封口时各减1，减到0时整段已写入
+     */
+    static final class Segment {
+        final long start;
+        volatile long end;
+        int rows;
+        final AtomicInteger pending = new AtomicInteger(1);
+        volatile boolean done;
+
+        Segment(long start) {
+            this.start = start;
+        }
+    }
+}
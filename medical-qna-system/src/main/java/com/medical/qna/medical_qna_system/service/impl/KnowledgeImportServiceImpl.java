@@ -0,0 +1,516 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
+import com.medical.qna.medical_qna_system.dto.response.KnowledgeImportStatusDto;
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+import com.medical.qna.medical_qna_system.knowledge.GraphImportCheckpoint;
+import com.medical.qna.medical_qna_system.knowledge.GraphImportCheckpoint.Phase;
+import com.medical.qna.medical_qna_system.knowledge.GraphImportReader;
+import com.medical.qna.medical_qna_system.knowledge.GraphImportReader.NodeRow;
+import com.medical.qna.medical_qna_system.knowledge.GraphImportReader.RelationshipRow;
+import com.medical.qna.medical_qna_system.knowledge.GraphRelationType;
+import com.medical.qna.medical_qna_system.knowledge.KnowledgeGraphWatcher;
+import com.medical.qna.medical_qna_system.repository.neo4j.KnowledgeGraphImportRepository;
+import com.medical.qna.medical_qna_system.repository.neo4j.KnowledgeGraphImportRepository.WriteCounters;
+import com.medical.qna.medical_qna_system.service.KnowledgeImportService;
+import com.medical.qna.medical_qna_system.service.impl.ImportWatermark.Segment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 知识图谱批量导入
+ * 输入流式读取两遍：第一遍合并节点（包括关系端点引用到的节点），第二遍合并关系，关系写入时两端节点都已存在。
+ * 读取线程把记录按分区键分给多个写入线程，每个写入线程每次提交若干个事务（每个事务若干条UNWIND语句）：
+ * 节点按 标签+名称 分区，不同线程写的节点互不相同。
+ * 关系的两端一端按分区归某个线程独占，另一端被多个线程共享：疾病的关系按终点分区，疾病共享；
+ * BELONGS_TO_CATEGORY按起点（科室）分区，与BELONGS_TO的科室终点落在同一线程，科室大类共享。
+ * 每个事务只写一种关系，共享端只有一种标签，行按共享端名称排序，各线程按同一顺序加锁，不会互相死锁。
+ * 导入文件只能位于配置的导入目录下。
+ * 输入按固定记录数切分为段，一段的所有事务提交后推进断点，失败后可从断点继续
+ */
+@Service
+@Slf4j
+public class KnowledgeImportServiceImpl implements KnowledgeImportService {
+
+    private final KnowledgeGraphImportRepository importRepository;
+    private final KnowledgeGraphWatcher knowledgeGraphWatcher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int rowsPerTransaction;
+    private final int workers;
+    private final int queueCapacity;
+    private final Path checkpointPath;
+    private final Path importDir;
+    private final long progressLogIntervalMs;
+    private final Counter nodesCounter;
+    private final Counter relationshipsCounter;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "kg-import");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile ImportJob job;
+
+    public KnowledgeImportServiceImpl(KnowledgeGraphImportRepository importRepository,
+                                      KnowledgeGraphWatcher knowledgeGraphWatcher,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${knowledge.import.batch-size:1000}") int batchSize,
+                                      @Value("${knowledge.import.batches-per-transaction:10}") int batchesPerTransaction,
+                                      @Value("${knowledge.import.workers:4}") int workers,
+                                      @Value("${knowledge.import.queue-capacity:2}") int queueCapacity,
+                                      @Value("${knowledge.import.checkpoint-file:data/kg-import/checkpoint.json}") String checkpointFile,
+                                      @Value("${knowledge.import.dir:data/kg-import}") String importDir,
+                                      @Value("${knowledge.import.progress-log-interval-ms:10000}") long progressLogIntervalMs) {
+        this.importRepository = importRepository;
+        this.knowledgeGraphWatcher = knowledgeGraphWatcher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.rowsPerTransaction = batchSize * batchesPerTransaction;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.checkpointPath = Path.of(checkpointFile);
+        this.importDir = Path.of(importDir);
+        this.progressLogIntervalMs = progressLogIntervalMs;
+        this.nodesCounter = Counter.builder("kg.import.rows")
+                .tag("phase", "nodes")
+                .description("知识图谱导入写入的行数")
+                .register(meterRegistry);
+        this.relationshipsCounter = Counter.builder("kg.import.rows")
+                .tag("phase", "relationships")
+                .description("知识图谱导入写入的行数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public KnowledgeImportStatusDto startImport(List<String> paths, boolean resume) {
+        // 解析路径涉及文件系统访问，放在锁外
+        List<Path> files = resolveImportFiles(paths);
+        synchronized (this) {
+            if (job != null && job.state == ImportState.RUNNING) {
+                throw new BusinessException(ErrorCode.IMPORT_IN_PROGRESS);
+            }
+            ImportJob started = new ImportJob(files, resume);
+            job = started;
+            executor.execute(() -> run(started));
+            return started.toStatus();
+        }
+    }
+
+    private List<Path> resolveImportFiles(List<String> paths) {
+        Path root;
+        try {
+            root = importDir.toRealPath();
+        } catch (IOException e) {
+            log.warn("知识图谱导入目录不可用: {}", importDir.toAbsolutePath());
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "导入目录不存在");
+        }
+        List<Path> files = new ArrayList<>();
+        for (String p : paths) {
+            files.add(resolveImportFile(root, p));
+        }
+        return files;
+    }
+
+    /**
+     * 相对路径按导入目录解析，解析符号链接后必须仍在导入目录下
+     */
+    private static Path resolveImportFile(Path root, String path) {
+        Path file;
+        try {
+            file = root.resolve(path.trim()).toRealPath();
+        } catch (IOException | InvalidPathException e) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "导入文件不存在或不可读: " + path);
+        }
+        if (!file.startsWith(root)) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "导入文件必须位于导入目录下: " + path);
+        }
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "导入文件不存在或不可读: " + path);
+        }
+        return file;
+    }
+
+    @Override
+    public KnowledgeImportStatusDto getStatus() {
+        ImportJob current = job;
+        return current == null ? null : current.toStatus();
+    }
+
+    private void run(ImportJob job) {
+        try {
+            String fingerprint = GraphImportCheckpoint.fingerprint(job.files);
+            GraphImportCheckpoint checkpoint = job.resume
+                    ? GraphImportCheckpoint.load(checkpointPath, fingerprint, objectMapper) : null;
+            if (checkpoint != null) {
+                job.resumedFrom = checkpoint.phase() + ":" + checkpoint.committed();
+                log.info("知识图谱导入从断点继续: {}", job.resumedFrom);
+            }
+            for (Phase phase : Phase.values()) {
+                if (checkpoint != null && phase.ordinal() < checkpoint.phase().ordinal()) {
+                    continue;
+                }
+                long skip = checkpoint != null && phase == checkpoint.phase() ? checkpoint.committed() : 0;
+                runPhase(job, fingerprint, phase, skip);
+                if (phase.ordinal() + 1 < Phase.values().length) {
+                    new GraphImportCheckpoint(fingerprint, Phase.values()[phase.ordinal() + 1], 0)
+                            .save(checkpointPath, objectMapper);
+                }
+            }
+            Files.deleteIfExists(checkpointPath);
+            job.finish(ImportState.COMPLETED, null);
+            log.info("知识图谱导入完成: 节点={}(新建{}), 关系={}(新建{}), 节点{}/s, 关系{}/s, 跳过无效记录={}",
+                    job.nodesMerged.get(), job.nodesCreated.get(),
+                    job.relationshipsMerged.get(), job.relationshipsCreated.get(),
+                    Math.round(job.rate(Phase.NODES)), Math.round(job.rate(Phase.RELATIONSHIPS)), job.recordsSkipped);
+        } catch (Exception e) {
+            job.finish(ImportState.FAILED, e.getMessage());
+            log.error("知识图谱导入失败，可从断点继续: phase={}, committed={}", job.phase, job.recordsCommitted.get(), e);
+        } finally {
+            if (job.nodesMerged.get() + job.relationshipsMerged.get() > 0) {
+                knowledgeGraphWatcher.requestRefresh("import");
+            }
+        }
+    }
+
+    private void runPhase(ImportJob job, String fingerprint, Phase phase, long skip) throws Exception {
+        job.startPhase(phase, skip);
+        // 按分发给写入线程的行数封段，节点阶段大部分关系记录不产生新行，按记录数封段会得到很小的事务
+        int segmentRows = workers * rowsPerTransaction;
+        job.recordsCommitted.set(skip);
+        ImportWatermark watermark = new ImportWatermark(committed -> {
+            job.recordsCommitted.set(committed);
+            try {
+                new GraphImportCheckpoint(fingerprint, phase, committed).save(checkpointPath, objectMapper);
+            } catch (Exception e) {
+                log.warn("保存知识图谱导入断点失败: {}", e.getMessage());
+            }
+        });
+        List<BlockingQueue<Chunk>> queues = new ArrayList<>(workers);
+        List<Future<?>> writers = new ArrayList<>(workers);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "kg-import-writer-" + threadIndex.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (int w = 0; w < workers; w++) {
+                BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+                queues.add(queue);
+                writers.add(pool.submit(() -> {
+                    write(job, phase, queue, watermark);
+                    return null;
+                }));
+            }
+
+            Set<String> seenNodes = new HashSet<>();
+            List<List<GraphImportReader.Row>> buffers = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                buffers.add(new ArrayList<>());
+            }
+            long position = 0;
+            long lastLog = System.currentTimeMillis();
+            Segment segment = watermark.open(skip);
+            try (GraphImportReader reader = new GraphImportReader(job.files, objectMapper, phase == Phase.NODES)) {
+                GraphImportReader.Row row;
+                while ((row = reader.next()) != null && job.failure == null) {
+                    if (++position <= skip) {
+                        continue;
+                    }
+                    job.recordsRead.incrementAndGet();
+                    if (phase == Phase.NODES) {
+                        segment.rows += routeNode(row, seenNodes, buffers);
+                    } else if (row instanceof RelationshipRow relationship) {
+                        segment.rows += route(ownedEndpoint(relationship), row, buffers);
+                    }
+                    for (int w = 0; w < workers; w++) {
+                        if (buffers.get(w).size() >= rowsPerTransaction) {
+                            submit(segment, buffers.get(w), queues.get(w));
+                            buffers.set(w, new ArrayList<>());
+                        }
+                    }
+                    if (segment.rows >= segmentRows) {
+                        segment = seal(segment, position, buffers, queues, watermark);
+                    }
+                    if (System.currentTimeMillis() - lastLog >= progressLogIntervalMs) {
+                        lastLog = System.currentTimeMillis();
+                        log.info("知识图谱导入进度: phase={}, 已读取={}, 已提交={}, 节点{}/s, 关系{}/s",
+                                phase, position, job.recordsCommitted.get(),
+                                Math.round(job.rate(Phase.NODES)), Math.round(job.rate(Phase.RELATIONSHIPS)));
+                    }
+                }
+                if (phase == Phase.NODES) {
+                    job.recordsSkipped = reader.skipped();
+                }
+            }
+            if (job.failure == null) {
+                seal(segment, position, buffers, queues, watermark);
+            }
+        } finally {
+            for (BlockingQueue<Chunk> queue : queues) {
+                queue.put(Chunk.END);
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            pool.shutdown();
+            job.endPhase(phase);
+        }
+        if (job.failure != null) {
+            throw job.failure;
+        }
+    }
+
+    /**
+     * 节点阶段：显式的节点记录带属性写入，关系记录引用到的端点节点只按名称合并一次
+     */
+    private int routeNode(GraphImportReader.Row row, Set<String> seenNodes, List<List<GraphImportReader.Row>> buffers) {
+        if (row instanceof NodeRow node) {
+            String key = node.label() + '\u0000' + node.name();
+            seenNodes.add(key);
+            return route(key, node, buffers);
+        }
+        RelationshipRow relationship = (RelationshipRow) row;
+        GraphRelationType type = relationship.type();
+        return routeEndpoint(type.getFromLabel(), relationship.from(), seenNodes, buffers)
+                + routeEndpoint(type.getToLabel(), relationship.to(), seenNodes, buffers);
+    }
+
+    private int routeEndpoint(String label, String name, Set<String> seenNodes, List<List<GraphImportReader.Row>> buffers) {
+        String key = label + '\u0000' + name;
+        return seenNodes.add(key) ? route(key, new NodeRow(label, name, Map.of()), buffers) : 0;
+    }
+
+    /**
+     * 关系中由分区线程独占的一端（标签+名称）
+     */
+    private static String ownedEndpoint(RelationshipRow relationship) {
+        GraphRelationType type = relationship.type();
+        return type == GraphRelationType.BELONGS_TO_CATEGORY
+                ? type.getFromLabel() + '\u0000' + relationship.from()
+                : type.getToLabel() + '\u0000' + relationship.to();
+    }
+
+    /**
+     * 关系中被多个线程共享的一端的名称，事务内按它排序加锁
+     */
+    private static String sharedEndpoint(RelationshipRow relationship) {
+        return relationship.type() == GraphRelationType.BELONGS_TO_CATEGORY ? relationship.to() : relationship.from();
+    }
+
+    /**
+     * 按键分配写入线程，返回分发的行数
+     */
+    private int route(String key, GraphImportReader.Row row, List<List<GraphImportReader.Row>> buffers) {
+        buffers.get(Math.floorMod(key.hashCode(), workers)).add(row);
+        return 1;
+    }
+
+    private void submit(Segment segment, List<GraphImportReader.Row> rows, BlockingQueue<Chunk> queue)
+            throws InterruptedException {
+        segment.pending.incrementAndGet();
+        queue.put(new Chunk(segment, rows));
+    }
+
+    /**
+     * 提交一段剩余的行，返回下一段
+     */
+    private Segment seal(Segment segment, long end, List<List<GraphImportReader.Row>> buffers,
+                         List<BlockingQueue<Chunk>> queues, ImportWatermark watermark) throws InterruptedException {
+        for (int w = 0; w < workers; w++) {
+            if (!buffers.get(w).isEmpty()) {
+                submit(segment, buffers.get(w), queues.get(w));
+                buffers.set(w, new ArrayList<>());
+            }
+        }
+        segment.end = end;
+        watermark.release(segment);
+        return watermark.open(end);
+    }
+
+    private void write(ImportJob job, Phase phase, BlockingQueue<Chunk> queue, ImportWatermark watermark)
+            throws InterruptedException {
+        while (true) {
+            Chunk chunk = queue.take();
+            if (chunk == Chunk.END) {
+                return;
+            }
+            if (job.failure != null) {
+                continue;
+            }
+            try {
+                if (phase == Phase.NODES) {
+                    writeNodes(job, chunk.rows());
+                } else {
+                    writeRelationships(job, chunk.rows());
+                }
+                watermark.release(chunk.segment());
+            } catch (Exception e) {
+                job.fail(e);
+            }
+        }
+    }
+
+    private void writeNodes(ImportJob job, List<GraphImportReader.Row> rows) {
+        Map<String, List<Map<String, Object>>> rowsByLabel = new TreeMap<>();
+        rows.stream()
+                .map(NodeRow.class::cast)
+                .sorted(Comparator.comparing(NodeRow::name))
+                .forEach(n -> rowsByLabel.computeIfAbsent(n.label(), l -> new ArrayList<>())
+                        .add(Map.of("name", n.name(), "props", n.properties())));
+        WriteCounters counters = importRepository.mergeNodes(rowsByLabel, batchSize);
+        job.nodesMerged.addAndGet(rows.size());
+        job.nodesCreated.addAndGet(counters.nodesCreated());
+        nodesCounter.increment(rows.size());
+    }
+
+    /**
+     * 每种关系一个事务
+     */
+    private void writeRelationships(ImportJob job, List<GraphImportReader.Row> rows) {
+        Map<GraphRelationType, List<RelationshipRow>> rowsByType = new EnumMap<>(GraphRelationType.class);
+        for (GraphImportReader.Row row : rows) {
+            RelationshipRow relationship = (RelationshipRow) row;
+            rowsByType.computeIfAbsent(relationship.type(), t -> new ArrayList<>()).add(relationship);
+        }
+        rowsByType.forEach((type, relationships) -> {
+            List<Map<String, Object>> sorted = relationships.stream()
+                    .sorted(Comparator.comparing(KnowledgeImportServiceImpl::sharedEndpoint)
+                            .thenComparing(RelationshipRow::from)
+                            .thenComparing(RelationshipRow::to))
+                    .map(r -> Map.<String, Object>of("from", r.from(), "to", r.to()))
+                    .toList();
+            WriteCounters counters = importRepository.mergeRelationships(type, sorted, batchSize);
+            job.relationshipsMerged.addAndGet(sorted.size());
+            job.relationshipsCreated.addAndGet(counters.relationshipsCreated());
+            relationshipsCounter.increment(sorted.size());
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private enum ImportState {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private record Chunk(Segment segment, List<GraphImportReader.Row> rows) {
+        static final Chunk END = new Chunk(null, List.of());
+    }
+
+    private static final class ImportJob {
+        final List<Path> files;
+        final boolean resume;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        volatile LocalDateTime finishedAt;
+        volatile ImportState state = ImportState.RUNNING;
+        volatile Phase phase = Phase.NODES;
+        volatile String resumedFrom;
+        volatile String error;
+        volatile Exception failure;
+        volatile long recordsSkipped;
+        final AtomicLong recordsRead = new AtomicLong();
+        final AtomicLong recordsCommitted = new AtomicLong();
+        final AtomicLong nodesMerged = new AtomicLong();
+        final AtomicLong nodesCreated = new AtomicLong();
+        final AtomicLong relationshipsMerged = new AtomicLong();
+        final AtomicLong relationshipsCreated = new AtomicLong();
+        // 各阶段的开始时间和耗时，用于计算吞吐
+        final Map<Phase, Long> phaseStartNanos = new EnumMap<>(Phase.class);
+        final Map<Phase, Long> phaseNanos = new EnumMap<>(Phase.class);
+
+        ImportJob(List<Path> files, boolean resume) {
+            this.files = files;
+            this.resume = resume;
+        }
+
+        synchronized void startPhase(Phase phase, long skip) {
+            this.phase = phase;
+            recordsRead.set(skip);
+            phaseStartNanos.put(phase, System.nanoTime());
+        }
+
+        synchronized void endPhase(Phase phase) {
+            Long start = phaseStartNanos.get(phase);
+            if (start != null) {
+                phaseNanos.put(phase, System.nanoTime() - start);
+            }
+        }
+
+        synchronized double rate(Phase phase) {
+            Long nanos = phaseNanos.get(phase);
+            if (nanos == null) {
+                Long start = phaseStartNanos.get(phase);
+                nanos = start == null ? null : System.nanoTime() - start;
+            }
+            if (nanos == null || nanos == 0) {
+                return 0;
+            }
+            long rows = phase == Phase.NODES ? nodesMerged.get() : relationshipsMerged.get();
+            return rows * 1e9 / nanos;
+        }
+
+        void fail(Exception e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        void finish(ImportState state, String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.state = state;
+        }
+
+        KnowledgeImportStatusDto toStatus() {
+            return KnowledgeImportStatusDto.builder()
+                    .state(state.name())
+                    .paths(files.stream().map(Path::toString).toList())
+                    .phase(phase.name())
+                    .resumedFrom(resumedFrom)
+                    .recordsRead(recordsRead.get())
+                    .recordsCommitted(recordsCommitted.get())
+                    .recordsSkipped(recordsSkipped)
+                    .nodesMerged(nodesMerged.get())
+                    .nodesCreated(nodesCreated.get())
+                    .relationshipsMerged(relationshipsMerged.get())
+                    .relationshipsCreated(relationshipsCreated.get())
+                    .nodesPerSecond(rate(Phase.NODES))
+                    .relationshipsPerSecond(rate(Phase.RELATIONSHIPS))
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.medical.qna.medical_qna_system.common.enums.DiseaseView;
+import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import com.medical.qna.medical_qna_system.dto.response.DietCheckDto;
+import com.medical.qna.medical_qna_system.dto.response.DietConflictDto;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseDetailDto;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseInfoDto;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseMatchDto;
+import com.medical.qna.medical_qna_system.dto.response.EntityMentionDto;
+import com.medical.qna.medical_qna_system.dto.response.FoodRecommendationDto;
+import com.medical.qna.medical_qna_system.dto.response.KnowledgeImportStatusDto;
+import com.medical.qna.medical_qna_system.dto.response.RelatedDiseaseDto;
+import com.medical.qna.medical_qna_system.dto.response.SuggestionDto;
+import com.medical.qna.medical_qna_system.dto.response.SymptomGraphStatsDto;
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+import com.medical.qna.medical_qna_system.knowledge.DietIndex;
+import com.medical.qna.medical_qna_system.knowledge.KnowledgeGraphWatcher;
+import com.medical.qna.medical_qna_system.repository.neo4j.DiseaseProfileRepository;
+import com.medical.qna.medical_qna_system.service.AutocompleteService;
+import com.medical.qna.medical_qna_system.service.DietService;
+import com.medical.qna.medical_qna_system.service.EntityExtractionService;
+import com.medical.qna.medical_qna_system.service.KnowledgeImportService;
+import com.medical.qna.medical_qna_system.service.KnowledgeService;
+import com.medical.qna.medical_qna_system.service.RelatedDiseaseService;
+import com.medical.qna.medical_qna_system.service.SymptomGraphService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KnowledgeServiceImpl implements KnowledgeService {
+
+    private final DiseaseProfileRepository diseaseProfileRepository;
+    private final SymptomGraphService symptomGraphService;
+    private final AutocompleteService autocompleteService;
+    private final EntityExtractionService entityExtractionService;
+    private final RelatedDiseaseService relatedDiseaseService;
+    private final DietService dietService;
+    private final KnowledgeImportService knowledgeImportService;
+    private final KnowledgeGraphWatcher knowledgeGraphWatcher;
+
+    @Value("${knowledge.profile.max-batch-size:50}")
+    private int maxBatchSize;
+
+    @Value("${knowledge.search.limit:10}")
+    private int searchLimit;
+
+    @Value("${knowledge.autocomplete.max-limit:20}")
+    private int maxSuggestions;
+
+    @Value("${knowledge.diet.max-diseases:20}")
+    private int maxDietDiseases;
+
+    @Value("${knowledge.diet.max-foods:200}")
+    private int maxDietFoods;
+
+    @Value("${knowledge.diet.recommendation-limit:20}")
+    private int dietRecommendationLimit;
+
+    @Override
+    public DiseaseInfoDto getDiseaseProfile(String diseaseName) {
+        if (diseaseName == null || diseaseName.isBlank()) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "疾病名称不能为空");
+        }
+        return diseaseProfileRepository.findProfile(diseaseName.trim())
+                .orElseThrow(() -> new BusinessException(ErrorCode.DISEASE_NOT_FOUND));
+    }
+
+    @Override
+    public DiseaseDetailDto getDiseaseDetail(String diseaseName, DiseaseView view) {
+        if (diseaseName == null || diseaseName.isBlank()) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "疾病名称不能为空");
+        }
+        String name = diseaseName.trim();
+        Optional<DiseaseDetailDto> detail = switch (view) {
+            case SUMMARY -> diseaseProfileRepository.findSummary(name);
+            case SYMPTOMS -> diseaseProfileRepository.findSummaryWithSymptoms(name);
+            case FULL -> diseaseProfileRepository.findDetail(name);
+        };
+        return detail.orElseThrow(() -> new BusinessException(ErrorCode.DISEASE_NOT_FOUND));
+    }
+
+    @Override
+    public List<DiseaseInfoDto> getDiseaseProfiles(List<String> diseaseNames) {
+        LinkedHashSet<String> names = diseaseNames.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (names.size() > maxBatchSize) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "一次最多查询" + maxBatchSize + "种疾病");
+        }
+        if (names.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, DiseaseInfoDto> profiles = diseaseProfileRepository.findProfiles(List.copyOf(names)).stream()
+                .collect(Collectors.toMap(DiseaseInfoDto::getDiseaseName, Function.identity(), (a, b) -> a));
+        log.debug("批量获取疾病档案: 请求={}, 命中={}", names.size(), profiles.size());
+        return names.stream()
+                .map(profiles::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<DiseaseMatchDto> rankDiseasesBySymptoms(List<String> symptoms, int limit) {
+        List<String> names = symptoms.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+        return symptomGraphService.rankDiseases(names, limit);
+    }
+
+    @Override
+    public SymptomGraphStatsDto getGraphStats() {
+        return symptomGraphService.getStats();
+    }
+
+    @Override
+    public void refreshGraph() {
+        knowledgeGraphWatcher.requestRefresh("manual");
+        log.info("已提交知识图谱重新加载任务");
+    }
+
+    @Override
+    public KnowledgeImportStatusDto importGraph(List<String> paths, boolean resume) {
+        List<String> files = normalizeNames(paths);
+        if (files.isEmpty()) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "导入文件列表不能为空");
+        }
+        return knowledgeImportService.startImport(files, resume);
+    }
+
+    @Override
+    public KnowledgeImportStatusDto getImportStatus() {
+        return knowledgeImportService.getStatus();
+    }
+
+    @Override
+    public List<SuggestionDto> autocomplete(String query, MedicalEntityType type, int limit) {
+        return autocompleteService.suggest(query, type, Math.min(Math.max(limit, 1), maxSuggestions));
+    }
+
+    @Override
+    public List<DiseaseInfoDto> searchDiseases(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "搜索关键词不能为空");
+        }
+        return List.copyOf(diseaseProfileRepository.search(keyword, searchLimit));
+    }
+
+    @Override
+    public List<EntityMentionDto> extractEntities(String text) {
+        return entityExtractionService.extract(text).stream()
+                .map(m -> EntityMentionDto.builder()
+                        .text(m.text())
+                        .start(m.start())
+                        .end(m.end())
+                        .types(m.types())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public List<RelatedDiseaseDto> getRelatedDiseases(String diseaseName) {
+        if (diseaseName == null || diseaseName.isBlank()) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "疾病名称不能为空");
+        }
+        return relatedDiseaseService.findRelated(diseaseName.trim())
+                .orElseThrow(() -> new BusinessException(ErrorCode.DISEASE_NOT_FOUND));
+    }
+
+    @Override
+    public DietCheckDto checkDiet(List<String> diseases, List<String> foods) {
+        List<String> diseaseNames = normalizeNames(diseases);
+        List<String> foodNames = foods == null ? List.of() : normalizeNames(foods);
+        if (diseaseNames.isEmpty()) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "疾病名称不能为空");
+        }
+        if (diseaseNames.size() > maxDietDiseases) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "一次最多检查" + maxDietDiseases + "种疾病");
+        }
+        if (foodNames.size() > maxDietFoods) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "一次最多检查" + maxDietFoods + "种食物");
+        }
+
+        DietIndex.Result result = dietService.check(diseaseNames, foodNames, dietRecommendationLimit);
+        return DietCheckDto.builder()
+                .conflicts(result.conflicts().stream()
+                        .map(c -> DietConflictDto.builder()
+                                .food(c.food())
+                                .badFor(c.badFor())
+                                .goodFor(c.goodFor())
+                                .build())
+                        .toList())
+                .suitableFoods(result.suitable())
+                .unratedFoods(result.unrated())
+                .recommendations(result.recommendations().stream()
+                        .map(r -> FoodRecommendationDto.builder()
+                                .food(r.food())
+                                .goodFor(r.goodFor())
+                                .build())
+                        .toList())
+                .unknownDiseases(result.unknownDiseases())
+                .unknownFoods(result.unknownFoods())
+                .build();
+    }
+
+    private static List<String> normalizeNames(List<String> names) {
+        return names.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,200 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import com.medical.qna.medical_qna_system.dto.response.AnswerResponse;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseInfoDto;
+import com.medical.qna.medical_qna_system.entity.neo4j.Symptom;
+import com.medical.qna.medical_qna_system.knowledge.QuestionIntent;
+import com.medical.qna.medical_qna_system.knowledge.EntityExtractor;
+import com.medical.qna.medical_qna_system.repository.neo4j.DiseaseProfileRepository;
+import com.medical.qna.medical_qna_system.repository.neo4j.MedicalKnowledgeRepository;
+import com.medical.qna.medical_qna_system.service.EntityExtractionService;
+import com.medical.qna.medical_qna_system.service.QuestionRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 知识图谱优先的问题路由
+ * 问题中恰好提到一种疾病且只命中一种问题类型时，直接查询Neo4j生成回答（毫秒级），否则交给RAG（秒级）。
+ * 问题中还提到具体的食物、治疗方法或症状时（如"糖尿病能不能吃香蕉"），问的是这一项而不是整个列表，同样交给RAG。
+ * 每次路由计入 qa.route{path=fast|rag, reason}，qa.route.fast.ratio 为启动以来走快速通道的比例
+ */
+@Service
+@Slf4j
+public class QuestionRouterImpl implements QuestionRouter {
+
+    private static final String SEPARATOR = "、";
+
+    private final EntityExtractionService entityExtractionService;
+    private final MedicalKnowledgeRepository medicalKnowledgeRepository;
+    private final DiseaseProfileRepository diseaseProfileRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxQuestionLength;
+    private final int maxItems;
+
+    private final AtomicLong fastCount = new AtomicLong();
+    private final AtomicLong totalCount = new AtomicLong();
+
+    public QuestionRouterImpl(EntityExtractionService entityExtractionService,
+                              MedicalKnowledgeRepository medicalKnowledgeRepository,
+                              DiseaseProfileRepository diseaseProfileRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${knowledge.fast-path.enabled:true}") boolean enabled,
+                              @Value("${knowledge.fast-path.max-question-length:30}") int maxQuestionLength,
+                              @Value("${knowledge.fast-path.max-items:15}") int maxItems) {
+        this.entityExtractionService = entityExtractionService;
+        this.medicalKnowledgeRepository = medicalKnowledgeRepository;
+        this.diseaseProfileRepository = diseaseProfileRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxQuestionLength = maxQuestionLength;
+        this.maxItems = maxItems;
+        Gauge.builder("qa.route.fast.ratio", this,
+                        r -> r.totalCount.get() == 0 ? 0.0 : (double) r.fastCount.get() / r.totalCount.get())
+                .description("由知识图谱直接回答的问题比例")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<AnswerResponse> tryAnswer(String question) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            return route(question);
+        } catch (Exception e) {
+            // 知识图谱不可用时不影响正常问答，同样计入回退
+            log.warn("知识图谱快速回答失败，转交RAG服务: {}", e.getMessage());
+            return fallback("error");
+        }
+    }
+
+    private Optional<AnswerResponse> route(String question) {
+        // 较长的问题通常带有个人情况描述，需要RAG综合回答
+        if (question.length() > maxQuestionLength) {
+            return fallback("too_long");
+        }
+        QuestionIntent intent = QuestionIntent.detect(question);
+        if (intent == null) {
+            return fallback("no_intent");
+        }
+        List<EntityExtractor.Mention> mentions = entityExtractionService.extract(question);
+        Set<String> diseases = findDiseases(mentions);
+        if (diseases.size() != 1) {
+            return fallback(diseases.isEmpty() ? "no_disease" : "multiple_diseases");
+        }
+        if (mentionsSpecificEntity(mentions)) {
+            return fallback("specific_entity");
+        }
+
+        String disease = diseases.iterator().next();
+        DiseaseInfoDto.DiseaseInfoDtoBuilder info = DiseaseInfoDto.builder().diseaseName(disease);
+        List<String> departments = null;
+        List<String> items;
+        switch (intent) {
+            case BAD_FOOD -> {
+                items = medicalKnowledgeRepository.findBadFoodsByDisease(disease);
+                info.badFoods(items);
+            }
+            case GOOD_FOOD -> {
+                items = medicalKnowledgeRepository.findGoodFoodsByDisease(disease);
+                info.goodFoods(items);
+            }
+            case COMPLICATION -> {
+                items = medicalKnowledgeRepository.findComplicationsByDisease(disease);
+                info.complications(items);
+            }
+            case SYMPTOM -> {
+                items = medicalKnowledgeRepository.findSymptomsByDisease(disease).stream()
+                        .map(Symptom::getName)
+                        .toList();
+                info.symptoms(items);
+            }
+            case TREATMENT -> {
+                items = medicalKnowledgeRepository.findTreatmentsByDisease(disease);
+                info.treatments(items);
+            }
+            case DEPARTMENT -> {
+                // 科室和科室分类需要两列结果，使用疾病档案查询
+                DiseaseInfoDto profile = diseaseProfileRepository.findProfile(disease).orElse(null);
+                items = profile != null ? profile.getDepartments() : List.of();
+                departments = items;
+                info.departments(items);
+                if (profile != null) {
+                    info.departmentCategories(profile.getDepartmentCategories());
+                }
+            }
+            default -> items = List.of();
+        }
+        // 图谱中没有相关数据时不回答"无"，交给RAG
+        if (items == null || items.isEmpty()) {
+            return fallback("empty_result");
+        }
+
+        List<String> shown = items.stream().distinct().limit(maxItems).toList();
+        AnswerResponse response = new AnswerResponse();
+        response.setAnswer(intent.formatAnswer(disease, String.join(SEPARATOR, shown)));
+        response.setTimestamp(LocalDateTime.now());
+        response.setDiseaseInfo(info.build());
+        response.setRecommendedDepartments(departments);
+        record("fast", intent.name().toLowerCase());
+        log.debug("知识图谱直接回答: 疾病={}, 类型={}", disease, intent);
+        return Optional.of(response);
+    }
+
+    /**
+     * 问题中提到的疾病名称，实体重叠时取最长的（如"糖尿病肾病"而不是"糖尿病"）
+     */
+    private static Set<String> findDiseases(List<EntityExtractor.Mention> mentions) {
+        Set<String> found = new LinkedHashSet<>();
+        for (EntityExtractor.Mention mention : mentions) {
+            if (mention.is(MedicalEntityType.DISEASE)) {
+                found.add(mention.text());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 是否提到了疾病以外的具体食物、治疗方法或症状（同名的疾病不算）
+     */
+    private static boolean mentionsSpecificEntity(List<EntityExtractor.Mention> mentions) {
+        for (EntityExtractor.Mention mention : mentions) {
+            if (!mention.is(MedicalEntityType.DISEASE) && (mention.is(MedicalEntityType.FOOD)
+                    || mention.is(MedicalEntityType.TREATMENT) || mention.is(MedicalEntityType.SYMPTOM))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Optional<AnswerResponse> fallback(String reason) {
+        record("rag", reason);
+        return Optional.empty();
+    }
+
+    private void record(String path, String reason) {
+        totalCount.incrementAndGet();
+        if ("fast".equals(path)) {
+            fastCount.incrementAndGet();
+        }
+        Counter.builder("qa.route")
+                .description("问题路由结果：fast为知识图谱直接回答，rag为交给RAG服务")
+                .tag("path", path)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,403 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
+import com.medical.qna.medical_qna_system.dto.response.QuestionSearchHitDto;
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+import com.medical.qna.medical_qna_system.service.QuestionSearchService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于Lucene的问答历史全文索引
+ * 使用CJK二元分词，保存/删除问答记录时增量更新，近实时可见
+ * 索引定时提交，提交时在commit user data中记录已索引的最大ID。进程异常退出会丢失上次提交后的更新，
+ * 启动时补建该ID之后的记录，再与数据库记录数核对，不一致（如丢失了删除）时在后台重建
+ */
+@Service
+@Slf4j
+public class QuestionSearchServiceImpl implements QuestionSearchService {
+
+    private static final String F_ID = "id";
+    private static final String F_USER_ID = "userId";
+    private static final String F_QUESTION = "question";
+    private static final String F_ANSWER = "answer";
+    private static final String F_CREATE_AT = "createAt";
+    private static final int SNIPPET_LENGTH = 100;
+    private static final String MAX_ID_KEY = "maxId";
+    private static final String INDEX_SQL =
+            "SELECT id, user_id, question, answer, create_at FROM question_answers WHERE id > ?";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM question_answers";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Path indexDir;
+    private final long refreshIntervalMs;
+    private final long commitIntervalMs;
+
+    private final Analyzer analyzer = new CJKAnalyzer();
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ScheduledExecutorService scheduler;
+    // 已写入IndexWriter的最大ID，提交时写入commit user data
+    private final AtomicLong maxIndexedId = new AtomicLong();
+
+    public QuestionSearchServiceImpl(JdbcTemplate jdbcTemplate,
+                                     @Value("${qa.search.enabled:true}") boolean enabled,
+                                     @Value("${qa.search.index-dir:data/qa-index}") String indexDir,
+                                     @Value("${qa.search.refresh-interval-ms:1000}") long refreshIntervalMs,
+                                     @Value("${qa.search.commit-interval-ms:30000}") long commitIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.indexDir = Path.of(indexDir);
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.commitIntervalMs = commitIntervalMs;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(FSDirectory.open(indexDir), config);
+        searcherManager = new SearcherManager(writer, new SearcherFactory());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "qa-search-index");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::commit, commitIntervalMs, commitIntervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("问答全文索引已打开: {}, 文档数={}", indexDir.toAbsolutePath(), writer.getDocStats().numDocs);
+        reconcile();
+    }
+
+    /**
+     * 启动时与数据库核对：补建上次提交之后保存的记录，记录数仍不一致时在后台重建
+     */
+    private void reconcile() {
+        String committed = null;
+        for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+            if (MAX_ID_KEY.equals(entry.getKey())) {
+                committed = entry.getValue();
+            }
+        }
+        if (writer.getDocStats().numDocs == 0 || committed == null) {
+            // 首次启动或旧版本的索引，在后台从数据库构建
+            scheduler.execute(this::rebuild);
+            return;
+        }
+        try {
+            long lastId = Long.parseLong(committed);
+            maxIndexedId.accumulateAndGet(lastId, Math::max);
+            long added = indexRowsAfter(lastId);
+            // 提交同时应用缓冲的更新，使文档数准确
+            commitWithMaxId();
+            Long rows = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+            int docs = writer.getDocStats().numDocs;
+            if (rows == null || rows != docs) {
+                log.warn("问答全文索引与数据库不一致: 记录数={}, 文档数={}，后台重建索引", rows, docs);
+                scheduler.execute(this::rebuild);
+            } else if (added > 0) {
+                log.info("问答全文索引已补建上次提交后的 {} 条记录", added);
+            }
+        } catch (Exception e) {
+            log.warn("核对问答全文索引失败，后台重建索引: {}", e.getMessage());
+            scheduler.execute(this::rebuild);
+        }
+    }
+
+    @Override
+    public void index(long id, long userId, String question, String answer, LocalDateTime createAt) {
+        if (!enabled) {
+            return;
+        }
+        Document doc = toDocument(id, userId, question, answer, createAt);
+        afterCommit(() -> addOrReplace(id, doc));
+    }
+
+    @Override
+    public void delete(long id) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> writer.deleteDocuments(new Term(F_ID, String.valueOf(id))));
+    }
+
+    @Override
+    public void deleteByUser(long userId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> writer.deleteDocuments(new Term(F_USER_ID, String.valueOf(userId))));
+    }
+
+    @Override
+    public Page<QuestionSearchHitDto> search(Long userId, String keyword, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        int end;
+        try {
+            end = Math.multiplyExact(Math.addExact(page, 1), size);
+        } catch (ArithmeticException e) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "页码超出范围");
+        }
+        if (!enabled || keyword == null || keyword.isBlank()) {
+            return Page.empty(pageRequest);
+        }
+
+        QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+        Query questionQuery = queryBuilder.createBooleanQuery(F_QUESTION, keyword, BooleanClause.Occur.MUST);
+        Query answerQuery = queryBuilder.createBooleanQuery(F_ANSWER, keyword, BooleanClause.Occur.MUST);
+        if (questionQuery == null || answerQuery == null) {
+            return Page.empty(pageRequest);
+        }
+
+        // 问题命中的权重高于答案命中
+        Query textQuery = new BooleanQuery.Builder()
+                .add(new BoostQuery(questionQuery, 2.0f), BooleanClause.Occur.SHOULD)
+                .add(answerQuery, BooleanClause.Occur.SHOULD)
+                .build();
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (userId != null) {
+            builder.add(new TermQuery(new Term(F_USER_ID, String.valueOf(userId))), BooleanClause.Occur.FILTER);
+        }
+        Query query = builder.build();
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int total = searcher.count(query);
+                TopDocs topDocs = searcher.search(query, end);
+                StoredFields storedFields = searcher.storedFields();
+
+                Highlighter questionHighlighter = highlighter(questionQuery, F_QUESTION);
+                Highlighter answerHighlighter = highlighter(answerQuery, F_ANSWER);
+
+                List<QuestionSearchHitDto> hits = new ArrayList<>();
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = end - size; i < scoreDocs.length; i++) {
+                    Document doc = storedFields.document(scoreDocs[i].doc);
+                    hits.add(QuestionSearchHitDto.builder()
+                            .id(Long.parseLong(doc.get(F_ID)))
+                            .userId(Long.parseLong(doc.get(F_USER_ID)))
+                            .question(highlight(questionHighlighter, F_QUESTION, doc.get(F_QUESTION), Integer.MAX_VALUE))
+                            .answerSnippet(highlight(answerHighlighter, F_ANSWER, doc.get(F_ANSWER), SNIPPET_LENGTH))
+                            .score(scoreDocs[i].score)
+                            .createAt(toLocalDateTime(doc.getField(F_CREATE_AT).numericValue().longValue()))
+                            .build());
+                }
+                return new PageImpl<>(hits, pageRequest, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("全文检索失败", e);
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            writer.deleteAll();
+            long count = indexRowsAfter(Long.MIN_VALUE);
+            commitWithMaxId();
+            searcherManager.maybeRefresh();
+            log.info("问答全文索引重建完成: {} 条记录, 耗时 {}ms", count, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("问答全文索引重建失败", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        scheduler.shutdownNow();
+        searcherManager.close();
+        writer.close();
+        analyzer.close();
+    }
+
+    /**
+     * 索引ID大于afterId的记录，已存在的文档被替换
+     */
+    private long indexRowsAfter(long afterId) {
+        long[] count = {0};
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(INDEX_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setLong(1, afterId);
+            // MySQL驱动逐行流式读取，避免一次性加载全部记录
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            Timestamp createAt = rs.getTimestamp("create_at");
+            try {
+                addOrReplace(id, toDocument(id, rs.getLong("user_id"),
+                        rs.getString("question"), rs.getString("answer"),
+                        createAt != null ? createAt.toLocalDateTime() : null));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private void addOrReplace(long id, Document doc) throws IOException {
+        writer.updateDocument(new Term(F_ID, String.valueOf(id)), doc);
+        // 写入之后再推进，提交中记录的最大ID不会超过已写入的文档
+        maxIndexedId.accumulateAndGet(id, Math::max);
+    }
+
+    private Document toDocument(long id, long userId, String question, String answer, LocalDateTime createAt) {
+        Document doc = new Document();
+        doc.add(new StringField(F_ID, String.valueOf(id), Field.Store.YES));
+        doc.add(new StringField(F_USER_ID, String.valueOf(userId), Field.Store.YES));
+        doc.add(new TextField(F_QUESTION, question != null ? question : "", Field.Store.YES));
+        doc.add(new TextField(F_ANSWER, answer != null ? answer : "", Field.Store.YES));
+        long createAtMillis = createAt != null ? createAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+        doc.add(new StoredField(F_CREATE_AT, createAtMillis));
+        return doc;
+    }
+
+    private Highlighter highlighter(Query query, String field) {
+        QueryScorer scorer = new QueryScorer(query, field);
+        Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"), new SimpleHTMLEncoder(), scorer);
+        highlighter.setTextFragmenter(new SimpleSpanFragmenter(scorer, SNIPPET_LENGTH));
+        return highlighter;
+    }
+
+    private String highlight(Highlighter highlighter, String field, String text, int fallbackLength) {
+        try {
+            String fragment = highlighter.getBestFragment(analyzer, field, text);
+            if (fragment != null) {
+                return fragment;
+            }
+        } catch (IOException | InvalidTokenOffsetsException e) {
+            log.debug("高亮失败: {}", e.getMessage());
+        }
+        // 该字段没有命中时返回开头部分
+        String prefix = text.length() > fallbackLength ? text.substring(0, fallbackLength) : text;
+        return new SimpleHTMLEncoder().encodeText(prefix);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("刷新问答全文索引失败: {}", e.getMessage());
+        }
+    }
+
+    private void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                commitWithMaxId();
+            }
+        } catch (IOException e) {
+            log.warn("提交问答全文索引失败: {}", e.getMessage());
+        }
+    }
+
+    private void commitWithMaxId() throws IOException {
+        writer.setLiveCommitData(Map.of(MAX_ID_KEY, String.valueOf(maxIndexedId.get())).entrySet());
+        writer.commit();
+    }
+
+    /**
+     * 在数据库事务提交后再更新索引，事务回滚时索引保持不变
+     */
+    private void afterCommit(IndexOperation operation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(operation);
+                }
+            });
+        } else {
+            apply(operation);
+        }
+    }
+
+    private void apply(IndexOperation operation) {
+        try {
+            operation.run();
+        } catch (IOException e) {
+            log.error("更新问答全文索引失败", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void run() throws IOException;
+    }
+}
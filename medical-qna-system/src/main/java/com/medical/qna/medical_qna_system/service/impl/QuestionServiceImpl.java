@@ -1,22 +1,31 @@
 package com.medical.qna.medical_qna_system.service.impl;
 
+import com.medical.qna.medical_qna_system.common.util.HistoryCursor;
+import com.medical.qna.medical_qna_system.dto.response.CursorPageDto;
 import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionAnswerSummaryDto;
+import com.medical.qna.medical_qna_system.dto.response.QuestionSearchHitDto;
 import com.medical.qna.medical_qna_system.entity.mysql.QuestionAnswer;
 import com.medical.qna.medical_qna_system.entity.mysql.User;
+import com.medical.qna.medical_qna_system.persistence.QuestionAnswerWriteBehind;
 import com.medical.qna.medical_qna_system.repository.mysql.QuestionAnswerRepository;
+import com.medical.qna.medical_qna_system.service.QuestionSearchService;
 import com.medical.qna.medical_qna_system.service.QuestionService;
 import com.medical.qna.medical_qna_system.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -25,10 +34,33 @@ public class QuestionServiceImpl implements QuestionService {
 
     private final QuestionAnswerRepository questionAnswerRepository;
     private final UserService userService;
+    private final QuestionAnswerWriteBehind writeBehind;
+    private final QuestionSearchService questionSearchService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${qa.history.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${qa.history.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${qa.history.preview-length:100}")
+    private int previewLength;
 
     @Override
-    @Transactional
     public void saveQuestionAnswer(Long userId, String question, String answer) {
+        if (writeBehind.isEnabled()) {
+            // 异步批量写入：只写日志和入队，不占用数据库连接；用户校验走缓存。落库后由写入线程加入全文索引
+            userService.getUserById(userId);
+            long id = writeBehind.enqueue(userId, question, answer);
+            log.debug("问答记录已进入写入队列: id={}, 用户={}", id, userId);
+            return;
+        }
+        // 同步写入在事务中执行；不放在方法注解上，避免异步模式下每次保存都占用连接开启事务
+        transactionTemplate.executeWithoutResult(status -> saveInTransaction(userId, question, answer));
+    }
+
+    private void saveInTransaction(Long userId, String question, String answer) {
         try {
             User user = userService.getUserById(userId);
             if (user == null) {
@@ -43,7 +75,8 @@ public class QuestionServiceImpl implements QuestionService {
                     .createAt(LocalDateTime.now())
                     .build();
             
-            questionAnswerRepository.save(qa);
+            QuestionAnswer saved = questionAnswerRepository.save(qa);
+            questionSearchService.index(saved.getId(), userId, question, answer, saved.getCreateAt());
             log.info("问答记录保存成功: 用户={}, 问题长度={}, 答案长度={}", 
                     userId, question.length(), answer != null ? answer.length() : 0);
                     
@@ -57,15 +90,7 @@ public class QuestionServiceImpl implements QuestionService {
     @Transactional(readOnly = true)
     public List<QuestionAnswerDto> getUserHistory(Long userId) {
         try {
-            List<QuestionAnswer> history = questionAnswerRepository.findByUserIdOrderByCreateAtDesc(userId);
-            List<QuestionAnswerDto> result = history.stream()
-                    .map(qa -> QuestionAnswerDto.builder()
-                            .id(qa.getId())
-                            .question(qa.getQuestion())
-                            .answer(qa.getAnswer())
-                            .createAt(qa.getCreateAt())
-                            .build())
-                    .collect(Collectors.toList());
+            List<QuestionAnswerDto> result = questionAnswerRepository.findDtoByUserId(userId);
                     
             log.info("获取用户历史记录成功: userId={}, 记录数={}", userId, result.size());
             return result;
@@ -76,16 +101,85 @@ public class QuestionServiceImpl implements QuestionService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<QuestionAnswerDto> getUserHistoryPage(Long userId, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // 多取一条用于判断是否还有下一页
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<QuestionAnswerDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = questionAnswerRepository.findHistoryFirstPage(userId, limit);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = questionAnswerRepository.findHistoryPageAfter(userId, after.createAt(), after.id(), limit);
+        }
+        log.debug("游标分页获取历史记录: userId={}, size={}, 结果数={}", userId, pageSize, rows.size());
+        return toCursorPage(rows, pageSize,
+                last -> new HistoryCursor(last.getCreateAt(), last.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<QuestionAnswerSummaryDto> getUserHistorySummaryPage(Long userId, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<QuestionAnswerSummaryDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = questionAnswerRepository.findSummaryFirstPage(userId, previewLength, limit);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = questionAnswerRepository.findSummaryPageAfter(
+                    userId, after.createAt(), after.id(), previewLength, limit);
+        }
+        log.debug("游标分页获取历史摘要: userId={}, size={}, 结果数={}", userId, pageSize, rows.size());
+        return toCursorPage(rows, pageSize,
+                last -> new HistoryCursor(last.getCreateAt(), last.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuestionAnswerDto getQuestionAnswer(Long id, Long userId) {
+        return questionAnswerRepository.findDtoById(id, userId).orElse(null);
+    }
+
+    private int resolvePageSize(Integer size) {
+        return size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+    }
+
+    /**
+     * rows比pageSize多一条时说明还有下一页，用本页最后一条生成游标
+     */
+    private <T> CursorPageDto<T> toCursorPage(List<T> rows, int pageSize, Function<T, HistoryCursor> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return CursorPageDto.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     @Transactional
     public boolean deleteQuestionAnswer(Long id, Long userId) {
         try {
+            // 先删掉还没落库的记录，避免随后的批量写入把它重新插入
+            boolean pending = writeBehind.isEnabled() && writeBehind.discard(id, userId);
             Optional<QuestionAnswer> qaOpt = questionAnswerRepository.findById(id);
             if (qaOpt.isPresent() && qaOpt.get().getUser().getId().equals(userId)) {
                 questionAnswerRepository.deleteById(id);
+                questionSearchService.delete(id);
                 log.info("删除问答记录成功: id={}, userId={}", id, userId);
                 return true;
             }
+            if (pending) {
+                log.info("删除尚未落库的问答记录: id={}, userId={}", id, userId);
+                return true;
+            }
             log.warn("删除问答记录失败: 记录不存在或无权限 id={}, userId={}", id, userId);
             return false;
         } catch (Exception e) {
@@ -98,8 +192,12 @@ public class QuestionServiceImpl implements QuestionService {
     @Transactional
     public void clearUserHistory(Long userId) {
         try {
+            if (writeBehind.isEnabled()) {
+                writeBehind.discardUser(userId);
+            }
             // 使用自定义的批量删除方法，并记录删除的行数
             questionAnswerRepository.deleteByUserId(userId);
+            questionSearchService.deleteByUser(userId);
             // 注意：由于Repository中的方法返回void，我们无法获取删除的行数
             // 如果需要返回删除行数，可以修改Repository方法返回int
             log.info("清空用户历史记录成功: userId={}", userId);
@@ -118,17 +216,8 @@ public class QuestionServiceImpl implements QuestionService {
     @Transactional(readOnly = true)
     public List<QuestionAnswerDto> searchUserHistory(Long userId, String keyword) {
         try {
-            List<QuestionAnswer> searchResults = questionAnswerRepository
-                    .findByUserIdAndQuestionContaining(userId, keyword);
-            
-            List<QuestionAnswerDto> result = searchResults.stream()
-                    .map(qa -> QuestionAnswerDto.builder()
-                            .id(qa.getId())
-                            .question(qa.getQuestion())
-                            .answer(qa.getAnswer())
-                            .createAt(qa.getCreateAt())
-                            .build())
-                    .collect(Collectors.toList());
+            List<QuestionAnswerDto> result = questionAnswerRepository
+                    .searchDtoByUserIdAndQuestion(userId, keyword);
                     
             log.info("搜索用户历史记录成功: userId={}, keyword={}, 结果数={}", 
                     userId, keyword, result.size());
@@ -140,6 +229,15 @@ public class QuestionServiceImpl implements QuestionService {
         }
     }
 
+    @Override
+    public Page<QuestionSearchHitDto> fullTextSearchUserHistory(Long userId, String keyword, int page, int size) {
+        Page<QuestionSearchHitDto> result = questionSearchService.search(
+                userId, keyword, Math.max(page, 0), resolvePageSize(size));
+        log.info("全文检索用户历史记录: userId={}, keyword={}, 命中数={}",
+                userId, keyword, result.getTotalElements());
+        return result;
+    }
+
     /**
      * 获取用户问答记录总数
      * @param userId 用户ID
@@ -170,17 +268,8 @@ public class QuestionServiceImpl implements QuestionService {
     public List<QuestionAnswerDto> getUserRecentHistory(Long userId, int page, int size) {
         try {
             Pageable pageable = PageRequest.of(page, size);
-            List<QuestionAnswer> recentHistory = questionAnswerRepository
-                    .findRecentByUserId(userId, pageable);
-            
-            List<QuestionAnswerDto> result = recentHistory.stream()
-                    .map(qa -> QuestionAnswerDto.builder()
-                            .id(qa.getId())
-                            .question(qa.getQuestion())
-                            .answer(qa.getAnswer())
-                            .createAt(qa.getCreateAt())
-                            .build())
-                    .collect(Collectors.toList());
+            List<QuestionAnswerDto> result = questionAnswerRepository
+                    .findRecentDtoByUserId(userId, pageable);
                     
             log.info("分页获取用户最近历史记录成功: userId={}, page={}, size={}, 结果数={}", 
                     userId, page, size, result.size());
@@ -0,0 +1,190 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.medical.qna.medical_qna_system.jfr.RagConnectEvent;
+import com.medical.qna.medical_qna_system.jfr.RagFirstByteEvent;
+import com.medical.qna.medical_qna_system.resilience.RagCallGuard;
+import com.medical.qna.medical_qna_system.service.AnswerCacheService;
+import com.medical.qna.medical_qna_system.service.RagService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RagServiceImpl implements RagService {
+
+    // 缓存命中时按此长度切片回放
+    private static final int REPLAY_CHUNK_SIZE = 32;
+
+    private final WebClient webClient;
+    private final AnswerCacheService answerCacheService;
+    private final RagCallGuard ragCallGuard;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${rag.api.baseurl}")
+    private String ragBaseUrl;
+
+    // 正在进行中的上游调用，键为归一化后的问题
+    private final ConcurrentMap<String, Flux<String>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public Flux<String> streamAnswer(String question) {
+        Optional<String> cached = answerCacheService.get(question);
+        if (cached.isPresent()) {
+            countRequest("cache");
+            return Flux.fromIterable(splitForReplay(cached.get()));
+        }
+        return Flux.defer(() -> joinOrStart(question));
+    }
+
+    /**
+     * 相同问题合并为一次上游调用，所有等待的客户端共享同一个回答流；
+     * 中途加入的客户端会先收到已产生的片段
+     */
+    private Flux<String> joinOrStart(String question) {
+        String key = answerCacheService.normalize(question);
+        Flux<String> existing = inFlight.get(key);
+        if (existing != null) {
+            log.debug("合并相同问题的RAG调用: {}", question);
+            countRequest("coalesced");
+            return existing;
+        }
+        return inFlight.computeIfAbsent(key, k -> {
+            countRequest("upstream");
+            AtomicReference<Flux<String>> self = new AtomicReference<>();
+            // 上游结束或所有客户端都取消后移除，之后的请求重新调用
+            Flux<String> shared = cacheOnComplete(question, callRag(question))
+                    .doFinally(signal -> inFlight.remove(k, self.get()))
+                    .replay()
+                    .refCount();
+            self.set(shared);
+            return shared;
+        });
+    }
+
+    /**
+     * 上游回答流正常结束后缓存完整回答；出错或被取消的回答不缓存。
+     * 缓存只由这里写入，客户端提交的问答记录不会进入共享缓存
+     */
+    private Flux<String> cacheOnComplete(String question, Flux<String> answer) {
+        return Flux.defer(() -> {
+            StringBuilder fullAnswer = new StringBuilder();
+            return answer
+                    .doOnNext(fullAnswer::append)
+                    .doOnComplete(() -> answerCacheService.put(question, fullAnswer.toString()));
+        });
+    }
+
+    private Flux<String> callRag(String question) {
+        return timed(ragCallGuard.protect(Flux.defer(() -> {
+            // 每个请求独立的解码器，处理跨数据块的UTF-8多字节字符
+            Utf8StreamDecoder decoder = new Utf8StreamDecoder();
+
+            RagConnectEvent connectEvent = new RagConnectEvent();
+            RagFirstByteEvent firstByteEvent = new RagFirstByteEvent();
+            connectEvent.begin();
+            firstByteEvent.begin();
+
+            return webClient.post()
+                    .uri(ragBaseUrl + "/ask")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("question", question))
+                    .retrieve()
+                    .toEntityFlux(DataBuffer.class)
+                    .flatMapMany(entity -> {
+                        connectEvent.status = entity.getStatusCode().value();
+                        connectEvent.requestBytes = question.getBytes(StandardCharsets.UTF_8).length;
+                        connectEvent.commit();
+                        return entity.getBody() != null ? entity.getBody() : Flux.<DataBuffer>empty();
+                    })
+                    .map(buffer -> {
+                        try {
+                            if (firstByteEvent.firstChunkBytes == 0 && buffer.readableByteCount() > 0) {
+                                firstByteEvent.firstChunkBytes = buffer.readableByteCount();
+                                firstByteEvent.commit();
+                            }
+                            byte[] bytes = new byte[buffer.readableByteCount()];
+                            buffer.read(bytes);
+                            return decoder.decode(bytes);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    // 上游正常结束时输出解码器中剩余的字节，使缓存和保存的回答与推送的内容一致
+                    .concatWith(Flux.defer(() -> Flux.just(decoder.finish())))
+                    .filter(chunk -> !chunk.isEmpty())
+                    .doOnSubscribe(s -> log.debug("调用RAG服务: {}", ragBaseUrl))
+                    .doOnError(e -> log.error("RAG服务调用失败: {}", e.getMessage()));
+        })));
+    }
+
+    /**
+     * 记录首个片段到达时间(TTFT)和整个回答流的耗时，包含在限流队列中等待的时间
+     */
+    private Flux<String> timed(Flux<String> call) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean firstToken = new AtomicBoolean();
+            return call
+                    .doOnNext(chunk -> {
+                        if (firstToken.compareAndSet(false, true)) {
+                            Timer.builder("rag.ttft")
+                                    .description("RAG首个片段到达耗时")
+                                    .register(meterRegistry)
+                                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        }
+                    })
+                    .doFinally(signal -> Timer.builder("rag.stream")
+                            .description("RAG回答流总耗时")
+                            .tag("outcome", signal == SignalType.ON_COMPLETE ? "success"
+                                    : signal == SignalType.ON_ERROR ? "error" : "cancelled")
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private void countRequest(String source) {
+        Counter.builder("rag.requests")
+                .description("问答请求数，按回答来源区分（缓存/合并/上游）")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 将缓存的回答切成小片段，保持与实时流相同的输出形式
+     */
+    private static List<String> splitForReplay(String answer) {
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < answer.length()) {
+            int remaining = answer.codePointCount(start, answer.length());
+            int end = answer.offsetByCodePoints(start, Math.min(REPLAY_CHUNK_SIZE, remaining));
+            chunks.add(answer.substring(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+}
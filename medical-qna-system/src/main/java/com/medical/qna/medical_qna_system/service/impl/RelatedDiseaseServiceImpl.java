@@ -0,0 +1,75 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.medical.qna.medical_qna_system.dto.response.RelatedDiseaseDto;
+import com.medical.qna.medical_qna_system.knowledge.RelatedDiseaseIndex;
+import com.medical.qna.medical_qna_system.knowledge.SymptomGraph;
+import com.medical.qna.medical_qna_system.knowledge.SymptomGraphReloadedEvent;
+import com.medical.qna.medical_qna_system.service.RelatedDiseaseService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 症状相似疾病
+ * 疾病-症状图谱快照替换后在刷新线程上增量重算（只重算症状集合变化的疾病及受其影响的疾病），
+ * 计算在独立的fork/join线程池上并行执行，完成后整体替换结果，查询只是一次HashMap读取
+ */
+@Service
+@Slf4j
+public class RelatedDiseaseServiceImpl implements RelatedDiseaseService {
+
+    private final RelatedDiseaseIndex.Settings settings;
+    private final ForkJoinPool pool;
+
+    // 与index对应的图谱快照，用于下次增量计算时比较症状集合
+    private volatile SymptomGraph graph = SymptomGraph.EMPTY;
+    private volatile RelatedDiseaseIndex index = RelatedDiseaseIndex.EMPTY;
+
+    public RelatedDiseaseServiceImpl(@Value("${knowledge.related.top-n:10}") int topN,
+                                     @Value("${knowledge.related.min-similarity:0.2}") float minSimilarity,
+                                     @Value("${knowledge.related.bands:32}") int bands,
+                                     @Value("${knowledge.related.rows:4}") int rows,
+                                     @Value("${knowledge.related.max-bucket-size:1000}") int maxBucketSize,
+                                     @Value("${knowledge.related.parallelism:0}") int parallelism) {
+        this.settings = new RelatedDiseaseIndex.Settings(bands, rows, topN, minSimilarity, maxBucketSize);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @EventListener
+    public void onSymptomGraphReloaded(SymptomGraphReloadedEvent event) {
+        long start = System.nanoTime();
+        SymptomGraph current = event.current();
+        RelatedDiseaseIndex.BuildResult result = RelatedDiseaseIndex.build(current, graph, index, settings, pool);
+        graph = current;
+        index = result.index();
+        log.info("相似疾病已重算: 疾病={}, 症状变化={}, 重算={}, 耗时={}ms",
+                current.diseaseCount(), result.changed(), result.recomputed(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public Optional<List<RelatedDiseaseDto>> findRelated(String diseaseName) {
+        RelatedDiseaseIndex current = index;
+        if (!current.contains(diseaseName)) {
+            return Optional.empty();
+        }
+        return Optional.of(current.neighborsOf(diseaseName).stream()
+                .map(n -> RelatedDiseaseDto.builder()
+                        .diseaseName(n.disease())
+                        .similarity(n.similarity())
+                        .sharedSymptoms(n.sharedSymptoms())
+                        .build())
+                .toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.medical.qna.medical_qna_system.dto.response.DiseaseMatchDto;
+import com.medical.qna.medical_qna_system.dto.response.SymptomGraphStatsDto;
+import com.medical.qna.medical_qna_system.knowledge.KnowledgeGraphChangedEvent;
+import com.medical.qna.medical_qna_system.knowledge.SymptomGraph;
+import com.medical.qna.medical_qna_system.knowledge.SymptomGraphReloadedEvent;
+import com.medical.qna.medical_qna_system.repository.neo4j.KnowledgeGraphExportRepository;
+import com.medical.qna.medical_qna_system.service.SymptomGraphService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 疾病-症状图谱内存快照，启动时和图谱变化时从Neo4j整体加载
+ * 排序查询只读取volatile引用上的不可变快照，无锁、无数据库访问
+ */
+@Service
+@Slf4j
+public class SymptomGraphServiceImpl implements SymptomGraphService {
+
+    private final KnowledgeGraphExportRepository exportRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile SymptomGraph graph = SymptomGraph.EMPTY;
+    private volatile SymptomGraphStatsDto stats = toStats(SymptomGraph.EMPTY, 0L, null);
+
+    public SymptomGraphServiceImpl(KnowledgeGraphExportRepository exportRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry) {
+        this.exportRepository = exportRepository;
+        this.eventPublisher = eventPublisher;
+        Gauge.builder("kg.symptom.graph.bytes", this, s -> s.stats.getFootprintBytes())
+                .description("疾病-症状图谱快照估算占用的堆内存")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("kg.symptom.graph.edges", this, s -> s.stats.getEdgeCount())
+                .register(meterRegistry);
+    }
+
+    // 先于依赖此快照的其他索引执行
+    @EventListener
+    @Order(0)
+    public void onGraphChanged(KnowledgeGraphChangedEvent event) {
+        long start = System.nanoTime();
+        SymptomGraph.Builder builder = new SymptomGraph.Builder();
+        exportRepository.findAllDiseaseSymptoms()
+                .forEach(row -> builder.add(row.disease(), row.symptoms()));
+        SymptomGraph loaded = builder.build();
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+        SymptomGraph previous = graph;
+        graph = loaded;
+        stats = toStats(loaded, loadMillis, LocalDateTime.now());
+        log.info("疾病-症状图谱已加载({}): 疾病={}, 症状={}, 关系={}, 估算内存={}KB, 耗时={}ms",
+                event.reason(), loaded.diseaseCount(), loaded.symptomCount(), loaded.edgeCount(),
+                stats.getFootprintBytes() / 1024, loadMillis);
+        eventPublisher.publishEvent(new SymptomGraphReloadedEvent(previous, loaded));
+    }
+
+    @Override
+    public List<DiseaseMatchDto> rankDiseases(List<String> symptoms, int limit) {
+        SymptomGraph current = graph;
+        // 症状名只解析一次，打分和列出命中症状共用
+        int[] query = current.resolveSymptoms(symptoms);
+        List<DiseaseMatchDto> result = new ArrayList<>();
+        for (SymptomGraph.Match match : current.rank(query, limit)) {
+            result.add(DiseaseMatchDto.builder()
+                    .diseaseName(current.diseaseName(match.disease()))
+                    .score(match.score())
+                    .matchedSymptoms(current.matchedSymptoms(match.disease(), query))
+                    .totalSymptoms(current.symptomDegree(match.disease()))
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    public SymptomGraph getGraph() {
+        return graph;
+    }
+
+    @Override
+    public SymptomGraphStatsDto getStats() {
+        return stats;
+    }
+
+    private static SymptomGraphStatsDto toStats(SymptomGraph graph, long loadMillis, LocalDateTime loadedAt) {
+        return SymptomGraphStatsDto.builder()
+                .diseaseCount(graph.diseaseCount())
+                .symptomCount(graph.symptomCount())
+                .edgeCount(graph.edgeCount())
+                .footprintBytes(graph.estimateFootprintBytes())
+                .loadMillis(loadMillis)
+                .loadedAt(loadedAt)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.medical.qna.medical_qna_system.common.enums.UserRole;
+import com.medical.qna.medical_qna_system.entity.mysql.User;
+import com.medical.qna.medical_qna_system.service.UserCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 用户缓存。缓存中保存不可变的快照，每次命中返回一个新的游离User对象，
+ * 调用方修改返回的对象不会影响缓存和其他请求线程
+ */
+@Service
+@Slf4j
+public class UserCacheServiceImpl implements UserCacheService {
+
+    private record CachedUser(Long id, String username, String password, String email,
+                              UserRole role, LocalDateTime createAt, boolean enabled) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getUsername(), user.getPassword(), user.getEmail(),
+                    user.getRole(), user.getCreateAt(), user.isEnabled());
+        }
+
+        User toUser() {
+            return User.builder()
+                    .id(id)
+                    .username(username)
+                    .password(password)
+                    .email(email)
+                    .role(role)
+                    .createAt(createAt)
+                    .enabled(enabled)
+                    .build();
+        }
+    }
+
+    private final boolean enabled;
+    private final Cache<Long, CachedUser> usersById;
+    // 用户名只映射到ID，用户对象只存一份
+    private final Cache<String, Long> idsByUsername;
+
+    public UserCacheServiceImpl(MeterRegistry meterRegistry,
+                                @Value("${user.cache.enabled:true}") boolean enabled,
+                                @Value("${user.cache.max-size:10000}") long maxSize,
+                                @Value("${user.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.idsByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "user");
+        log.info("用户缓存: enabled={}, maxSize={}, ttl={}秒", enabled, maxSize, ttlSeconds);
+    }
+
+    @Override
+    public Optional<User> getById(Long userId) {
+        if (!enabled || userId == null) {
+            return Optional.empty();
+        }
+        CachedUser user = usersById.getIfPresent(userId);
+        return Optional.ofNullable(user != null ? user.toUser() : null);
+    }
+
+    @Override
+    public Optional<User> getByUsername(String username) {
+        if (!enabled || username == null) {
+            return Optional.empty();
+        }
+        Long userId = idsByUsername.getIfPresent(username);
+        if (userId == null) {
+            return Optional.empty();
+        }
+        CachedUser user = usersById.getIfPresent(userId);
+        // 用户名已被修改时映射失效
+        if (user == null || !username.equals(user.username())) {
+            idsByUsername.invalidate(username);
+            return Optional.empty();
+        }
+        return Optional.of(user.toUser());
+    }
+
+    @Override
+    public void put(User user) {
+        if (!enabled || user == null || user.getId() == null) {
+            return;
+        }
+        usersById.put(user.getId(), CachedUser.of(user));
+        idsByUsername.put(user.getUsername(), user.getId());
+    }
+
+    @Override
+    public void evict(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        invalidate(userId);
+        // 事务提交前可能有并发读把旧数据重新放回缓存，提交后再失效一次
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private void invalidate(Long userId) {
+        CachedUser user = usersById.getIfPresent(userId);
+        usersById.invalidate(userId);
+        if (user != null) {
+            idsByUsername.invalidate(user.username());
+        }
+        log.debug("用户缓存已失效: userId={}", userId);
+    }
+}
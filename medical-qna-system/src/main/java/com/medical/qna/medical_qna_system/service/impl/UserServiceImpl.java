@@ -8,6 +8,7 @@ import com.medical.qna.medical_qna_system.entity.mysql.User;
 import com.medical.qna.medical_qna_system.exception.BusinessException;
 import com.medical.qna.medical_qna_system.repository.mysql.UserRepository;
 import com.medical.qna.medical_qna_system.security.PasswordValidator;
+import com.medical.qna.medical_qna_system.service.UserCacheService;
 import com.medical.qna.medical_qna_system.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final PasswordValidator passwordValidator;
+    private final UserCacheService userCacheService;
 
     @Override
     public User register(RegisterRequest request) {
@@ -80,6 +82,7 @@ public class UserServiceImpl implements UserService {
     public User updateUser(Long userId, UpdateUserRequest request) {
         User user = userRepository.findById(userId)
                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        userCacheService.evict(userId);
 
         // 检查邮箱是否被其他用户使用
         if (!user.getEmail().equals(request.getEmail()) && existsByEmail(request.getEmail())) {
@@ -105,8 +108,14 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username)
+        Optional<User> cached = userCacheService.getByUsername(username);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        userCacheService.put(user);
+        return user;
     }
 
     // ...existing code...
@@ -114,8 +123,14 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public User getUserById(Long id) {
-        return userRepository.findById(id)
+        Optional<User> cached = userCacheService.getById(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        User user = userRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        userCacheService.put(user);
+        return user;
     }
 
     // ...existing code...
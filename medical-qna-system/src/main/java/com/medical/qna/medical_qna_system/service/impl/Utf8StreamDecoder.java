@@ -0,0 +1,51 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 流式响应的UTF-8解码，数据块末尾不完整的多字节字符保留到下一个数据块。
+ * 每个响应流一个实例，非线程安全
+ */
+final class Utf8StreamDecoder {
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    // UTF-8字符最多4字节，留下的不完整字符不超过3字节
+    private final ByteBuffer pending = ByteBuffer.allocate(8);
+
+    /**
+     * 解码一个数据块
+     */
+    String decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.allocate(pending.position() + bytes.length);
+        pending.flip();
+        in.put(pending).put(bytes).flip();
+        pending.clear();
+
+        CharBuffer out = CharBuffer.allocate(in.remaining());
+        decoder.decode(in, out, false);
+        pending.put(in);
+
+        out.flip();
+        return out.toString();
+    }
+
+    /**
+     * 流结束时调用：截断的多字节字符输出为替换字符U+FFFD，不会被丢掉
+     */
+    String finish() {
+        pending.flip();
+        CharBuffer out = CharBuffer.allocate(pending.remaining() + 1);
+        decoder.decode(pending, out, true);
+        decoder.flush(out);
+        pending.clear();
+
+        out.flip();
+        return out.toString();
+    }
+}
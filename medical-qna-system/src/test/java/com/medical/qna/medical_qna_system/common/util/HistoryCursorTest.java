@@ -0,0 +1,48 @@
+package com.medical.qna.medical_qna_system.common.util;
+
+import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistoryCursorTest {
+
+    @Test
+    void roundTripKeepsTimestampPrecisionAndId() {
+        HistoryCursor cursor = new HistoryCursor(LocalDateTime.of(2024, 3, 9, 23, 59, 59, 123_456_789), 7_205_759_403_792_793_600L);
+        assertEquals(cursor, HistoryCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodedTokenIsUrlSafe() {
+        for (int i = 0; i < 200; i++) {
+            String token = new HistoryCursor(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i * 7919L), i * 104_729L).encode();
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        }
+    }
+
+    @Test
+    void malformedTokensAreRejectedAsParamError() {
+        assertParamError("not base64!");
+        assertParamError(encode("2024-03-09T10:00:00"));
+        assertParamError(encode("yesterday|42"));
+        assertParamError(encode("2024-03-09T10:00:00|abc"));
+        assertParamError(encode("|42"));
+    }
+
+    private static void assertParamError(String token) {
+        BusinessException e = assertThrows(BusinessException.class, () -> HistoryCursor.decode(token));
+        assertEquals(ErrorCode.PARAM_ERROR.getCode(), e.getCode());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
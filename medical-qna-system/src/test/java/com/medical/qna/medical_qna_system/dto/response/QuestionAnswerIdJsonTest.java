@@ -0,0 +1,45 @@
+package com.medical.qna.medical_qna_system.dto.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.medical.qna.medical_qna_system.common.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionAnswerIdJsonTest {
+
+    private static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void snowflakeIdRoundTripsAsString() throws Exception {
+        long id = new SnowflakeIdGenerator(1).nextId();
+        assertTrue(id > MAX_SAFE_INTEGER);
+        QuestionAnswerDto dto = QuestionAnswerDto.builder()
+                .id(id).question("问题").answer("回答").createAt(LocalDateTime.of(2025, 6, 1, 8, 0))
+                .build();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(dto));
+        assertTrue(json.get("id").isTextual());
+        assertEquals(Long.toString(id), json.get("id").asText());
+        assertEquals(Long.valueOf(id), objectMapper.readValue(json.toString(), QuestionAnswerDto.class).getId());
+    }
+
+    @Test
+    void summaryAndSearchHitIdsAreStrings() throws Exception {
+        long id = new SnowflakeIdGenerator(2).nextId();
+        QuestionAnswerSummaryDto summary = new QuestionAnswerSummaryDto(id, "问题", "回答", 2, null);
+        QuestionSearchHitDto hit = QuestionSearchHitDto.builder().id(id).userId(42L).question("问题").build();
+
+        assertEquals(Long.toString(id), objectMapper.readTree(objectMapper.writeValueAsString(summary)).get("id").textValue());
+        JsonNode hitJson = objectMapper.readTree(objectMapper.writeValueAsString(hit));
+        assertEquals(Long.toString(id), hitJson.get("id").textValue());
+        assertTrue(hitJson.get("userId").isNumber());
+    }
+}
@@ -0,0 +1,75 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AhoCorasickAutomatonTest {
+
+    @Test
+    void findAllReportsNestedAndOverlappingMatches() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("糖尿病", "糖尿病肾病", "肾病", "病"));
+
+        assertEquals(List.of(
+                new AhoCorasickAutomaton.Match(0, 3, 0),
+                new AhoCorasickAutomaton.Match(2, 3, 3),
+                new AhoCorasickAutomaton.Match(0, 5, 1),
+                new AhoCorasickAutomaton.Match(3, 5, 2),
+                new AhoCorasickAutomaton.Match(4, 5, 3)), automaton.findAll("糖尿病肾病"));
+    }
+
+    @Test
+    void findLongestKeepsOuterMatchOverNestedOnes() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("糖尿病", "糖尿病肾病", "肾病", "病"));
+
+        assertEquals(List.of(new AhoCorasickAutomaton.Match(0, 5, 1)), automaton.findLongest("糖尿病肾病"));
+    }
+
+    @Test
+    void findLongestPrefersEarlierOfEqualLengthOverlaps() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("硬化症", "肝硬化"));
+
+        assertEquals(List.of(new AhoCorasickAutomaton.Match(0, 3, 1)), automaton.findLongest("肝硬化症"));
+    }
+
+    @Test
+    void findLongestDropsShorterMatchesOverlappingEitherSide() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("高血", "血压病", "病人", "头痛"));
+
+        assertEquals(List.of(
+                new AhoCorasickAutomaton.Match(1, 4, 1),
+                new AhoCorasickAutomaton.Match(6, 8, 3)), automaton.findLongest("高血压病人伴头痛"));
+    }
+
+    @Test
+    void separateMatchesAreReturnedInTextOrder() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("发热", "感冒"));
+
+        assertEquals(List.of(
+                new AhoCorasickAutomaton.Match(0, 2, 1),
+                new AhoCorasickAutomaton.Match(3, 5, 0)), automaton.findLongest("感冒和发热"));
+    }
+
+    @Test
+    void failureLinksRecoverFromPartialMatches() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("abcd", "bc"));
+
+        assertEquals(List.of(new AhoCorasickAutomaton.Match(1, 3, 1)), automaton.findAll("abce"));
+    }
+
+    @Test
+    void latinLettersMatchIgnoringCase() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("HIV感染"));
+
+        assertEquals(List.of(new AhoCorasickAutomaton.Match(2, 7, 0)), automaton.findLongest("疑似Hiv感染"));
+    }
+
+    @Test
+    void emptyAndDuplicatePatternsAreIgnored() {
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(List.of("", "肺炎", "肺炎"));
+
+        assertEquals(List.of(new AhoCorasickAutomaton.Match(0, 2, 1)), automaton.findAll("肺炎"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutocompleteIndexTest {
+
+    // 拼音首字母固定写出，不依赖拼音库
+    private static final Map<String, List<String>> INITIALS = Map.of(
+            "高血压", List.of("gxy"),
+            "高血脂", List.of("gxz"),
+            "妊娠高血压", List.of("rsgxy"),
+            "低血压", List.of("dxy"),
+            "高热", List.of("gr"),
+            "ABO溶血病", List.of("aborxb"),
+            "阿司匹林过敏", List.of("aspllgm"),
+            "维生素A缺乏症", List.of("wssaqfz"));
+
+    private final AutocompleteIndex index = AutocompleteIndex.build(List.of(
+            entry("高血压", MedicalEntityType.DISEASE, 10),
+            entry("高血脂", MedicalEntityType.DISEASE, 5),
+            entry("妊娠高血压", MedicalEntityType.DISEASE, 50),
+            entry("低血压", MedicalEntityType.DISEASE, 1),
+            entry("高热", MedicalEntityType.SYMPTOM, 10),
+            entry("ABO溶血病", MedicalEntityType.DISEASE, 1),
+            entry("阿司匹林过敏", MedicalEntityType.DISEASE, 100),
+            entry("维生素A缺乏症", MedicalEntityType.DISEASE, 200)),
+            INITIALS::get);
+
+    @Test
+    void prefixBeatsInitialsBeatsInfixRegardlessOfPopularity() {
+        assertEquals(List.of("ABO溶血病", "阿司匹林过敏", "维生素A缺乏症"), texts(index.suggest("a", null, 10)));
+    }
+
+    @Test
+    void prefixMatchesComeBeforeMorePopularInfixMatches() {
+        assertEquals(List.of("高血压", "高血脂", "妊娠高血压"), texts(index.suggest("高血", null, 10)));
+    }
+
+    @Test
+    void sameMatchKindOrdersByPopularityThenLength() {
+        assertEquals(List.of("妊娠高血压", "高血压", "低血压"), texts(index.suggest("血压", null, 10)));
+        // 热度相同时短名称优先
+        assertEquals(List.of("高热", "高血压"), texts(index.suggest("高", null, 10)).subList(0, 2));
+    }
+
+    @Test
+    void initialsMatchByPrefixAndIgnoreCase() {
+        assertEquals(List.of("高血压", "高血脂"), texts(index.suggest("GX", null, 10)));
+        assertEquals(List.of("妊娠高血压"), texts(index.suggest("rsg", null, 10)));
+    }
+
+    @Test
+    void typeFilterAndLimitApply() {
+        assertEquals(List.of("高热"), texts(index.suggest("高", MedicalEntityType.SYMPTOM, 10)));
+        assertEquals(List.of("高热", "高血压"), texts(index.suggest("高", null, 2)));
+    }
+
+    @Test
+    void blankQueryOrZeroLimitReturnsNothing() {
+        assertTrue(index.suggest("  ", null, 10).isEmpty());
+        assertTrue(index.suggest(null, null, 10).isEmpty());
+        assertTrue(index.suggest("高", null, 0).isEmpty());
+        assertTrue(index.suggest("肺", null, 10).isEmpty());
+    }
+
+    private static AutocompleteIndex.Entry entry(String text, MedicalEntityType type, int popularity) {
+        return new AutocompleteIndex.Entry(text, type, popularity, List.of());
+    }
+
+    private static List<String> texts(List<AutocompleteIndex.Entry> entries) {
+        return entries.stream().map(AutocompleteIndex.Entry::text).toList();
+    }
+}
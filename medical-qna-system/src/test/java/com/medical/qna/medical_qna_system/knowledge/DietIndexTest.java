@@ -0,0 +1,83 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DietIndexTest {
+
+    private final DietIndex index = new DietIndex.Builder()
+            .add("高血压", List.of("芹菜", "香蕉", "燕麦"), List.of("咸菜", "白酒"))
+            .add("糖尿病", List.of("燕麦", "苦瓜", "香蕉"), List.of("香蕉", "蛋糕"))
+            .add("胃炎", List.of("小米粥"), List.of("辣椒", "白酒"))
+            .build();
+
+    @Test
+    void classifiesQueriedFoods() {
+        DietIndex.Result result = index.check(List.of("高血压", "糖尿病"), List.of("咸菜", "芹菜", "辣椒", "香蕉"), 0);
+
+        assertEquals(List.of(
+                new DietIndex.Conflict("香蕉", List.of("糖尿病"), List.of("高血压", "糖尿病")),
+                new DietIndex.Conflict("咸菜", List.of("高血压"), List.of())), result.conflicts());
+        assertEquals(List.of("芹菜"), result.suitable());
+        // 辣椒只与未查询的胃炎有关系
+        assertEquals(List.of("辣椒"), result.unrated());
+        assertTrue(result.recommendations().isEmpty());
+    }
+
+    @Test
+    void recommendsUnqueriedGoodFoodsByNumberOfDiseases() {
+        DietIndex.Result result = index.check(List.of("高血压", "糖尿病"), List.of("芹菜"), 2);
+
+        // 香蕉有疾病忌吃，芹菜已在查询中
+        assertEquals(List.of(
+                new DietIndex.Recommendation("燕麦", List.of("高血压", "糖尿病")),
+                new DietIndex.Recommendation("苦瓜", List.of("糖尿病"))), result.recommendations());
+    }
+
+    @Test
+    void reportsUnknownNamesAndIgnoresDuplicates() {
+        DietIndex.Result result = index.check(List.of("胃炎", "感冒", "胃炎"), List.of("白酒", "榴莲", "白酒"), 5);
+
+        assertEquals(List.of("感冒"), result.unknownDiseases());
+        assertEquals(List.of("榴莲"), result.unknownFoods());
+        assertEquals(List.of(new DietIndex.Conflict("白酒", List.of("胃炎"), List.of())), result.conflicts());
+        assertEquals(List.of(new DietIndex.Recommendation("小米粥", List.of("胃炎"))), result.recommendations());
+    }
+
+    @Test
+    void emptyFoodsOnlyRecommend() {
+        DietIndex.Result result = index.check(List.of("胃炎"), List.of(), 5);
+
+        assertTrue(result.conflicts().isEmpty());
+        assertTrue(result.suitable().isEmpty());
+        assertTrue(result.unrated().isEmpty());
+        assertEquals(1, result.recommendations().size());
+    }
+
+    @Test
+    void handlesFoodsBeyondFirstBitsetWord() {
+        List<String> good = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            good.add("食物" + i);
+        }
+        DietIndex wide = new DietIndex.Builder()
+                .add("甲病", good, List.of())
+                .add("乙病", List.of(), List.of("食物129"))
+                // 只有前几种食物的疾病位图更短
+                .add("丙病", List.of("食物1"), List.of())
+                .build();
+
+        DietIndex.Result result = wide.check(List.of("甲病", "乙病", "丙病"), List.of("食物1", "食物64", "食物129"), 1);
+
+        assertEquals(List.of(new DietIndex.Conflict("食物129", List.of("乙病"), List.of("甲病"))), result.conflicts());
+        assertEquals(List.of("食物1", "食物64"), result.suitable());
+        assertEquals(List.of(new DietIndex.Recommendation("食物0", List.of("甲病"))), result.recommendations());
+        assertEquals(3, wide.diseaseCount());
+        assertEquals(130, wide.foodCount());
+    }
+}
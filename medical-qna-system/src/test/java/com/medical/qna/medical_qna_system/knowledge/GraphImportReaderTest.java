@@ -0,0 +1,111 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GraphImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void csvQuotedFieldsMayContainCommasQuotesAndNewlines() throws IOException {
+        Path file = write("nodes.csv", """
+                \uFEFFlabel,name,desc,insuranceCovered,cureRate
+                Disease,感冒,"上呼吸道感染，俗称""伤风""
+                多见于冬春季",true,
+                Disease," 流感 ","发热, 咳嗽",FALSE,90%
+                """);
+
+        try (GraphImportReader reader = new GraphImportReader(List.of(file), objectMapper, false)) {
+            assertEquals(List.of(
+                    new GraphImportReader.NodeRow("Disease", "感冒",
+                            Map.of("desc", "上呼吸道感染，俗称\"伤风\"\n多见于冬春季", "insuranceCovered", true)),
+                    new GraphImportReader.NodeRow("Disease", "流感",
+                            Map.of("desc", "发热, 咳嗽", "insuranceCovered", false, "cureRate", "90%"))),
+                    readAll(reader));
+            assertEquals(0, reader.skipped());
+        }
+    }
+
+    @Test
+    void csvRelationshipsAndInvalidRecordsAreSkipped() throws IOException {
+        Path file = write("relationships.csv", """
+                type,from,to
+                HAS_SYMPTOM,感冒,"发热"
+                
+                TREATS,感冒,休息
+                HAS_SYMPTOM,感冒,
+                """);
+
+        try (GraphImportReader reader = new GraphImportReader(List.of(file), objectMapper, false)) {
+            assertEquals(List.of(new GraphImportReader.RelationshipRow(GraphRelationType.HAS_SYMPTOM, "感冒", "发热")),
+                    readAll(reader));
+            assertEquals(2, reader.skipped());
+        }
+    }
+
+    @Test
+    void nameIsNeverWrittenAsProperty() throws IOException {
+        Path csv = write("nodes.csv", """
+                label,name,name,desc
+                Disease,感冒,伤风,简介
+                """);
+        Path jsonl = write("nodes.jsonl", """
+                {"label":"Disease","name":"流感","properties":{"name":"时行感冒","desc":"简介","extra":{"a":1}}}
+                """);
+
+        try (GraphImportReader reader = new GraphImportReader(List.of(csv, jsonl), objectMapper, false)) {
+            assertEquals(List.of(
+                    new GraphImportReader.NodeRow("Disease", "感冒", Map.of("desc", "简介")),
+                    new GraphImportReader.NodeRow("Disease", "流感", Map.of("desc", "简介"))),
+                    readAll(reader));
+        }
+    }
+
+    @Test
+    void readsJsonLinesFilesInOrder() throws IOException {
+        Path first = write("a.jsonl", """
+                {"label":"Symptom","name":"发热"}
+                not json
+                {"label":"Unknown","name":"x"}
+                """);
+        Path second = write("b.jsonl", """
+                {"type":"HAS_SYMPTOM","from":"感冒","to":"发热"}
+                """);
+
+        try (GraphImportReader reader = new GraphImportReader(List.of(first, second), objectMapper, false)) {
+            assertEquals(List.of(
+                    new GraphImportReader.NodeRow("Symptom", "发热", Map.of()),
+                    new GraphImportReader.RelationshipRow(GraphRelationType.HAS_SYMPTOM, "感冒", "发热")),
+                    readAll(reader));
+            assertEquals(2, reader.skipped());
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private static List<GraphImportReader.Row> readAll(GraphImportReader reader) throws IOException {
+        List<GraphImportReader.Row> rows = new ArrayList<>();
+        GraphImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,43 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QuestionIntentTest {
+
+    // 问题, 期望的类型（null表示交给RAG）
+    private static final Object[][] CASES = {
+            {"糖尿病有哪些并发症", QuestionIntent.COMPLICATION},
+            {"高血压不能吃什么", QuestionIntent.BAD_FOOD},
+            {"胃炎挂什么科", QuestionIntent.DEPARTMENT},
+            {"糖尿病能吃什么", QuestionIntent.GOOD_FOOD},
+            {"感冒吃什么好", QuestionIntent.GOOD_FOOD},
+            {"高血压有什么症状", QuestionIntent.SYMPTOM},
+            {"肺炎怎么治", QuestionIntent.TREATMENT},
+            {"感冒吃什么药", QuestionIntent.TREATMENT},
+            // "不能吃什么"也满足GOOD_FOOD的"吃什么"，以BAD_FOOD为准
+            {"胃炎不宜吃哪些", QuestionIntent.BAD_FOOD},
+            {"肝炎忌口", QuestionIntent.BAD_FOOD},
+            {"糖尿病能不能吃香蕉", QuestionIntent.BAD_FOOD},
+            // 多个类型
+            {"高血压有什么症状，挂什么科", null},
+            {"糖尿病有哪些并发症，怎么治", null},
+            {"胃炎不能吃什么，有什么症状", null},
+            {"高血压是什么病", null},
+    };
+
+    @Test
+    void detectsIntent() {
+        for (Object[] c : CASES) {
+            assertEquals(c[1], QuestionIntent.detect((String) c[0]), () -> Arrays.toString(c));
+        }
+    }
+
+    @Test
+    void formatsAnswer() {
+        assertEquals("高血压患者不宜吃的食物有：咸菜、白酒。", QuestionIntent.BAD_FOOD.formatAnswer("高血压", "咸菜、白酒"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RelatedDiseaseIndexTest {
+
+    // 症状少、桶上限低，让大量桶在编辑前后跨过上限
+    private static final RelatedDiseaseIndex.Settings SETTINGS = new RelatedDiseaseIndex.Settings(8, 2, 5, 0.2f, 6);
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+
+    @Test
+    void findsDiseasesWithSimilarSymptoms() {
+        SymptomGraph graph = new SymptomGraph.Builder()
+                .add("感冒", List.of("发热", "咳嗽", "流涕", "咽痛"))
+                .add("流感", List.of("发热", "咳嗽", "流涕", "肌肉酸痛"))
+                .add("胃炎", List.of("腹痛", "恶心", "呕吐"))
+                .add("无症状", List.of())
+                .build();
+        RelatedDiseaseIndex.Settings settings = new RelatedDiseaseIndex.Settings(32, 1, 5, 0.1f, 100);
+        RelatedDiseaseIndex index = RelatedDiseaseIndex.build(graph, SymptomGraph.EMPTY, RelatedDiseaseIndex.EMPTY,
+                settings, POOL).index();
+
+        List<RelatedDiseaseIndex.Neighbor> neighbors = index.neighborsOf("感冒");
+        assertEquals(1, neighbors.size());
+        assertEquals("流感", neighbors.get(0).disease());
+        assertEquals(3, neighbors.get(0).sharedSymptoms());
+        assertEquals(0.6f, neighbors.get(0).similarity(), 1e-6);
+        assertTrue(index.neighborsOf("胃炎").isEmpty());
+        assertTrue(index.contains("无症状"));
+        assertFalse(index.contains("肺炎"));
+    }
+
+    @Test
+    void unchangedGraphRecomputesNothing() {
+        SymptomGraph graph = toGraph(randomDiseases(new Random(1), 200));
+        RelatedDiseaseIndex first = full(graph);
+
+        RelatedDiseaseIndex.BuildResult again = RelatedDiseaseIndex.build(graph, graph, first, SETTINGS, POOL);
+        assertEquals(0, again.changed());
+        assertEquals(0, again.recomputed());
+    }
+
+    @Test
+    void incrementalBuildMatchesFullBuildAfterRandomEdits() {
+        Random random = new Random(42);
+        Map<String, List<String>> diseases = randomDiseases(random, 300);
+        SymptomGraph graph = toGraph(diseases);
+        RelatedDiseaseIndex index = full(graph);
+
+        for (int round = 0; round < 30; round++) {
+            edit(random, diseases);
+            SymptomGraph next = toGraph(diseases);
+            RelatedDiseaseIndex.BuildResult incremental = RelatedDiseaseIndex.build(next, graph, index, SETTINGS, POOL);
+            RelatedDiseaseIndex expected = full(next);
+
+            assertEquals(expected.size(), incremental.index().size());
+            for (String disease : diseases.keySet()) {
+                assertEquals(expected.neighborsOf(disease), incremental.index().neighborsOf(disease),
+                        "round " + round + ", " + disease);
+            }
+            graph = next;
+            index = incremental.index();
+        }
+    }
+
+    private static RelatedDiseaseIndex full(SymptomGraph graph) {
+        return RelatedDiseaseIndex.build(graph, SymptomGraph.EMPTY, RelatedDiseaseIndex.EMPTY, SETTINGS, POOL).index();
+    }
+
+    private static Map<String, List<String>> randomDiseases(Random random, int count) {
+        Map<String, List<String>> diseases = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            diseases.put("疾病" + i, randomSymptoms(random));
+        }
+        return diseases;
+    }
+
+    private static List<String> randomSymptoms(Random random) {
+        int size = random.nextInt(4);
+        List<String> symptoms = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            symptoms.add("症状" + random.nextInt(10));
+        }
+        return symptoms;
+    }
+
+    /**
+     * 随机修改、删除和新增少量疾病
+     */
+    private static void edit(Random random, Map<String, List<String>> diseases) {
+        List<String> names = new ArrayList<>(diseases.keySet());
+        for (int i = 0; i < 5; i++) {
+            String name = names.get(random.nextInt(names.size()));
+            switch (random.nextInt(3)) {
+                case 0 -> diseases.put(name, randomSymptoms(random));
+                case 1 -> diseases.remove(name);
+                default -> diseases.put("新疾病" + random.nextInt(1_000_000), randomSymptoms(random));
+            }
+        }
+    }
+
+    private static SymptomGraph toGraph(Map<String, List<String>> diseases) {
+        SymptomGraph.Builder builder = new SymptomGraph.Builder();
+        diseases.forEach(builder::add);
+        return builder.build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.medical.qna.medical_qna_system.knowledge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymptomGraphTest {
+
+    private final SymptomGraph graph = new SymptomGraph.Builder()
+            .add("感冒", List.of("发热", "咳嗽", "流涕"))
+            .add("流感", List.of("发热", "咳嗽", "肌肉酸痛"))
+            .add("肺炎", List.of("发热", "咳嗽", "胸痛", "呼吸困难"))
+            .add("胃炎", List.of("腹痛", "恶心"))
+            .build();
+
+    @Test
+    void diseaseMatchingMoreSpecificSymptomsRanksFirst() {
+        List<SymptomGraph.Match> matches = graph.rank(List.of("发热", "流涕"), 10);
+
+        assertEquals(List.of("感冒", "流感", "肺炎"), names(matches));
+        assertEquals(2, matches.get(0).matchedSymptoms());
+        assertEquals(1, matches.get(1).matchedSymptoms());
+    }
+
+    @Test
+    void exactSymptomSetScoresOne() {
+        List<SymptomGraph.Match> matches = graph.rank(List.of("恶心", "腹痛"), 10);
+
+        assertEquals(List.of("胃炎"), names(matches));
+        assertEquals(1.0f, matches.get(0).score(), 1e-6);
+    }
+
+    @Test
+    void diseaseWithMoreUnmatchedSymptomsScoresLower() {
+        List<SymptomGraph.Match> matches = graph.rank(List.of("发热"), 10);
+
+        assertEquals(3, matches.size());
+        assertEquals("肺炎", graph.diseaseName(matches.get(2).disease()));
+        assertTrue(matches.get(2).score() < matches.get(1).score());
+        assertEquals(matches.get(0).score(), matches.get(1).score(), 1e-6);
+    }
+
+    @Test
+    void limitKeepsHighestScores() {
+        List<SymptomGraph.Match> matches = graph.rank(List.of("发热", "胸痛"), 1);
+        assertEquals(List.of("肺炎"), names(matches));
+    }
+
+    @Test
+    void unknownAndDuplicateSymptomsAreIgnored() {
+        assertTrue(graph.rank(List.of("头晕"), 10).isEmpty());
+        assertTrue(graph.rank(List.of("发热"), 0).isEmpty());
+        assertEquals(graph.rank(List.of("胸痛"), 10), graph.rank(List.of("胸痛", "胸痛", "头晕"), 10));
+    }
+
+    @Test
+    void matchedSymptomsFollowQueryOrder() {
+        int[] query = graph.resolveSymptoms(List.of("胸痛", "头晕", "发热", "流涕"));
+        assertEquals(List.of("胸痛", "发热"), graph.matchedSymptoms(graph.diseaseId("肺炎"), query));
+        assertEquals(List.of("发热", "流涕"), graph.matchedSymptoms(graph.diseaseId("感冒"), query));
+    }
+
+    private List<String> names(List<SymptomGraph.Match> matches) {
+        return matches.stream().map(m -> graph.diseaseName(m.disease())).toList();
+    }
+}
@@ -0,0 +1,135 @@
+package com.medical.qna.medical_qna_system.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionAnswerJournalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoverReplaysEntriesAcrossSegmentsInOrder() throws IOException {
+        QuestionAnswerJournal journal = open(200);
+        assertTrue(journal.recover().isEmpty());
+        for (int i = 1; i <= 5; i++) {
+            journal.append(entry(i));
+        }
+        assertTrue(journal.getCurrentSegment() > 0);
+        journal.close();
+
+        QuestionAnswerJournal reopened = open(200);
+        List<QuestionAnswerJournal.Entry> recovered = reopened.recover();
+        assertEquals(List.of(entry(1), entry(2), entry(3), entry(4), entry(5)), recovered);
+        reopened.close();
+    }
+
+    @Test
+    void recoverSkipsTornLastLine() throws IOException {
+        QuestionAnswerJournal journal = open(1 << 20);
+        journal.recover();
+        journal.append(entry(1));
+        journal.append(entry(2));
+        journal.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.getFileName().toString().startsWith("qa-journal-")).findFirst().orElseThrow();
+        }
+        Files.write(segment, "{\"id\":3,\"userId\"".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        QuestionAnswerJournal reopened = open(1 << 20);
+        assertEquals(List.of(entry(1), entry(2)), reopened.recover());
+        reopened.close();
+    }
+
+    @Test
+    void deletedSegmentsAreNotReplayed() throws IOException {
+        QuestionAnswerJournal journal = open(1 << 20);
+        journal.recover();
+        journal.append(entry(1));
+        journal.rollIfNotEmpty();
+        QuestionAnswerJournal.Position position = journal.append(entry(2));
+        journal.deleteSegmentsBefore(position.segment());
+        journal.close();
+
+        QuestionAnswerJournal reopened = open(1 << 20);
+        assertEquals(List.of(entry(2)), reopened.recover());
+        reopened.close();
+    }
+
+    @Test
+    void appendPositionsAdvanceAndSyncCoversEarlierEntries() throws IOException {
+        QuestionAnswerJournal journal = open(1 << 20);
+        journal.recover();
+        QuestionAnswerJournal.Position first = journal.append(entry(1));
+        QuestionAnswerJournal.Position second = journal.append(entry(2));
+        assertEquals(first.sequence() + 1, second.sequence());
+        assertEquals(first.segment(), second.segment());
+
+        journal.syncThrough(second.sequence());
+        journal.syncThrough(first.sequence());
+        journal.close();
+    }
+
+    @Test
+    void rejectedEntriesGoToSeparateFileAndAreNotReplayed() throws IOException {
+        QuestionAnswerJournal journal = open(1 << 20);
+        journal.recover();
+        journal.reject(entry(7), "Cannot add or update a child row");
+        journal.close();
+
+        List<String> lines = Files.readAllLines(dir.resolve("qa-rejected.log"));
+        assertEquals(1, lines.size());
+        QuestionAnswerJournal.Rejected rejected = objectMapper.readValue(lines.get(0), QuestionAnswerJournal.Rejected.class);
+        assertEquals(entry(7), rejected.entry());
+        assertEquals("Cannot add or update a child row", rejected.error());
+
+        QuestionAnswerJournal reopened = open(1 << 20);
+        assertTrue(reopened.recover().isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    void tombstonedEntriesAreNotReplayed() throws IOException {
+        QuestionAnswerJournal journal = open(1 << 20);
+        journal.recover();
+        journal.append(entry(1));
+        journal.append(entry(2));
+        journal.append(new QuestionAnswerJournal.Entry(3, 7L, "问题3", "回答3", LocalDateTime.of(2024, 5, 1, 8, 0, 3)));
+        journal.appendTombstone(new QuestionAnswerJournal.Tombstone(1L, 42L, 1));
+        // 其他用户的删除标记不影响该用户的记录
+        journal.appendTombstone(new QuestionAnswerJournal.Tombstone(2L, 7L, 2));
+        journal.appendTombstone(new QuestionAnswerJournal.Tombstone(null, 7L, 3));
+        journal.append(new QuestionAnswerJournal.Entry(4, 7L, "问题4", "回答4", LocalDateTime.of(2024, 5, 1, 8, 0, 4)));
+        journal.close();
+
+        QuestionAnswerJournal reopened = open(1 << 20);
+        List<QuestionAnswerJournal.Entry> recovered = reopened.recover();
+        assertEquals(List.of(2L, 4L), recovered.stream().map(QuestionAnswerJournal.Entry::id).toList());
+        reopened.close();
+    }
+
+    private QuestionAnswerJournal open(long segmentBytes) {
+        return new QuestionAnswerJournal(dir, segmentBytes, objectMapper);
+    }
+
+    private static QuestionAnswerJournal.Entry entry(long id) {
+        return new QuestionAnswerJournal.Entry(id, 42L, "问题" + id, "回答" + id, LocalDateTime.of(2024, 5, 1, 8, 0, (int) id));
+    }
+}
@@ -0,0 +1,167 @@
+package com.medical.qna.medical_qna_system.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.medical.qna.medical_qna_system.dto.response.QuestionSearchHitDto;
+import com.medical.qna.medical_qna_system.service.QuestionSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionAnswerWriteBehindTest {
+
+    @TempDir
+    Path dir;
+
+    private final BlockingJdbcTemplate jdbcTemplate = new BlockingJdbcTemplate();
+    private final RecordingSearchService searchService = new RecordingSearchService();
+    private QuestionAnswerWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jdbcTemplate.release.countDown();
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    void discardedQueuedEntryIsNeverInserted() throws Exception {
+        start();
+        long first = writeBehind.enqueue(1L, "问题1", "回答1");
+        jdbcTemplate.awaitFirstInsert();
+        long second = writeBehind.enqueue(1L, "问题2", "回答2");
+        long third = writeBehind.enqueue(2L, "问题3", "回答3");
+
+        assertTrue(writeBehind.discard(second, 1L));
+        // 不是自己的记录不能删除
+        assertFalse(writeBehind.discard(third, 1L));
+        finish();
+
+        assertEquals(List.of(first, third), jdbcTemplate.inserted);
+        assertTrue(jdbcTemplate.deleted.isEmpty());
+        assertEquals(List.of(first, third), searchService.indexed);
+    }
+
+    @Test
+    void entryDeletedWhileBeingWrittenIsRemovedAfterInsert() throws Exception {
+        start();
+        long id = writeBehind.enqueue(1L, "问题", "回答");
+        jdbcTemplate.awaitFirstInsert();
+
+        assertTrue(writeBehind.discard(id, 1L));
+        finish();
+
+        assertEquals(List.of(id), jdbcTemplate.inserted);
+        assertEquals(List.of(id), jdbcTemplate.deleted);
+        assertTrue(searchService.indexed.isEmpty());
+    }
+
+    @Test
+    void clearedUserKeepsEntriesSavedAfterwards() throws Exception {
+        start();
+        long inFlight = writeBehind.enqueue(1L, "问题1", "回答1");
+        jdbcTemplate.awaitFirstInsert();
+        writeBehind.enqueue(1L, "问题2", "回答2");
+        long otherUser = writeBehind.enqueue(2L, "问题3", "回答3");
+
+        writeBehind.discardUser(1L);
+        long later = writeBehind.enqueue(1L, "问题4", "回答4");
+        finish();
+
+        assertEquals(List.of(inFlight, otherUser, later), jdbcTemplate.inserted);
+        assertEquals(List.of(inFlight), jdbcTemplate.deleted);
+        assertEquals(List.of(otherUser, later), searchService.indexed);
+    }
+
+    private void start() throws Exception {
+        writeBehind = new QuestionAnswerWriteBehind(jdbcTemplate, new ObjectMapper().registerModule(new JavaTimeModule()),
+                searchService, true, 500, 10, 100, dir.toString(), 1 << 20, true, 0);
+        writeBehind.start();
+    }
+
+    /**
+     * 放行被阻塞的第一次写入并等待队列写完
+     */
+    private void finish() throws Exception {
+        jdbcTemplate.release.countDown();
+        writeBehind.stop();
+        writeBehind = null;
+    }
+
+    /**
+     * 第一次批量写入阻塞到测试放行，用来制造“记录正在写入”和“记录仍在队列中”的状态
+     */
+    private static final class BlockingJdbcTemplate extends JdbcTemplate {
+        final List<Long> inserted = new CopyOnWriteArrayList<>();
+        final List<Long> deleted = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            for (T arg : batchArgs) {
+                inserted.add(((QuestionAnswerJournal.Entry) arg).id());
+            }
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new int[0][];
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            deleted.add((Long) args[0]);
+            return 1;
+        }
+
+        void awaitFirstInsert() throws InterruptedException {
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static final class RecordingSearchService implements QuestionSearchService {
+        final List<Long> indexed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void index(long id, long userId, String question, String answer, LocalDateTime createAt) {
+            indexed.add(id);
+        }
+
+        @Override
+        public void delete(long id) {
+        }
+
+        @Override
+        public void deleteByUser(long userId) {
+        }
+
+        @Override
+        public Page<QuestionSearchHitDto> search(Long userId, String keyword, int page, int size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void rebuild() {
+        }
+    }
+}
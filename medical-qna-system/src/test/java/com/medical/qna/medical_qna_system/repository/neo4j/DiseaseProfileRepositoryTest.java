@@ -0,0 +1,22 @@
+package com.medical.qna.medical_qna_system.repository.neo4j;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DiseaseProfileRepositoryTest {
+
+    @Test
+    void booleanOperatorsAreSearchedAsPlainWords() {
+        assertEquals("and", DiseaseProfileRepository.escapeFullTextQuery("AND"));
+        assertEquals("hiv or aids", DiseaseProfileRepository.escapeFullTextQuery(" HIV OR AIDS "));
+        assertEquals("not 肺炎", DiseaseProfileRepository.escapeFullTextQuery("NOT 肺炎"));
+    }
+
+    @Test
+    void syntaxCharactersAreEscaped() {
+        assertEquals("\\(急性\\)\\*", DiseaseProfileRepository.escapeFullTextQuery("(急性)*"));
+        assertEquals("a\\&\\&b\\|\\|\\!c", DiseaseProfileRepository.escapeFullTextQuery("a&&b||!c"));
+        assertEquals("name\\:\\\"x\\\"", DiseaseProfileRepository.escapeFullTextQuery("name:\"x\""));
+    }
+}
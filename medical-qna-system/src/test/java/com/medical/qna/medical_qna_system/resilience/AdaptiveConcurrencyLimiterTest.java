@@ -0,0 +1,119 @@
+package com.medical.qna.medical_qna_system.resilience;
+
+import com.medical.qna.medical_qna_system.common.enums.ErrorCode;
+import com.medical.qna.medical_qna_system.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long SLOW = TimeUnit.HOURS.toNanos(1);
+
+    @Test
+    void grantsUpToLimitThenQueuesThenRejects() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1, SLOW, 0.5);
+
+        assertNotNull(acquire(limiter).permit.get());
+        assertNotNull(acquire(limiter).permit.get());
+        Attempt queued = acquire(limiter);
+        assertNull(queued.permit.get());
+        assertEquals(1, limiter.getQueueDepth());
+
+        Attempt rejected = acquire(limiter);
+        assertTrue(rejected.error.get() instanceof BusinessException);
+        assertEquals(ErrorCode.RAG_BUSY.getCode(), ((BusinessException) rejected.error.get()).getCode());
+        assertEquals(1, limiter.getRejectedCount());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void releaseHandsPermitToWaitersInOrder() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 10, SLOW, 0.5);
+        Attempt first = acquire(limiter);
+        Attempt second = acquire(limiter);
+        Attempt third = acquire(limiter);
+
+        first.permit.get().release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        assertNotNull(second.permit.get());
+        assertNull(third.permit.get());
+
+        second.permit.get().release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        assertNotNull(third.permit.get());
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getQueueDepth());
+    }
+
+    @Test
+    void cancelledWaiterLeavesQueueWithoutPermit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 10, SLOW, 0.5);
+        Attempt holder = acquire(limiter);
+        Attempt waiter = acquire(limiter);
+
+        waiter.subscription.dispose();
+        assertEquals(0, limiter.getQueueDepth());
+
+        holder.permit.get().release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        assertNull(waiter.permit.get());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void droppedCallShrinksLimitButNotBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 3, 10, 10, SLOW, 0.5);
+
+        acquire(limiter).permit.get().release(AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+        assertEquals(4, limiter.getLimit());
+
+        acquire(limiter).permit.get().release(AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void slowSuccessShrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 10, -1, 0.5);
+
+        acquire(limiter).permit.get().release(AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void fastSuccessAtFullUsageGrowsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 5, 10, SLOW, 0.5);
+
+        acquire(limiter).permit.get().release(AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void repeatedReleaseIsIgnored() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, 10, SLOW, 0.5);
+        AdaptiveConcurrencyLimiter.Permit permit = acquire(limiter).permit.get();
+        acquire(limiter);
+
+        permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    private static Attempt acquire(AdaptiveConcurrencyLimiter limiter) {
+        Attempt attempt = new Attempt();
+        attempt.subscription = limiter.acquire().subscribe(attempt.permit::set, attempt.error::set);
+        return attempt;
+    }
+
+    private static final class Attempt {
+        final AtomicReference<AdaptiveConcurrencyLimiter.Permit> permit = new AtomicReference<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        Disposable subscription;
+    }
+}
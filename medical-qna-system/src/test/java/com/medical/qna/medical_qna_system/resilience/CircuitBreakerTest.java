@@ -0,0 +1,93 @@
+package com.medical.qna.medical_qna_system.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    @Test
+    void staysClosedUntilMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, Duration.ofHours(1), 2);
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, Duration.ofHours(1), 2);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void oldCallsSlideOutOfWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, Duration.ofHours(1), 2);
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        // 窗口为[失败,成功,成功,成功]，新的失败挤掉最早的失败，失败率仍为1/4
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenClosesAfterAllProbesSucceed() {
+        CircuitBreaker breaker = tripped(2);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenFailureReopens() {
+        CircuitBreaker breaker = tripped(2);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void ignoredProbeFreesHalfOpenPermit() {
+        CircuitBreaker breaker = tripped(1);
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onIgnored();
+        assertTrue(breaker.tryAcquire());
+    }
+
+    /**
+     * 冷却时间为0，打开后下一次申请即进入半开
+     */
+    private static CircuitBreaker tripped(int halfOpenPermits) {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 0.5, Duration.ZERO, halfOpenPermits);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+}
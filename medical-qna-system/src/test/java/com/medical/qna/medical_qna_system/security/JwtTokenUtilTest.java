@@ -0,0 +1,60 @@
+package com.medical.qna.medical_qna_system.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtTokenUtilTest {
+
+    private static final String SECRET = "mySecretKey123456789mySecretKey123456789";
+
+    private final JwtTokenUtil jwtTokenUtil = create(SECRET, TimeUnit.HOURS.toMillis(1));
+
+    @Test
+    void generatedTokenCarriesUsernameRoleAndUserId() {
+        String token = jwtTokenUtil.generateToken("alice", "ADMIN", 42L);
+
+        assertTrue(jwtTokenUtil.validateToken(token));
+        assertEquals("alice", jwtTokenUtil.getUsernameFromToken(token));
+        assertEquals("ADMIN", jwtTokenUtil.getRoleFromToken(token));
+        assertEquals(42L, jwtTokenUtil.getUserIdFromToken(token));
+    }
+
+    @Test
+    void repeatedVerificationIsServedFromClaimsCache() {
+        String token = jwtTokenUtil.generateToken("alice", "USER", 1L);
+        assertSame(jwtTokenUtil.verifyToken(token), jwtTokenUtil.verifyToken(token));
+    }
+
+    @Test
+    void tamperedOrForeignTokensAreRejected() {
+        String[] token = jwtTokenUtil.generateToken("alice", "USER", 1L).split("\\.");
+        String[] admin = jwtTokenUtil.generateToken("alice", "ADMIN", 1L).split("\\.");
+        // 换成另一个Token的载荷，签名不再匹配
+        String tampered = token[0] + "." + admin[1] + "." + token[2];
+        String foreign = create("otherSecretKey12345678otherSecretKey1234", TimeUnit.HOURS.toMillis(1))
+                .generateToken("alice", "USER", 1L);
+
+        assertNull(jwtTokenUtil.verifyToken(tampered));
+        assertFalse(jwtTokenUtil.validateToken(foreign));
+        assertFalse(jwtTokenUtil.validateToken(""));
+        assertFalse(jwtTokenUtil.validateToken(null));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = create(SECRET, -TimeUnit.MINUTES.toMillis(1)).generateToken("alice", "USER", 1L);
+        assertFalse(jwtTokenUtil.validateToken(token));
+    }
+
+    private static JwtTokenUtil create(String secret, long expirationMillis) {
+        return new JwtTokenUtil(secret, expirationMillis, 100, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,72 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportWatermarkTest {
+
+    private final List<Long> advances = new ArrayList<>();
+    private final ImportWatermark watermark = new ImportWatermark(advances::add);
+
+    @Test
+    void advancesWhenSegmentCompletesInOrder() {
+        ImportWatermark.Segment first = sealed(watermark.open(0), 100, 0);
+        ImportWatermark.Segment second = sealed(watermark.open(100), 250, 0);
+
+        assertEquals(List.of(100L, 250L), advances);
+        assertTrue(first.done && second.done);
+    }
+
+    @Test
+    void laterSegmentWaitsForEarlierOne() {
+        ImportWatermark.Segment first = sealed(watermark.open(0), 100, 1);
+        sealed(watermark.open(100), 200, 0);
+        assertTrue(advances.isEmpty());
+
+        // 第一段的事务完成后两段一起推进，断点直接到第二段末尾
+        watermark.release(first);
+        assertEquals(List.of(200L), advances);
+    }
+
+    @Test
+    void segmentStaysOpenUntilAllTransactionsAndReaderRelease() {
+        ImportWatermark.Segment segment = watermark.open(0);
+        segment.pending.addAndGet(2);
+        watermark.release(segment);
+        watermark.release(segment);
+        assertTrue(advances.isEmpty());
+
+        segment.end = 50;
+        watermark.release(segment);
+        assertEquals(List.of(50L), advances);
+    }
+
+    @Test
+    void middleSegmentCompletingFirstDoesNotAdvance() {
+        ImportWatermark.Segment first = sealed(watermark.open(0), 10, 1);
+        ImportWatermark.Segment second = sealed(watermark.open(10), 20, 1);
+        ImportWatermark.Segment third = sealed(watermark.open(20), 30, 1);
+
+        watermark.release(second);
+        assertTrue(advances.isEmpty());
+        watermark.release(first);
+        assertEquals(List.of(20L), advances);
+        watermark.release(third);
+        assertEquals(List.of(20L, 30L), advances);
+    }
+
+    /**
+     * 模拟读取线程：提交若干个事务后封口
+     */
+    private ImportWatermark.Segment sealed(ImportWatermark.Segment segment, long end, int transactions) {
+        segment.pending.addAndGet(transactions);
+        segment.end = end;
+        watermark.release(segment);
+        return segment;
+    }
+}
@@ -0,0 +1,107 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import com.medical.qna.medical_qna_system.common.enums.MedicalEntityType;
+import com.medical.qna.medical_qna_system.dto.response.AnswerResponse;
+import com.medical.qna.medical_qna_system.dto.response.DiseaseInfoDto;
+import com.medical.qna.medical_qna_system.knowledge.EntityExtractor;
+import com.medical.qna.medical_qna_system.repository.neo4j.DiseaseProfileRepository;
+import com.medical.qna.medical_qna_system.repository.neo4j.MedicalKnowledgeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QuestionRouterImplTest {
+
+    private static final EntityExtractor EXTRACTOR = EntityExtractor.build(List.of(
+            new EntityExtractor.Term("糖尿病", MedicalEntityType.DISEASE),
+            new EntityExtractor.Term("高血压", MedicalEntityType.DISEASE),
+            new EntityExtractor.Term("胃炎", MedicalEntityType.DISEASE),
+            new EntityExtractor.Term("肺炎", MedicalEntityType.DISEASE),
+            new EntityExtractor.Term("香蕉", MedicalEntityType.FOOD),
+            new EntityExtractor.Term("降压药", MedicalEntityType.TREATMENT),
+            new EntityExtractor.Term("头晕", MedicalEntityType.SYMPTOM)));
+
+    // 疾病 -> 各查询方法返回的列表，未列出的返回空列表
+    private static final Map<String, Map<String, List<String>>> GRAPH = Map.of(
+            "糖尿病", Map.of("findComplicationsByDisease", List.of("糖尿病肾病", "视网膜病变"),
+                    "findBadFoodsByDisease", List.of("蛋糕", "香蕉")),
+            "高血压", Map.of("findBadFoodsByDisease", List.of("咸菜", "白酒", "咸菜"),
+                    "findTreatmentsByDisease", List.of("降压药")));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QuestionRouterImpl router = new QuestionRouterImpl(
+            EXTRACTOR::extract, knowledgeRepository(), profileRepository(), registry, true, 30, 15);
+
+    // 问题, path, reason
+    private static final String[][] CASES = {
+            {"糖尿病有哪些并发症", "fast", "complication"},
+            {"高血压不能吃什么", "fast", "bad_food"},
+            {"胃炎挂什么科", "fast", "department"},
+            // 问的是某一种食物、治疗或症状，列表回答不了
+            {"糖尿病能不能吃香蕉", "rag", "specific_entity"},
+            {"高血压不宜吃降压药吗", "rag", "specific_entity"},
+            {"高血压头晕怎么治", "rag", "specific_entity"},
+            {"高血压有什么症状，挂什么科", "rag", "no_intent"},
+            {"这个病不能吃什么", "rag", "no_disease"},
+            {"糖尿病和高血压不能吃什么", "rag", "multiple_diseases"},
+            {"肺炎有哪些并发症", "rag", "empty_result"},
+            {"我父亲今年七十岁，有高血压十多年了，最近血压不稳，请问不能吃什么", "rag", "too_long"},
+    };
+
+    @Test
+    void routesByIntentAndMentions() {
+        for (String[] c : CASES) {
+            double count = count(c[1], c[2]);
+            Optional<AnswerResponse> answer = router.tryAnswer(c[0]);
+            assertEquals(c[1].equals("fast"), answer.isPresent(), () -> Arrays.toString(c));
+            assertEquals(count + 1, count(c[1], c[2]), 0.0, Arrays.toString(c));
+        }
+    }
+
+    @Test
+    void answersFromGraph() {
+        AnswerResponse answer = router.tryAnswer("高血压不能吃什么").orElseThrow();
+        assertEquals("高血压患者不宜吃的食物有：咸菜、白酒。", answer.getAnswer());
+        assertEquals(List.of("咸菜", "白酒", "咸菜"), answer.getDiseaseInfo().getBadFoods());
+
+        AnswerResponse department = router.tryAnswer("胃炎挂什么科").orElseThrow();
+        assertEquals(List.of("消化内科"), department.getRecommendedDepartments());
+        assertEquals(List.of("内科"), department.getDiseaseInfo().getDepartmentCategories());
+    }
+
+    private double count(String path, String reason) {
+        Counter counter = registry.find("qa.route").tag("path", path).tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MedicalKnowledgeRepository knowledgeRepository() {
+        return (MedicalKnowledgeRepository) Proxy.newProxyInstance(MedicalKnowledgeRepository.class.getClassLoader(),
+                new Class<?>[]{MedicalKnowledgeRepository.class},
+                (proxy, method, args) -> GRAPH.getOrDefault((String) args[0], Map.of())
+                        .getOrDefault(method.getName(), List.of()));
+    }
+
+    private static DiseaseProfileRepository profileRepository() {
+        return new DiseaseProfileRepository(null) {
+            @Override
+            public Optional<DiseaseInfoDto> findProfile(String name) {
+                return "胃炎".equals(name)
+                        ? Optional.of(DiseaseInfoDto.builder()
+                                .diseaseName(name)
+                                .departments(List.of("消化内科"))
+                                .departmentCategories(List.of("内科"))
+                                .build())
+                        : Optional.empty();
+            }
+        };
+    }
+}
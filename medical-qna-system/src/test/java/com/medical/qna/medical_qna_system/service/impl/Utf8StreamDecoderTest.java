@@ -0,0 +1,41 @@
+package com.medical.qna.medical_qna_system.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Utf8StreamDecoderTest {
+
+    @Test
+    void joinsCharactersSplitAcrossChunks() {
+        byte[] bytes = "糖尿病😀".getBytes(StandardCharsets.UTF_8);
+        // 在每个可能的位置切成两块
+        for (int split = 0; split <= bytes.length; split++) {
+            Utf8StreamDecoder decoder = new Utf8StreamDecoder();
+            String text = decoder.decode(Arrays.copyOfRange(bytes, 0, split))
+                    + decoder.decode(Arrays.copyOfRange(bytes, split, bytes.length))
+                    + decoder.finish();
+            assertEquals("糖尿病😀", text, "split=" + split);
+        }
+    }
+
+    @Test
+    void truncatedCharacterAtEndIsReplaced() {
+        byte[] bytes = "高血压".getBytes(StandardCharsets.UTF_8);
+        Utf8StreamDecoder decoder = new Utf8StreamDecoder();
+
+        assertEquals("高血", decoder.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertEquals("\uFFFD", decoder.finish());
+    }
+
+    @Test
+    void finishWithoutPendingBytesIsEmpty() {
+        Utf8StreamDecoder decoder = new Utf8StreamDecoder();
+
+        assertEquals("胃炎", decoder.decode("胃炎".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("", decoder.finish());
+    }
+}
@@ -239,6 +239,17 @@ class ApiClient {
     // 实际的ask请求在组件中直接使用fetch处理SSE
     getHistory: () => this.get('/api/question/history'),
     
+    // 游标分页获取历史记录，cursor为空时获取第一页
+    getHistoryPage: (cursor = null, size = 20) =>
+      this.get('/api/question/history/page', cursor ? { cursor, size } : { size }),
+    
+    // 游标分页获取历史记录摘要（问题 + 答案预览）
+    getHistorySummary: (cursor = null, size = 20) =>
+      this.get('/api/question/history/summary', cursor ? { cursor, size } : { size }),
+    
+    // 获取单条完整历史记录
+    getHistoryItem: (id) => this.get(`/api/question/history/${id}`),
+    
     deleteHistory: (id) => this.delete(`/api/question/history/${id}`),
     
     clearHistory: () => this.delete('/api/question/history'),